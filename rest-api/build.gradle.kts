@@ -1,7 +1,11 @@
+import com.google.protobuf.gradle.id
+
 plugins {
 	java
 	id("org.springframework.boot") version "3.4.4"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
+	id("com.google.protobuf") version "0.9.4"
 }
 
 group = "io.github.kappa243"
@@ -9,7 +13,7 @@ version = "0.0.1-SNAPSHOT"
 
 java {
 	toolchain {
-		languageVersion = JavaLanguageVersion.of(17)
+		languageVersion = JavaLanguageVersion.of(21)
 	}
 }
 
@@ -23,15 +27,48 @@ repositories {
 	mavenCentral()
 }
 
+sourceSets {
+	create("loadTest") {
+		compileClasspath += sourceSets.main.get().output
+		runtimeClasspath += sourceSets.main.get().output
+	}
+}
+
+configurations {
+	named("loadTestImplementation") {
+		extendsFrom(configurations.implementation.get())
+	}
+	named("loadTestRuntimeOnly") {
+		extendsFrom(configurations.runtimeOnly.get())
+	}
+}
+
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web")
 	implementation("org.springframework.boot:spring-boot-starter-data-mongodb")
+	implementation("org.springframework.boot:spring-boot-starter-webflux")
+	implementation("org.springframework.boot:spring-boot-starter-data-mongodb-reactive")
 	implementation("org.springframework.boot:spring-boot-starter-data-rest")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("org.springframework.boot:spring-boot-starter-aop")
 
 	implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.6")
 
 	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv:2.18.3")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor:2.18.3")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.18.3")
+
+	implementation("com.google.protobuf:protobuf-java:3.25.5")
+
+	implementation("io.grpc:grpc-netty-shaded:1.68.1")
+	implementation("io.grpc:grpc-protobuf:1.68.1")
+	implementation("io.grpc:grpc-stub:1.68.1")
+	compileOnly("org.apache.tomcat:annotations-api:6.0.53")
+
+	implementation("com.github.ben-manes.caffeine:caffeine")
+
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
 
 	compileOnly("org.projectlombok:lombok")
@@ -45,8 +82,47 @@ dependencies {
 	testImplementation("org.testcontainers:junit-jupiter")
 	testImplementation("org.testcontainers:mongodb")
 	testImplementation("org.springframework.boot:spring-boot-testcontainers")
+
+	"loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+	"loadTestImplementation"("org.testcontainers:testcontainers")
+}
+
+protobuf {
+	protoc {
+		artifact = "com.google.protobuf:protoc:3.25.5"
+	}
+	plugins {
+		id("grpc") {
+			artifact = "io.grpc:protoc-gen-grpc-java:1.68.1"
+		}
+	}
+	generateProtoTasks {
+		all().forEach {
+			it.plugins {
+				id("grpc") { }
+			}
+		}
+	}
+}
+
+jmh {
+	jmhVersion = "1.37"
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+
+	// e.g. ./gradlew jmh -PjmhIncludes=CSVParserBenchmark
+	(findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
+	// e.g. ./gradlew jmh -PjmhProfilers=gc to report allocations per operation
+	(findProperty("jmhProfilers") as String?)?.let { profilers = it.split(",") }
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+tasks.register<JavaExec>("loadTest") {
+	description = "Runs the HTTP load test against the application started with a MongoDB container."
+	group = "verification"
+	classpath = sourceSets["loadTest"].runtimeClasspath
+	mainClass = "io.github.kappa243.remitly2025.LoadTest"
+}
@@ -0,0 +1,77 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.parser.CSVParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the bundled {@code swift_codes.csv}, repeated {@code scale} times with distinct bank codes in every copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CSVParserBenchmark {
+    
+    @Param({"1", "10", "50"})
+    int scale;
+    
+    private final CSVParser csvParser = new CSVParser();
+    
+    private byte[] csv;
+    
+    @Setup
+    public void setUp() throws IOException {
+        List<String> lines;
+        
+        try (InputStream inputStream = csvParser.getBundledCSV().getInputStream()) {
+            lines = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+        
+        StringBuilder builder = new StringBuilder(lines.get(0)).append('\n');
+        
+        for (int copy = 0; copy < scale; copy++) {
+            for (String line : lines.subList(1, lines.size())) {
+                builder.append(copy == 0 ? line : withBankCode(line, copy)).append('\n');
+            }
+        }
+        
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    // replaces the bank code (first 4 characters of the SWIFT code in the second column)
+    private static String withBankCode(String line, int copy) {
+        int swiftCodeStart = line.indexOf(',') + 1;
+        
+        char[] bankCode = new char[4];
+        for (int i = 3, value = copy; i >= 0; i--, value /= 26) {
+            bankCode[i] = (char) ('A' + value % 26);
+        }
+        
+        return line.substring(0, swiftCodeStart) + new String(bankCode) + line.substring(swiftCodeStart + 4);
+    }
+    
+    @Benchmark
+    public void parseCSV(Blackhole blackhole) throws IOException {
+        csvParser.parseCSV(new ByteArrayInputStream(csv), blackhole::consume);
+    }
+}
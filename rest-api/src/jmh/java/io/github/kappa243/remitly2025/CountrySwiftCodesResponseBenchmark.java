@@ -0,0 +1,83 @@
+package io.github.kappa243.remitly2025;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.kappa243.remitly2025.controllers.CountrySwiftCodesResponse;
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping and serialization of {@code GET /v1/swift-codes/country/{countryISO2}} responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CountrySwiftCodesResponseBenchmark {
+    
+    @Param({"100", "1000"})
+    int swiftCodes;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private CountryItem country;
+    
+    private List<SwiftCodeItem> swiftCodeItems;
+    
+    private CountrySwiftCodesResponse response;
+    
+    @Setup
+    public void setUp() {
+        country = new CountryItem("PL", "POLAND");
+        swiftCodeItems = new ArrayList<>(swiftCodes);
+        
+        for (int i = 0; i < swiftCodes; i++) {
+            swiftCodeItems.add(new SwiftCodeItem(
+                "BREXPL%02d%03d".formatted(i / 1000, i % 1000), "MBANK S.A. (FORMERLY BRE BANK S.A.)", "PL. JANA PAWLA II 9  WROCLAW, DOLNOSLASKIE, 50-136", false, country
+            ));
+        }
+        
+        response = map();
+    }
+    
+    private CountrySwiftCodesResponse map() {
+        return CountrySwiftCodesResponse.builder()
+            .countryISO2(country.getCountryISO2())
+            .countryName(country.getCountryName())
+            .swiftCodes(swiftCodeItems.stream().map(ReducedSwiftCodeResponse::from).toList())
+            .build();
+    }
+    
+    @Benchmark
+    public CountrySwiftCodesResponse mapping() {
+        return map();
+    }
+    
+    @Benchmark
+    public byte[] serialization() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+    
+    @Benchmark
+    public byte[] mappingAndSerialization() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(map());
+    }
+}
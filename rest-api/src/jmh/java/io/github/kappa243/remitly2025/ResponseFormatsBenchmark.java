@@ -0,0 +1,132 @@
+package io.github.kappa243.remitly2025;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.github.kappa243.remitly2025.controllers.CountrySwiftCodesResponse;
+import io.github.kappa243.remitly2025.controllers.ProtobufResponseHttpMessageConverter;
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.proto.CountrySwiftCodes;
+import io.github.kappa243.remitly2025.proto.SwiftCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of a headquarter with branches and of a country listing in every format negotiated by
+ * the read endpoints. Payload sizes are printed when a trial starts.
+ * <p>
+ * Jackson formats are decoded to a tree, as a client without the response classes would read them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatsBenchmark {
+    
+    @Param({"json", "cbor", "smile", "protobuf"})
+    String format;
+    
+    @Param({"100", "1000"})
+    int countrySwiftCodes;
+    
+    private static final int BRANCHES = 10;
+    
+    private ObjectMapper objectMapper;
+    
+    private SwiftCodeResponse headquarter;
+    
+    private CountrySwiftCodesResponse country;
+    
+    private byte[] encodedHeadquarter;
+    
+    private byte[] encodedCountry;
+    
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> new ObjectMapper();
+        };
+        
+        CountryItem countryItem = new CountryItem("PL", "POLAND");
+        List<SwiftCodeItem> branchItems = new ArrayList<>(BRANCHES);
+        List<ReducedSwiftCodeResponse> swiftCodes = new ArrayList<>(countrySwiftCodes);
+        
+        for (int i = 0; i < BRANCHES; i++) {
+            branchItems.add(new SwiftCodeItem(
+                "BREXPLPW%03d".formatted(i), "MBANK S.A. (FORMERLY BRE BANK S.A.)", "PL. JANA PAWLA II 9  WROCLAW, DOLNOSLASKIE, 50-136", false, countryItem
+            ));
+        }
+        
+        for (int i = 0; i < countrySwiftCodes; i++) {
+            swiftCodes.add(ReducedSwiftCodeResponse.from(new SwiftCodeItem(
+                "BREXPL%02d%03d".formatted(i / 1000, i % 1000), "MBANK S.A. (FORMERLY BRE BANK S.A.)", "PL. JANA PAWLA II 9  WROCLAW, DOLNOSLASKIE, 50-136", false, countryItem
+            )));
+        }
+        
+        headquarter = SwiftCodeResponse.from(new SwiftCodeItem(
+            "BREXPLPWXXX", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "UL. PROSTA 18  WARSZAWA, MAZOWIECKIE, 00-850", true, countryItem, branchItems
+        ));
+        
+        country = CountrySwiftCodesResponse.builder()
+            .countryISO2(countryItem.getCountryISO2())
+            .countryName(countryItem.getCountryName())
+            .swiftCodes(swiftCodes)
+            .build();
+        
+        encodedHeadquarter = encodeHeadquarter();
+        encodedCountry = encodeCountry();
+        
+        System.out.printf("%n%s payload: headquarter with %d branches %d B, country with %d codes %d B%n",
+            format, BRANCHES, encodedHeadquarter.length, countrySwiftCodes, encodedCountry.length);
+    }
+    
+    @Benchmark
+    public byte[] encodeHeadquarter() throws IOException {
+        return format.equals("protobuf")
+            ? ProtobufResponseHttpMessageConverter.toMessage(headquarter).toByteArray()
+            : objectMapper.writeValueAsBytes(headquarter);
+    }
+    
+    @Benchmark
+    public byte[] encodeCountry() throws IOException {
+        return format.equals("protobuf")
+            ? ProtobufResponseHttpMessageConverter.toMessage(country).toByteArray()
+            : objectMapper.writeValueAsBytes(country);
+    }
+    
+    @Benchmark
+    public Object decodeHeadquarter() throws IOException {
+        return format.equals("protobuf")
+            ? SwiftCode.parseFrom(encodedHeadquarter)
+            : objectMapper.readValue(encodedHeadquarter, JsonNode.class);
+    }
+    
+    @Benchmark
+    public Object decodeCountry() throws IOException {
+        return format.equals("protobuf")
+            ? CountrySwiftCodes.parseFrom(encodedCountry)
+            : objectMapper.readValue(encodedCountry, JsonNode.class);
+    }
+}
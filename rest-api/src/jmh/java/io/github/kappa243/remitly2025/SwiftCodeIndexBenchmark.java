@@ -0,0 +1,135 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.model.SwiftCodeIndex;
+import io.github.kappa243.remitly2025.model.SwiftCodeKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Headquarter lookups of branch codes in a {@code HashMap} keyed by the 8 character code prefix, like the CSV parser
+ * used before, and in a {@link SwiftCodeIndex} keyed by {@link SwiftCodeKey}.
+ * <p>
+ * Heap retained per entry by both structures is printed once per fork, measured as the used heap after GC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SwiftCodeIndexBenchmark {
+    
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    
+    // branch codes looked up per operation
+    private static final int LOOKUPS = 1024;
+    
+    @Param({"100000", "1000000"})
+    int headquarters;
+    
+    private Map<String, Object> hashMap;
+    
+    private SwiftCodeIndex<Object> swiftCodeIndex;
+    
+    private String[] branchCodes;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] headquarterCodes = new String[headquarters];
+        
+        for (int i = 0; i < headquarters; i++) {
+            headquarterCodes[i] = randomCode(random, 8) + "XXX";
+        }
+        
+        Object value = new Object();
+        
+        long hashMapHeap = retainedHeap(() -> {
+            hashMap = new HashMap<>();
+            for (String headquarterCode : headquarterCodes) {
+                hashMap.put(headquarterCode.substring(0, 8), value);
+            }
+        });
+        
+        long swiftCodeIndexHeap = retainedHeap(() -> {
+            swiftCodeIndex = new SwiftCodeIndex<>();
+            for (String headquarterCode : headquarterCodes) {
+                swiftCodeIndex.put(SwiftCodeKey.encode(headquarterCode), value);
+            }
+        });
+        
+        branchCodes = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            branchCodes[i] = headquarterCodes[random.nextInt(headquarters)].substring(0, 8) + randomCode(random, 3);
+        }
+        
+        System.out.printf("%n%d headquarters: HashMap %.1f B/entry, SwiftCodeIndex %.1f B/entry%n",
+            headquarters, (double) hashMapHeap / headquarters, (double) swiftCodeIndexHeap / headquarters);
+    }
+    
+    private static String randomCode(Random random, int length) {
+        char[] code = new char[length];
+        
+        for (int i = 0; i < length; i++) {
+            code[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        
+        return new String(code);
+    }
+    
+    private static long retainedHeap(Runnable build) {
+        Supplier<Long> usedHeap = () -> {
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            
+            return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        };
+        
+        long before = usedHeap.get();
+        build.run();
+        
+        return usedHeap.get() - before;
+    }
+    
+    @Benchmark
+    public int hashMapHeadquarterLookup() {
+        int found = 0;
+        
+        for (String branchCode : branchCodes) {
+            if (hashMap.get(branchCode.substring(0, 8)) != null) {
+                found++;
+            }
+        }
+        
+        return found;
+    }
+    
+    @Benchmark
+    public int swiftCodeIndexHeadquarterLookup() {
+        int found = 0;
+        
+        for (String branchCode : branchCodes) {
+            if (swiftCodeIndex.get(SwiftCodeKey.headquarter(SwiftCodeKey.encode(branchCode))) != null) {
+                found++;
+            }
+        }
+        
+        return found;
+    }
+}
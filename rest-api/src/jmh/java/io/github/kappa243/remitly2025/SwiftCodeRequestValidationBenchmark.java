@@ -0,0 +1,97 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.controllers.SwiftCodeRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of {@link SwiftCodeRequest}: {@code @SwiftCode} length, pattern and country, {@code @CountryCode},
+ * {@code @Uppercase} and the class level {@code @HeadquarterMatch} constraint, and of a single SWIFT code path
+ * variable. Allocations are reported with {@code ./gradlew jmh -PjmhIncludes=SwiftCodeRequestValidationBenchmark -PjmhProfilers=gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SwiftCodeRequestValidationBenchmark {
+    
+    private ValidatorFactory validatorFactory;
+    
+    private Validator validator;
+    
+    private SwiftCodeRequest validRequest;
+    
+    private SwiftCodeRequest invalidRequest;
+    
+    private String validSwiftCode;
+    
+    private String unknownCountrySwiftCode;
+    
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        
+        validRequest = SwiftCodeRequest.builder()
+            .swiftCode("BREXPLPWXXX")
+            .bankName("MBANK S.A. (FORMERLY BRE BANK S.A.)")
+            .address("UL. PROSTA 18  WARSZAWA, MAZOWIECKIE, 00-850")
+            .headquarter(true)
+            .countryISO2("PL")
+            .countryName("POLAND")
+            .build();
+        
+        // fails the pattern, uppercase and headquarter constraints, so messages are interpolated
+        invalidRequest = validRequest.toBuilder()
+            .swiftCode("1REXPLPWXXX")
+            .bankName("mBank S.A.")
+            .headquarter(false)
+            .build();
+        
+        validSwiftCode = validRequest.getSwiftCode();
+        unknownCountrySwiftCode = "BREXQQPWXXX";
+    }
+    
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<SwiftCodeRequest>> validRequest() {
+        return validator.validate(validRequest);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<SwiftCodeRequest>> invalidRequest() {
+        return validator.validate(invalidRequest);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<SwiftCodeRequest>> validSwiftCode() {
+        return validator.validateValue(SwiftCodeRequest.class, "swiftCode", validSwiftCode);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<SwiftCodeRequest>> unknownCountrySwiftCode() {
+        return validator.validateValue(SwiftCodeRequest.class, "swiftCode", unknownCountrySwiftCode);
+    }
+}
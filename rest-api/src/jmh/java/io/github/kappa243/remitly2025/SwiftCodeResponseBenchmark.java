@@ -0,0 +1,120 @@
+package io.github.kappa243.remitly2025;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building and serializing {@code GET /v1/swift-codes/{swiftCode}} responses with mapped response classes
+ * against the SpEL projection proxies they replaced.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SwiftCodeResponseBenchmark {
+    
+    @Param({"0", "10", "100"})
+    int branches;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    
+    private SwiftCodeItem swiftCodeItem;
+    
+    // responses held by the cache
+    private ProjectionSwiftCodeResponse cachedProjection;
+    
+    private SwiftCodeResponse cachedResponse;
+    
+    @Setup
+    public void setUp() {
+        CountryItem country = new CountryItem("PL", "POLAND");
+        List<SwiftCodeItem> branchItems = new ArrayList<>(branches);
+        
+        for (int i = 0; i < branches; i++) {
+            branchItems.add(new SwiftCodeItem(
+                "BREXPLPW%03d".formatted(i), "MBANK S.A. (FORMERLY BRE BANK S.A.)", "PL. JANA PAWLA II 9  WROCLAW, DOLNOSLASKIE, 50-136", false, country
+            ));
+        }
+        
+        swiftCodeItem = new SwiftCodeItem(
+            "BREXPLPWXXX", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "UL. PROSTA 18  WARSZAWA, MAZOWIECKIE, 00-850", true, country, branchItems
+        );
+        
+        cachedProjection = projectionFactory.createProjection(ProjectionSwiftCodeResponse.class, swiftCodeItem);
+        cachedResponse = SwiftCodeResponse.from(swiftCodeItem);
+    }
+    
+    @Benchmark
+    public byte[] projectionLoad() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projectionFactory.createProjection(ProjectionSwiftCodeResponse.class, swiftCodeItem));
+    }
+    
+    @Benchmark
+    public byte[] responseLoad() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(SwiftCodeResponse.from(swiftCodeItem));
+    }
+    
+    @Benchmark
+    public byte[] projectionCached() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cachedProjection);
+    }
+    
+    @Benchmark
+    public byte[] responseCached() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cachedResponse);
+    }
+    
+    // projections previously returned by the repository
+    
+    public interface ProjectionReducedSwiftCodeResponse {
+        String getSwiftCode();
+        
+        String getBankName();
+        
+        String getAddress();
+        
+        @JsonProperty("isHeadquarter")
+        boolean getHeadquarter();
+        
+        @Value("#{target.countryISO2.getCountryISO2()}")
+        String getCountryISO2();
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public interface ProjectionSwiftCodeResponse extends ProjectionReducedSwiftCodeResponse {
+        
+        @Value("#{target.countryISO2.getCountryName()}")
+        String getCountryName();
+        
+        List<ProjectionReducedSwiftCodeResponse> getBranches();
+    }
+}
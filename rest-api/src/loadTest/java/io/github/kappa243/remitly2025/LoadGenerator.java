@@ -0,0 +1,202 @@
+package io.github.kappa243.remitly2025;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open model load generator: requests are started at a fixed rate, independently of how fast responses arrive.
+ * <p>
+ * Latency is measured from the time a request was scheduled to start, not from the time it was actually sent, so
+ * a stalled server or a saturated client is reported as latency instead of silently lowering the request rate
+ * (coordinated omission).
+ */
+public class LoadGenerator {
+    
+    public enum Operation {
+        GET_SWIFT_CODE,
+        GET_COUNTRY,
+        POST_SWIFT_CODE,
+        DELETE_SWIFT_CODE
+    }
+    
+    private static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.MINUTES.toNanos(1);
+    
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    
+    private final String baseUri;
+    
+    private final Map<Operation, Integer> mix;
+    
+    private final List<String> swiftCodes;
+    
+    private final List<String> countries;
+    
+    private final int maxInFlight;
+    
+    private final Semaphore inFlight;
+    
+    private final Random random = new Random(0);
+    
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    
+    // codes created by POST requests, deleted by DELETE requests
+    private final Queue<String> createdSwiftCodes = new ConcurrentLinkedQueue<>();
+    
+    private final AtomicLong createdCounter = new AtomicLong();
+    
+    public LoadGenerator(String baseUri, Map<Operation, Integer> mix, List<String> swiftCodes, List<String> countries, int maxInFlight) {
+        this.baseUri = baseUri;
+        this.mix = mix;
+        this.swiftCodes = swiftCodes;
+        this.countries = countries;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+    
+    /**
+     * Sends requests at the given rate for the given duration and waits for all responses.
+     */
+    public void run(int rate, Duration duration) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long requests = duration.toNanos() / interval;
+        long start = System.nanoTime();
+        
+        for (long i = 0; i < requests; i++) {
+            long scheduled = start + i * interval;
+            
+            long delay;
+            while ((delay = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            
+            // waiting for a free slot delays sending, but the time is still counted from the scheduled start
+            inFlight.acquire();
+            send(nextOperation(), scheduled);
+        }
+        
+        // all permits are available again once every response was received
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+    
+    public void reset() {
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+    
+    public Histogram getHistogram(Operation operation) {
+        return histograms.get(operation);
+    }
+    
+    public long getErrors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+    
+    private Operation nextOperation() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int value = random.nextInt(total);
+        
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            value -= entry.getValue();
+            
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        
+        throw new IllegalStateException("Empty operation mix");
+    }
+    
+    private void send(Operation operation, long scheduled) {
+        HttpRequest request;
+        String createdSwiftCode = null;
+        
+        switch (operation) {
+            case GET_COUNTRY -> request = HttpRequest.newBuilder(uri("/country/" + pick(countries))).GET().build();
+            case POST_SWIFT_CODE -> {
+                createdSwiftCode = nextCreatedSwiftCode();
+                request = HttpRequest.newBuilder(uri("/"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"swiftCode":"%s","bankName":"LOAD TEST BANK","address":"LOAD TEST ADDRESS","isHeadquarter":true,"countryISO2":"PL","countryName":"POLAND"}
+                        """.formatted(createdSwiftCode)))
+                    .build();
+            }
+            case DELETE_SWIFT_CODE -> {
+                String swiftCode = createdSwiftCodes.poll();
+                
+                if (swiftCode == null) {
+                    // nothing to delete yet, the slot is used for a read instead
+                    send(Operation.GET_SWIFT_CODE, scheduled);
+                    return;
+                }
+                
+                request = HttpRequest.newBuilder(uri("/" + swiftCode)).DELETE().build();
+            }
+            default -> request = HttpRequest.newBuilder(uri("/" + pick(swiftCodes))).GET().build();
+        }
+        
+        String postedSwiftCode = createdSwiftCode;
+        
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - scheduled;
+            histograms.get(operation).recordValue(Math.min(latency, HIGHEST_TRACKABLE_LATENCY));
+            
+            if (error != null || response.statusCode() >= 300) {
+                errors.get(operation).increment();
+            } else if (postedSwiftCode != null) {
+                createdSwiftCodes.add(postedSwiftCode);
+            }
+            
+            inFlight.release();
+        });
+    }
+    
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+    
+    private URI uri(String path) {
+        return URI.create(baseUri + path);
+    }
+    
+    // unique headquarter codes: "L" and 3 letters as the bank code, PL, and a 2 character location code
+    private String nextCreatedSwiftCode() {
+        long counter = createdCounter.getAndIncrement();
+        String location = Long.toString(counter % 1296, 36).toUpperCase();
+        long bank = counter / 1296;
+        
+        char[] bankCode = new char[3];
+        for (int i = 2; i >= 0; i--, bank /= 26) {
+            bankCode[i] = (char) ('A' + bank % 26);
+        }
+        
+        return "L" + new String(bankCode) + "PL" + (location.length() == 1 ? "0" + location : location) + "XXX";
+    }
+}
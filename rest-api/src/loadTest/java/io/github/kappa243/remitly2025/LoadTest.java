@@ -0,0 +1,228 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.LoadGenerator.Operation;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application with a MongoDB container, loads the bundled CSV and drives a mix of requests at a target rate.
+ * <p>
+ * Options are passed as {@code name=value} arguments, all other arguments are passed to the application, e.g.
+ * {@code ./gradlew loadTest --args="rate=1000 duration=60s mix=get:80,country:10,post:5,delete:5 --swift-codes.cache.enabled=false"}.
+ * <ul>
+ *     <li>{@code rate} - requests started per second (default 500)</li>
+ *     <li>{@code duration} - measured run time (default 60s)</li>
+ *     <li>{@code warmup} - run time before measurement, not reported (default 15s)</li>
+ *     <li>{@code mix} - relative weights of {@code get}, {@code country}, {@code post} and {@code delete} requests
+ *     (default get:80,country:10,post:5,delete:5); a delete with no code created by a post yet is sent as a get</li>
+ *     <li>{@code max-in-flight} - limit of concurrent requests (default 1000)</li>
+ *     <li>{@code results} - directory for HdrHistogram percentile distributions (default build/results/loadtest)</li>
+ *     <li>{@code label} - name of the run, distributions are written to a subdirectory with this name, so runs with
+ *     different application settings can be compared side by side; after a labeled run the totals of all labeled runs
+ *     in the results directory are printed next to each other</li>
+ * </ul>
+ */
+public class LoadTest {
+    
+    private static final String SUMMARY_FILE = "summary.csv";
+    
+    private static final String SUMMARY_HEADER = "rate,operation,requests,errors,requests_per_second,p50_ms,p99_ms,p99_9_ms,max_ms";
+    
+    private static final Map<String, Operation> OPERATIONS = Map.of(
+        "get", Operation.GET_SWIFT_CODE,
+        "country", Operation.GET_COUNTRY,
+        "post", Operation.POST_SWIFT_CODE,
+        "delete", Operation.DELETE_SWIFT_CODE
+    );
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        
+        for (String arg : args) {
+            if (!arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+        
+        int rate = Integer.parseInt(options.getOrDefault("rate", "500"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "60s"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "15s"));
+        Map<Operation, Integer> mix = parseMix(options.getOrDefault("mix", "get:80,country:10,post:5,delete:5"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "1000"));
+        Path resultsRoot = Path.of(options.getOrDefault("results", "build/results/loadtest"));
+        String label = options.get("label");
+        Path results = label != null ? resultsRoot.resolve(label) : resultsRoot;
+        
+        try (GenericContainer<?> mongoDBContainer = new GenericContainer<>(DockerImageName.parse("mongodb/mongodb-community-server:7.0-ubuntu2204"))
+            .withEnv("MONGO_INITDB_ROOT_USERNAME", "user")
+            .withEnv("MONGO_INITDB_ROOT_PASSWORD", "password")
+            .withEnv("MONGO_INITDB_DATABASE", "swift")
+            .withExposedPorts(27017)) {
+            mongoDBContainer.start();
+            
+            applicationArgs.add(0, "--server.port=0");
+            applicationArgs.add(1, "--swift-codes.grpc.port=0");
+            applicationArgs.add(2, String.format(
+                "--spring.data.mongodb.uri=mongodb://user:password@%s:%d/swift?authSource=admin",
+                mongoDBContainer.getHost(),
+                mongoDBContainer.getFirstMappedPort()
+            ));
+            
+            // bundled CSV is loaded before the application context is returned
+            try (ConfigurableApplicationContext context = SpringApplication.run(Remitly2025Application.class, applicationArgs.toArray(String[]::new))) {
+                MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+                List<String> swiftCodes = mongoTemplate.findDistinct(new Query(), "_id", SwiftCodeItem.class, String.class);
+                List<String> countries = mongoTemplate.findDistinct(new Query(), "_id", CountryItem.class, String.class);
+                
+                String baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/v1/swift-codes";
+                LoadGenerator loadGenerator = new LoadGenerator(baseUri, mix, swiftCodes, countries, maxInFlight);
+                
+                System.out.printf("Warming up for %s at %d requests/s%n", warmup, rate);
+                loadGenerator.run(rate, warmup);
+                loadGenerator.reset();
+                
+                System.out.printf("Measuring for %s at %d requests/s%n", duration, rate);
+                loadGenerator.run(rate, duration);
+                
+                report(loadGenerator, rate, duration, results);
+            }
+        }
+        
+        if (label != null) {
+            printComparison(resultsRoot);
+        }
+    }
+    
+    private static void report(LoadGenerator loadGenerator, int rate, Duration duration, Path results) throws IOException {
+        Files.createDirectories(results);
+        
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        List<String> summary = new ArrayList<>();
+        summary.add(SUMMARY_HEADER);
+        
+        System.out.printf("%n%-18s %10s %8s %12s %10s %10s %10s %10s%n", "operation", "requests", "errors", "requests/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = loadGenerator.getHistogram(operation);
+            
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            
+            total.add(histogram);
+            totalErrors += loadGenerator.getErrors(operation);
+            
+            printRow(operation.name(), histogram, loadGenerator.getErrors(operation), duration);
+            summary.add(toSummaryRow(rate, operation.name(), histogram, loadGenerator.getErrors(operation), duration));
+            writeDistribution(histogram, results.resolve(operation.name().toLowerCase() + ".hgrm"));
+        }
+        
+        printRow("TOTAL", total, totalErrors, duration);
+        summary.add(toSummaryRow(rate, "TOTAL", total, totalErrors, duration));
+        writeDistribution(total, results.resolve("total.hgrm"));
+        Files.write(results.resolve(SUMMARY_FILE), summary);
+        
+        System.out.printf("%nPercentile distributions written to %s%n", results.toAbsolutePath());
+    }
+    
+    private static void printRow(String name, Histogram histogram, long errors, Duration duration) {
+        System.out.printf("%-18s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+            name,
+            histogram.getTotalCount(),
+            errors,
+            histogram.getTotalCount() / (duration.toMillis() / 1000.0),
+            histogram.getValueAtPercentile(50) / 1e6,
+            histogram.getValueAtPercentile(99) / 1e6,
+            histogram.getValueAtPercentile(99.9) / 1e6,
+            histogram.getMaxValue() / 1e6
+        );
+    }
+    
+    private static String toSummaryRow(int rate, String name, Histogram histogram, long errors, Duration duration) {
+        return String.format(Locale.ROOT, "%d,%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+            rate,
+            name,
+            histogram.getTotalCount(),
+            errors,
+            histogram.getTotalCount() / (duration.toMillis() / 1000.0),
+            histogram.getValueAtPercentile(50) / 1e6,
+            histogram.getValueAtPercentile(99) / 1e6,
+            histogram.getValueAtPercentile(99.9) / 1e6,
+            histogram.getMaxValue() / 1e6
+        );
+    }
+    
+    // totals of every labeled run, e.g. platform against virtual threads at the same rate
+    private static void printComparison(Path resultsRoot) throws IOException {
+        List<Path> runs;
+        
+        try (Stream<Path> directories = Files.list(resultsRoot)) {
+            runs = directories.filter(run -> Files.isRegularFile(run.resolve(SUMMARY_FILE))).sorted().toList();
+        }
+        
+        System.out.printf("%n%-18s %10s %8s %12s %10s %10s %10s %10s%n", "run", "rate", "errors", "requests/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        
+        for (Path run : runs) {
+            for (String line : Files.readAllLines(run.resolve(SUMMARY_FILE))) {
+                String[] columns = line.split(",");
+                
+                if (columns[1].equals("TOTAL")) {
+                    System.out.printf("%-18s %10s %8s %12s %10s %10s %10s %10s%n",
+                        run.getFileName(), columns[0], columns[3], columns[4], columns[5], columns[6], columns[7], columns[8]);
+                }
+            }
+        }
+    }
+    
+    private static void writeDistribution(Histogram histogram, Path file) throws IOException {
+        try (PrintStream printStream = new PrintStream(Files.newOutputStream(file))) {
+            // values in milliseconds
+            histogram.outputPercentileDistribution(printStream, 1e6);
+        }
+    }
+    
+    private static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+    
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            Operation operation = OPERATIONS.get(parts[0].trim());
+            
+            if (operation == null) {
+                throw new IllegalArgumentException("Unknown operation: " + parts[0] + ", expected one of " + OPERATIONS.keySet());
+            }
+            
+            mix.put(operation, Integer.parseInt(parts[1].trim()));
+        }
+        
+        return mix;
+    }
+}
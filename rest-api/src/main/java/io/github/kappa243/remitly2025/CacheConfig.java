@@ -0,0 +1,25 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.services.CachingSwiftCodesService;
+import io.github.kappa243.remitly2025.services.SwiftCodesCacheProperties;
+import io.github.kappa243.remitly2025.services.SwiftCodesServiceImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@Profile("!snapshot")
+public class CacheConfig {
+    
+    // closed with the context, which shuts the load executor down
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "swift-codes.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CachingSwiftCodesService cachingSwiftCodesService(SwiftCodesServiceImpl swiftCodesService, SwiftCodesCacheProperties properties, Environment environment) {
+        return new CachingSwiftCodesService(swiftCodesService, properties, Threading.VIRTUAL.isActive(environment));
+    }
+}
@@ -1,57 +1,73 @@
 package io.github.kappa243.remitly2025;
 
 import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.ImportCheckpoint;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
 import io.github.kappa243.remitly2025.parser.CSVParser;
-import io.github.kappa243.remitly2025.repositories.CountriesRepository;
-import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
+import io.github.kappa243.remitly2025.repositories.ImportCheckpointsRepository;
+import io.github.kappa243.remitly2025.services.SwiftCodesLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
-import org.springframework.data.domain.Sort;
+import org.springframework.core.io.Resource;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.index.Index;
-import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.Set;
+import java.util.Optional;
 
 @Component
-@Profile("!test")
+@Profile("!test & !snapshot")
 @RequiredArgsConstructor
 @Slf4j
 public class DatabaseInitializer implements CommandLineRunner {
     
-    private final SwiftCodesRepository swiftCodesRepository;
-    private final CountriesRepository countriesRepository;
+    private final ImportCheckpointsRepository importCheckpointsRepository;
     
     private final MongoTemplate mongoTemplate;
     
     private final CSVParser bankCSVParser;
     
+    private final SwiftCodesLoader swiftCodesLoader;
+    
+    private final MeterRegistry meterRegistry;
+    
     @Override
     public void run(String... args) {
-        if (!mongoTemplate.collectionExists(SwiftCodeItem.class) || !mongoTemplate.collectionExists(CountryItem.class)) {
-            log.info("Initializing database with csv data");
-            
-            mongoTemplate.indexOps(SwiftCodeItem.class).ensureIndex(new Index().on("countryISO2", Sort.Direction.ASC).named("countryISO2_"));
-            
-            Pair<Set<CountryItem>, Set<SwiftCodeItem>> entries = null;
-            try {
-                entries = bankCSVParser.parseCSV();
-                
-            } catch (IOException e) {
-                log.error("Error while parsing CSV banks data", e);
-            } catch (RuntimeException e) {
-                log.error("Something went wrong during CSV parsing", e);
-            }
-            
-            if (entries != null) {
-                countriesRepository.saveAll(entries.getFirst());
-                swiftCodesRepository.saveAll(entries.getSecond());
-            }
+        Resource csvResource = bankCSVParser.getBundledCSV();
+        Optional<ImportCheckpoint> checkpoint = importCheckpointsRepository.findById(csvResource.getFilename());
+        
+        if (checkpoint.isEmpty() && mongoTemplate.collectionExists(SwiftCodeItem.class) && mongoTemplate.collectionExists(CountryItem.class)) {
+            // database was initialized before load checkpoints were stored
+            return;
+        }
+        
+        if (checkpoint.map(ImportCheckpoint::isCompleted).orElse(false)) {
+            return;
+        }
+        
+        log.info("Initializing database with csv data");
+        
+        mongoTemplate.indexOps(SwiftCodeItem.class).ensureIndex(SwiftCodeItem.countrySwiftCodeIndex());
+        
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "failed";
+        
+        try {
+            swiftCodesLoader.load(csvResource);
+            result = "completed";
+        } catch (IOException e) {
+            log.error("Error while parsing CSV banks data", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while loading CSV banks data", e);
+        } catch (RuntimeException e) {
+            log.error("Something went wrong during CSV loading", e);
+        } finally {
+            sample.stop(meterRegistry.timer("swiftcodes.import", "result", result));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+package io.github.kappa243.remitly2025;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites headquarters stored with {@code @DBRef} branches into embedded branch documents.
+ * <p>
+ * The migration runs in the background while the application serves requests. Every headquarter is replaced with
+ * a compare-and-set update on its current branch list, so branches added or removed concurrently are never lost;
+ * a headquarter modified in the meantime is read again and retried. References to deleted branches are dropped.
+ */
+@Component
+@Profile("!test & !snapshot")
+@RequiredArgsConstructor
+@Slf4j
+public class EmbeddedBranchesMigration {
+    
+    private static final int BATCH_SIZE = 100;
+    
+    private static final int MAX_ATTEMPTS = 5;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(() -> {
+            try {
+                long migrated = migrate();
+                
+                if (migrated > 0) {
+                    log.info("Migrated {} headquarters to embedded branches", migrated);
+                }
+            } catch (RuntimeException e) {
+                log.error("Something went wrong during branches migration, it will be resumed on next start", e);
+            }
+        }, "embedded-branches-migration");
+        
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    public long migrate() {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(SwiftCodeItem.class));
+        
+        long migrated = 0;
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        
+        try (MongoCursor<Document> cursor = collection.find(Filters.exists("branches.$ref"))
+            .projection(Projections.include("branches"))
+            .batchSize(BATCH_SIZE)
+            .iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                
+                if (batch.size() == BATCH_SIZE) {
+                    migrated += migrateBatch(collection, batch);
+                    batch.clear();
+                }
+            }
+        }
+        
+        if (!batch.isEmpty()) {
+            migrated += migrateBatch(collection, batch);
+        }
+        
+        return migrated;
+    }
+    
+    private long migrateBatch(MongoCollection<Document> collection, List<Document> headquarters) {
+        Map<Object, Document> branches = new HashMap<>();
+        fetchBranches(collection, headquarters.stream().map(this::getBranches).flatMap(List::stream).toList(), branches);
+        
+        long migrated = 0;
+        
+        for (Document headquarter : headquarters) {
+            Object id = headquarter.get("_id");
+            List<Object> current = getBranches(headquarter);
+            
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                fetchBranches(collection, current, branches);
+                
+                List<Object> embedded = new ArrayList<>(current.size());
+                
+                for (Object branch : current) {
+                    if (!(branch instanceof DBRef dbRef)) {
+                        embedded.add(branch);
+                    } else if (branches.containsKey(dbRef.getId())) {
+                        embedded.add(branches.get(dbRef.getId()));
+                    }
+                }
+                
+                if (collection.updateOne(
+                    Filters.and(Filters.eq("_id", id), Filters.eq("branches", current)),
+                    Updates.set("branches", embedded)
+                ).getMatchedCount() > 0) {
+                    migrated++;
+                    break;
+                }
+                
+                // branches were changed concurrently
+                Document reloaded = collection.find(Filters.eq("_id", id)).projection(Projections.include("branches")).first();
+                
+                if (reloaded == null) {
+                    break;
+                }
+                
+                current = getBranches(reloaded);
+                
+                if (attempt == MAX_ATTEMPTS) {
+                    log.warn("Could not migrate branches of {}, headquarter is modified too often", id);
+                }
+            }
+        }
+        
+        return migrated;
+    }
+    
+    private void fetchBranches(MongoCollection<Document> collection, List<Object> references, Map<Object, Document> branches) {
+        Set<Object> missing = new HashSet<>();
+        
+        for (Object reference : references) {
+            if (reference instanceof DBRef dbRef && !branches.containsKey(dbRef.getId())) {
+                missing.add(dbRef.getId());
+            }
+        }
+        
+        if (missing.isEmpty()) {
+            return;
+        }
+        
+        collection.find(Filters.in("_id", missing))
+            .projection(Projections.exclude("branches"))
+            .forEach(branch -> branches.put(branch.get("_id"), branch));
+    }
+    
+    private List<Object> getBranches(Document headquarter) {
+        List<Object> branches = headquarter.getList("branches", Object.class);
+        return branches != null ? branches : List.of();
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.kappa243.remitly2025;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rewrites {@code @DBRef} countries of SWIFT codes (and of their embedded branches) into embedded country documents.
+ * <p>
+ * Documents are updated with one {@code updateMany} per country, each of them atomic per document, so the migration
+ * is safe to run while new documents are written. Unmigrated documents remain readable in the meantime.
+ */
+@Component
+@Profile("!test & !snapshot")
+@RequiredArgsConstructor
+@Slf4j
+public class EmbeddedCountryMigration implements CommandLineRunner {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Override
+    public void run(String... args) {
+        try {
+            long migrated = migrate();
+            
+            if (migrated > 0) {
+                log.info("Migrated {} SWIFT codes to embedded countries", migrated);
+            }
+        } catch (RuntimeException e) {
+            log.error("Something went wrong during countries migration, it will be resumed on next start", e);
+        }
+    }
+    
+    public long migrate() {
+        mongoTemplate.indexOps(SwiftCodeItem.class).ensureIndex(SwiftCodeItem.countrySwiftCodeIndex());
+        
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(SwiftCodeItem.class));
+        Bson legacyFilter = Filters.or(Filters.exists("countryISO2.$ref"), Filters.exists("branches.countryISO2.$ref"));
+        
+        if (collection.find(legacyFilter).first() == null) {
+            return 0;
+        }
+        
+        String countriesCollectionName = mongoTemplate.getCollectionName(CountryItem.class);
+        long migrated = 0;
+        
+        for (CountryItem country : mongoTemplate.findAll(CountryItem.class)) {
+            DBRef reference = new DBRef(countriesCollectionName, country.getCountryISO2());
+            Document embedded = new Document("_id", country.getCountryISO2()).append("countryName", country.getCountryName());
+            
+            migrated += collection.updateMany(
+                Filters.eq("countryISO2", reference),
+                Updates.set("countryISO2", embedded)
+            ).getModifiedCount();
+            
+            collection.updateMany(
+                Filters.eq("branches.countryISO2", reference),
+                Updates.set("branches.$[branch].countryISO2", embedded),
+                new UpdateOptions().arrayFilters(List.of(Filters.eq("branch.countryISO2", reference)))
+            );
+        }
+        
+        long remaining = collection.countDocuments(legacyFilter);
+        
+        if (remaining > 0) {
+            log.warn("{} SWIFT codes still reference countries that do not exist", remaining);
+        }
+        
+        return migrated;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.controllers.SwiftCodesGrpcService;
+import io.github.kappa243.remitly2025.exceptions.GrpcExceptionHandler;
+import io.github.kappa243.remitly2025.services.GrpcServerProperties;
+import io.github.kappa243.remitly2025.services.SwiftCodesService;
+import io.grpc.BindableService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "swift-codes.grpc", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcConfig {
+    
+    @Bean
+    public SwiftCodesGrpcService swiftCodesGrpcService(SwiftCodesService swiftCodesService, Validator validator, MeterRegistry meterRegistry) {
+        return new SwiftCodesGrpcService(swiftCodesService, validator, new GrpcExceptionHandler(meterRegistry));
+    }
+    
+    @Bean
+    public GrpcServerLifecycle grpcServerLifecycle(GrpcServerProperties properties, List<BindableService> services, Environment environment) {
+        return new GrpcServerLifecycle(properties, services, Threading.VIRTUAL.isActive(environment));
+    }
+}
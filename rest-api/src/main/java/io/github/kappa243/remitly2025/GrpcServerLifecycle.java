@@ -0,0 +1,93 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.services.GrpcServerProperties;
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server on its own port next to the web server, for as long as the application context is running.
+ */
+@Slf4j
+public class GrpcServerLifecycle implements SmartLifecycle {
+    
+    private final GrpcServerProperties properties;
+    
+    private final List<BindableService> services;
+    
+    private final boolean virtualThreads;
+    
+    private Server server;
+    
+    private ExecutorService executor;
+    
+    private volatile boolean running;
+    
+    public GrpcServerLifecycle(GrpcServerProperties properties, List<BindableService> services, boolean virtualThreads) {
+        this.properties = properties;
+        this.services = services;
+        this.virtualThreads = virtualThreads;
+    }
+    
+    @Override
+    public void start() {
+        ServerBuilder<?> builder = Grpc.newServerBuilderForPort(properties.getPort(), InsecureServerCredentials.create());
+        services.forEach(builder::addService);
+        
+        // calls block on MongoDB like the servlet requests, so they follow spring.threads.virtual.enabled as well;
+        // otherwise the default gRPC cached thread pool is used
+        if (virtualThreads) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            builder.executor(executor);
+        }
+        
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new IllegalStateException("gRPC server could not be started on port " + properties.getPort(), e);
+        }
+        
+        running = true;
+        log.info("gRPC server started on port {}", server.getPort());
+    }
+    
+    @Override
+    public void stop() {
+        // new calls are rejected, calls in progress are given the shutdown timeout to complete
+        server.shutdown();
+        
+        try {
+            if (!server.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        
+        if (executor != null) {
+            executor.shutdown();
+        }
+        
+        running = false;
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.services.MongoConcurrencyProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Profile("!snapshot")
+@Slf4j
+public class MongoConfig {
+    
+    // every repository, template, bulk and cursor call waits for a pooled connection, so the pool bounds the concurrent
+    // calls once requests are no longer bounded by a thread pool; a call waiting longer than the acquire timeout fails
+    // with 503 Service Unavailable
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoConcurrencyLimit(MongoConcurrencyProperties properties) {
+        log.info("MongoDB calls limited to {} at a time", properties.getMaxConcurrentCalls());
+        
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+            .maxSize(properties.getMaxConcurrentCalls())
+            .maxWaitTime(properties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
@@ -2,8 +2,10 @@ package io.github.kappa243.remitly2025;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication(scanBasePackages = "io.github.kappa243.remitly2025")
+@ConfigurationPropertiesScan
 public class Remitly2025Application {
     
     public static void main(String[] args) {
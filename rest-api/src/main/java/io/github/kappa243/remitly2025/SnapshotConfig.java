@@ -0,0 +1,42 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.parser.CSVParser;
+import io.github.kappa243.remitly2025.services.SwiftCodesSnapshot;
+import io.github.kappa243.remitly2025.services.SwiftCodesSnapshotProperties;
+import io.github.kappa243.remitly2025.services.SwiftCodesSnapshotWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Configuration
+@Profile("snapshot")
+@Slf4j
+public class SnapshotConfig {
+    
+    @Bean
+    public SwiftCodesSnapshot swiftCodesSnapshot(SwiftCodesSnapshotProperties properties, CSVParser csvParser) throws IOException {
+        Path path = properties.getPath();
+        
+        if (Files.notExists(path)) {
+            log.info("Compiling snapshot {} from {}", path, properties.getSource());
+            SwiftCodesSnapshotWriter writer = new SwiftCodesSnapshotWriter();
+            
+            try (InputStream inputStream = properties.getSource().getInputStream()) {
+                csvParser.parseCSV(inputStream, record -> writer.add(record.getSwiftCode()));
+            }
+            
+            writer.write(path);
+        }
+        
+        SwiftCodesSnapshot snapshot = SwiftCodesSnapshot.open(path);
+        log.info("Serving {} SWIFT codes of {} countries from snapshot {}", snapshot.size(), snapshot.countryCount(), path);
+        
+        return snapshot;
+    }
+}
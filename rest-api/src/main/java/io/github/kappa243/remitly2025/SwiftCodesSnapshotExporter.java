@@ -0,0 +1,55 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.services.SwiftCodesSnapshotProperties;
+import io.github.kappa243.remitly2025.services.SwiftCodesSnapshotWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+/**
+ * Writes the codes stored in MongoDB to a snapshot file for read replicas started with the {@code snapshot} profile.
+ * <p>
+ * Countries are read first, so the snapshot keeps the country names of the countries collection and countries
+ * without codes.
+ */
+@Component
+@Profile("!snapshot")
+@ConditionalOnProperty(prefix = "swift-codes.snapshot", name = "export-path")
+@RequiredArgsConstructor
+@Slf4j
+public class SwiftCodesSnapshotExporter {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    private final SwiftCodesSnapshotProperties properties;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void export() throws IOException {
+        long start = System.nanoTime();
+        SwiftCodesSnapshotWriter writer = new SwiftCodesSnapshotWriter();
+        
+        mongoTemplate.findAll(CountryItem.class).forEach(writer::addCountry);
+        
+        Query query = new Query();
+        query.fields().exclude("branches");
+        
+        try (Stream<SwiftCodeItem> swiftCodes = mongoTemplate.stream(query, SwiftCodeItem.class)) {
+            swiftCodes.forEach(writer::add);
+        }
+        
+        writer.write(properties.getExportPath());
+        
+        log.info("Snapshot {} written with {} SWIFT codes in {} ms", properties.getExportPath(), writer.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.controllers.ProtobufResponseHttpMessageConverter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@Profile("!reactive")
+public class WebConfig implements WebMvcConfigurer {
+    
+    // CBOR and Smile converters are registered by default once their Jackson data formats are on the classpath and
+    // follow the JSON converter, which therefore stays the default; the Protobuf converter is appended after them
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufResponseHttpMessageConverter());
+    }
+    
+    // every format of a resource has its own representation, which caches must not mix up; only the
+    // responses of reads are cacheable
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))
+                    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/v1/swift-codes/**");
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class BulkImportResponse {
+    
+    // failed rows above this limit are only counted, so the summary stays small for large payloads
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    
+    private long processed;
+    
+    private long inserted;
+    
+    private long failed;
+    
+    private final List<RowError> errors = new ArrayList<>();
+    
+    public void addInserted() {
+        processed++;
+        inserted++;
+    }
+    
+    public void addFailed(long row, String swiftCode, String message) {
+        processed++;
+        failed++;
+        
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, swiftCode, message));
+        }
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RowError {
+        
+        private final long row;
+        
+        private final String swiftCode;
+        
+        private final String message;
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.kappa243.remitly2025.controllers;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.github.kappa243.remitly2025.model.validators.CountryCode;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -25,4 +27,12 @@ public class CountrySwiftCodesResponse {
     
     @NotNull
     private List<ReducedSwiftCodeResponse> swiftCodes;
+    
+    // set only for paginated responses with more pages
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextPageToken;
+    
+    // version of the country listing, sent as the ETag header
+    @JsonIgnore
+    private long version;
 }
@@ -0,0 +1,95 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import com.google.protobuf.Message;
+import io.github.kappa243.remitly2025.proto.CountrySwiftCodes;
+import io.github.kappa243.remitly2025.proto.ReducedSwiftCode;
+import io.github.kappa243.remitly2025.proto.SwiftCode;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link SwiftCodeResponse} and {@link CountrySwiftCodesResponse} as the Protobuf messages defined in
+ * {@code swift_codes.proto}, for requests accepting {@code application/x-protobuf}.
+ */
+public class ProtobufResponseHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+    
+    public ProtobufResponseHttpMessageConverter() {
+        super(ProtobufHttpMessageConverter.PROTOBUF);
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == SwiftCodeResponse.class || clazz == CountrySwiftCodesResponse.class;
+    }
+    
+    // requests are read as JSON only
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+    
+    @Override
+    protected void writeInternal(Object response, HttpOutputMessage outputMessage) throws IOException {
+        toMessage(response).writeTo(outputMessage.getBody());
+    }
+    
+    public static Message toMessage(Object response) {
+        if (response instanceof SwiftCodeResponse swiftCodeResponse) {
+            return toMessage(swiftCodeResponse);
+        }
+        
+        return toMessage((CountrySwiftCodesResponse) response);
+    }
+    
+    public static SwiftCode toMessage(SwiftCodeResponse response) {
+        SwiftCode.Builder message = SwiftCode.newBuilder()
+            .setAddress(response.getAddress())
+            .setBankName(response.getBankName())
+            .setCountryIso2(response.getCountryISO2())
+            .setCountryName(response.getCountryName())
+            .setIsHeadquarter(response.isHeadquarter())
+            .setSwiftCode(response.getSwiftCode());
+        
+        if (response.getBranches() != null) {
+            response.getBranches().forEach(branch -> message.addBranches(toMessage(branch)));
+        }
+        
+        return message.build();
+    }
+    
+    public static CountrySwiftCodes toMessage(CountrySwiftCodesResponse response) {
+        CountrySwiftCodes.Builder message = CountrySwiftCodes.newBuilder()
+            .setCountryIso2(response.getCountryISO2())
+            .setCountryName(response.getCountryName());
+        
+        response.getSwiftCodes().forEach(swiftCode -> message.addSwiftCodes(toMessage(swiftCode)));
+        
+        if (response.getNextPageToken() != null) {
+            message.setNextPageToken(response.getNextPageToken());
+        }
+        
+        return message.build();
+    }
+    
+    public static ReducedSwiftCode toMessage(ReducedSwiftCodeResponse response) {
+        return ReducedSwiftCode.newBuilder()
+            .setAddress(response.getAddress())
+            .setBankName(response.getBankName())
+            .setCountryIso2(response.getCountryISO2())
+            .setIsHeadquarter(response.isHeadquarter())
+            .setSwiftCode(response.getSwiftCode())
+            .build();
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.kappa243.remitly2025.model.validators.CountryCode;
+import io.github.kappa243.remitly2025.services.CountrySwiftCodesFlux;
+import io.github.kappa243.remitly2025.services.ReactiveSwiftCodesService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static io.github.kappa243.remitly2025.controllers.ReactiveSwiftCodesController.eTag;
+import static io.github.kappa243.remitly2025.controllers.ReactiveSwiftCodesController.isModified;
+
+/**
+ * Streams whole countries of {@link ReactiveSwiftCodesController} from the database cursor, enabled by
+ * {@code swift-codes.streaming.enabled} like the streamed responses of {@link SwiftCodesController}.
+ */
+@RestController
+@Profile("reactive")
+@ConditionalOnProperty(name = "swift-codes.streaming.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@RequestMapping("/v1/swift-codes")
+public class ReactiveCountryStreamingController {
+    
+    private final ReactiveSwiftCodesService swiftCodesService;
+    
+    private final ObjectMapper objectMapper;
+    
+    // streamed responses are written as JSON, the only format of the reactive stack, so requests that do not accept
+    // it are left to ReactiveSwiftCodesController; so are requests with pagination parameters
+    @GetMapping(value = "/country/{countryISO2code}", params = {"!limit", "!after"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> streamBanksByCountryISO2(@PathVariable @CountryCode String countryISO2code, ServerWebExchange exchange) {
+        return isModified(exchange, () -> swiftCodesService.getCountryVersion(countryISO2code))
+            .filter(Boolean::booleanValue)
+            .flatMap(modified -> swiftCodesService.streamSwiftCodesDataByCountryISO2(countryISO2code))
+            .map(country -> ResponseEntity.ok()
+                .eTag(eTag(exchange, country.getVersion()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(writeCountrySwiftCodes(country)));
+    }
+    
+    private Flux<DataBuffer> writeCountrySwiftCodes(CountrySwiftCodesFlux country) {
+        // same document as CountrySwiftCodesResponse, codes are written as they are read and the cursor is read
+        // only as fast as the client receives the response
+        String start = "{\"countryISO2\":" + toJson(country.getCountryISO2())
+            + ",\"countryName\":" + toJson(country.getCountryName())
+            + ",\"swiftCodes\":[";
+        
+        Flux<String> swiftCodes = country.getSwiftCodes()
+            .index()
+            .map(swiftCode -> (swiftCode.getT1() == 0 ? "" : ",") + toJson(swiftCode.getT2()));
+        
+        return Flux.concat(Mono.just(start), swiftCodes, Mono.just("]}"))
+            .map(json -> DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+    
+}
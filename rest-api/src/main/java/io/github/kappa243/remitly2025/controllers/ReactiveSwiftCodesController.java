@@ -0,0 +1,203 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import io.github.kappa243.remitly2025.model.validators.CountryCode;
+import io.github.kappa243.remitly2025.model.validators.SwiftCode;
+import io.github.kappa243.remitly2025.parser.BulkImportReader;
+import io.github.kappa243.remitly2025.parser.BulkImportRow;
+import io.github.kappa243.remitly2025.parser.BulkImportRowIterator;
+import io.github.kappa243.remitly2025.services.ReactiveSwiftCodesService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.function.ThrowingFunction;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * WebFlux variant of {@link SwiftCodesController} with the same routes, enabled by the {@code reactive} profile.
+ */
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("/v1/swift-codes")
+public class ReactiveSwiftCodesController {
+    
+    private final ReactiveSwiftCodesService swiftCodesService;
+    
+    private final BulkImportReader bulkImportReader;
+    
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    
+    private static final int MAX_PAGE_SIZE = 1000;
+    
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    
+    private static final int MAX_SEARCH_LIMIT = 100;
+    
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    
+    // request body buffers read ahead while a bulk payload is parsed
+    private static final int BULK_BODY_DEMAND = 16;
+    
+    @GetMapping("/{swiftCode}")
+    public Mono<ResponseEntity<SwiftCodeResponse>> getBankData(@PathVariable @SwiftCode String swiftCode, ServerWebExchange exchange) {
+        // a polling client sends the version it has, which is confirmed without reading the whole document
+        return isModified(exchange, () -> swiftCodesService.getSwiftCodeVersion(swiftCode))
+            .filter(Boolean::booleanValue)
+            .flatMap(modified -> swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCode))
+            .map(swiftCodeResponse -> ResponseEntity.ok()
+                .eTag(eTag(exchange, swiftCodeResponse.getVersion()))
+                .body(swiftCodeResponse));
+    }
+    
+    @GetMapping("/country/{countryISO2code}")
+    public Mono<ResponseEntity<CountrySwiftCodesResponse>> getBanksByCountryISO2(
+        @PathVariable @CountryCode String countryISO2code,
+        @RequestParam(required = false) @Min(1) @Max(MAX_PAGE_SIZE) Integer limit,
+        @RequestParam(required = false) String after,
+        ServerWebExchange exchange
+    ) {
+        return isModified(exchange, () -> swiftCodesService.getCountryVersion(countryISO2code))
+            .filter(Boolean::booleanValue)
+            // without pagination parameters the whole country is returned, unless ReactiveCountryStreamingController
+            // streams it
+            .flatMap(modified -> limit == null && after == null
+                ? swiftCodesService.getSwiftCodesDataByCountryISO2(countryISO2code)
+                : swiftCodesService.getSwiftCodesDataByCountryISO2(countryISO2code, limit != null ? limit : DEFAULT_PAGE_SIZE, after))
+            .map(countrySwiftCodesResponse -> ResponseEntity.ok()
+                .eTag(eTag(exchange, countrySwiftCodesResponse.getVersion()))
+                .body(countrySwiftCodesResponse));
+    }
+    
+    @GetMapping("/")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public Mono<SwiftCodesPageResponse> getBanks(
+        @RequestParam(required = false, defaultValue = "" + DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+        @RequestParam(required = false) String after
+    ) {
+        return swiftCodesService.getSwiftCodesData(limit, after);
+    }
+    
+    @GetMapping("/prefix/{swiftCodePrefix}")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public Mono<SwiftCodesPageResponse> getBanksByPrefix(
+        @PathVariable @Pattern(regexp = "^[A-Z]{4}([A-Z]{2}([A-Z0-9]{2})?)?$", message = "Invalid SWIFT code prefix. Prefix must be a bank (4), bank and country (6) or location (8) code") String swiftCodePrefix,
+        @RequestParam(required = false, defaultValue = "" + DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+        @RequestParam(required = false) String after
+    ) {
+        return swiftCodesService.getSwiftCodesDataByPrefix(swiftCodePrefix, limit, after);
+    }
+    
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public Mono<SwiftCodesSearchResponse> searchBanks(
+        @RequestParam @NotBlank @Size(max = MAX_SEARCH_QUERY_LENGTH) String query,
+        @RequestParam(required = false, defaultValue = "" + DEFAULT_SEARCH_LIMIT) @Min(1) @Max(MAX_SEARCH_LIMIT) int limit
+    ) {
+        return swiftCodesService.searchSwiftCodesData(query, limit);
+    }
+    
+    @PostMapping("/lookup")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public Mono<SwiftCodesLookupResponse> lookupBanks(@Valid @RequestBody SwiftCodesLookupRequest swiftCodesLookupRequest) {
+        return swiftCodesService.lookupSwiftCodesData(swiftCodesLookupRequest.getSwiftCodes());
+    }
+    
+    @PostMapping("/")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Map<String, String>>> addBank(@Valid @RequestBody SwiftCodeRequest swiftCodeRequest) {
+        return swiftCodesService.addSwiftCodeData(swiftCodeRequest.toSwiftCodeItem())
+            .thenReturn(ResponseEntity.status(HttpStatus.CREATED)
+                .body(Map.of("message", "ok")));
+    }
+    
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public Mono<BulkImportResponse> addBanksFromNdjson(@RequestBody Flux<DataBuffer> body) {
+        return swiftCodesService.addSwiftCodesData(readRows(body, bulkImportReader::readNdjson));
+    }
+    
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public Mono<BulkImportResponse> addBanksFromCsv(@RequestBody Flux<DataBuffer> body) {
+        return swiftCodesService.addSwiftCodesData(readRows(body, bulkImportReader::readCsv));
+    }
+    
+    @DeleteMapping("/{swiftCode}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<Map<String, String>>> deleteBank(@PathVariable @SwiftCode String swiftCode) {
+        return swiftCodesService.deleteSwiftCodeData(swiftCode)
+            .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                .body(Map.of("message", "ok")));
+    }
+    
+    private Flux<BulkImportRow> readRows(Flux<DataBuffer> body, ThrowingFunction<InputStream, BulkImportRowIterator<?>> reader) {
+        // the parser reads a blocking stream, so it runs on a worker thread and requests body buffers as it goes
+        return Flux.<BulkImportRow, BulkImportRowIterator<?>>using(
+                () -> reader.applyWithException(DataBufferUtils.subscriberInputStream(body, BULK_BODY_DEMAND)),
+                rows -> Flux.fromIterable(() -> rows),
+                this::close
+            )
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    // a not modified response completes empty with the 304 status already set
+    static Mono<Boolean> isModified(ServerWebExchange exchange, Supplier<Mono<Long>> version) {
+        if (!exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)) {
+            return Mono.just(true);
+        }
+        
+        return version.get().map(currentVersion -> !exchange.checkNotModified(eTag(exchange, currentVersion)));
+    }
+    
+    static String eTag(ServerWebExchange exchange, long version) {
+        List<String> accept = exchange.getRequest().getHeaders().getOrEmpty(HttpHeaders.ACCEPT);
+        
+        return ResponseFormat.negotiate(accept).orElse(ResponseFormat.JSON).eTag(version);
+    }
+    
+    private void close(BulkImportRowIterator<?> rows) {
+        try {
+            rows.close();
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+    
+}
@@ -2,22 +2,33 @@ package io.github.kappa243.remitly2025.controllers;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.rest.core.config.Projection;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
-
-@Projection(name = "reducedSwiftCodeResponse", types = {SwiftCodeItem.class})
-public interface ReducedSwiftCodeResponse {
-    String getSwiftCode();
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ReducedSwiftCodeResponse {
+    
+    private final String address;
     
-    String getBankName();
+    private final String bankName;
     
-    String getAddress();
+    private final String countryISO2;
     
     @JsonProperty("isHeadquarter")
-    boolean getHeadquarter();
+    private final boolean headquarter;
     
-    @Value("#{target.countryISO2.getCountryISO2()}")
-    String getCountryISO2();
+    private final String swiftCode;
     
+    public static ReducedSwiftCodeResponse from(SwiftCodeItem swiftCodeItem) {
+        return new ReducedSwiftCodeResponse(
+            swiftCodeItem.getAddress(),
+            swiftCodeItem.getBankName(),
+            swiftCodeItem.getCountryISO2().getCountryISO2(),
+            swiftCodeItem.isHeadquarter(),
+            swiftCodeItem.getSwiftCode()
+        );
+    }
 }
@@ -0,0 +1,65 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Formats of the read responses, in the order of their message converters. Streamed listings are written around the
+ * converters, so the format a request negotiates is also needed by the controllers.
+ */
+enum ResponseFormat {
+    
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    PROTOBUF(ProtobufHttpMessageConverter.PROTOBUF);
+    
+    private final MediaType mediaType;
+    
+    ResponseFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+    
+    // each format is a different representation of the same version, so caches and clients must not take one for
+    // another; JSON keeps the plain version, which it had before the other formats were added
+    String eTag(long version) {
+        return this == JSON ? "\"" + version + "\"" : "\"" + version + "-" + name().toLowerCase(Locale.ROOT) + "\"";
+    }
+    
+    // selected as by the message converters: the formats matched by the accepted media ranges are ordered by quality
+    // and specificity, equal ones by the order of the ranges and then of the converters; empty when none is accepted
+    // or the Accept header is invalid, which the converters reject
+    static Optional<ResponseFormat> negotiate(List<String> accept) {
+        List<MediaType> accepted;
+        
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+        
+        List<MediaType> matches = new ArrayList<>();
+        
+        for (MediaType range : accepted.isEmpty() ? List.of(MediaType.ALL) : accepted) {
+            for (ResponseFormat format : values()) {
+                if (range.isCompatibleWith(format.mediaType)) {
+                    matches.add(format.mediaType.copyQualityValue(range));
+                }
+            }
+        }
+        
+        MimeTypeUtils.sortBySpecificity(matches);
+        
+        return matches.stream()
+            .findFirst()
+            .flatMap(match -> Arrays.stream(values()).filter(format -> format.mediaType.equalsTypeAndSubtype(match)).findFirst());
+    }
+}
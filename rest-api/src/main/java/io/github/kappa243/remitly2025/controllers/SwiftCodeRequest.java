@@ -1,6 +1,8 @@
 package io.github.kappa243.remitly2025.controllers;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
 import io.github.kappa243.remitly2025.model.validators.CountryCode;
 import io.github.kappa243.remitly2025.model.validators.HeadquarterMatch;
 import io.github.kappa243.remitly2025.model.validators.SwiftCode;
@@ -41,4 +43,19 @@ public class SwiftCodeRequest {
     @NotEmpty
     @Uppercase
     private String countryName;
+    
+    public SwiftCodeItem toSwiftCodeItem() {
+        CountryItem countryItem = CountryItem.builder()
+            .countryISO2(countryISO2)
+            .countryName(countryName)
+            .build();
+        
+        return SwiftCodeItem.builder()
+            .swiftCode(swiftCode)
+            .bankName(bankName)
+            .address(address)
+            .headquarter(headquarter)
+            .countryISO2(countryItem)
+            .build();
+    }
 }
@@ -1,18 +1,52 @@
 package io.github.kappa243.remitly2025.controllers;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.rest.core.config.Projection;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 import java.util.List;
 
-@Projection(name = "swiftCodeResponse", types = {SwiftCodeItem.class})
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
-public interface SwiftCodeResponse extends ReducedSwiftCodeResponse {
+public class SwiftCodeResponse {
     
-    @Value("#{target.countryISO2.getCountryName()}")
-    String getCountryName();
+    private final String address;
     
-    List<ReducedSwiftCodeResponse> getBranches();
+    private final String bankName;
+    
+    private final String countryISO2;
+    
+    private final String countryName;
+    
+    @JsonProperty("isHeadquarter")
+    private final boolean headquarter;
+    
+    private final String swiftCode;
+    
+    // null for branches, so the field is not serialized
+    private final List<ReducedSwiftCodeResponse> branches;
+    
+    // sent as the ETag header
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private final long version;
+    
+    public static SwiftCodeResponse from(SwiftCodeItem swiftCodeItem) {
+        return new SwiftCodeResponse(
+            swiftCodeItem.getAddress(),
+            swiftCodeItem.getBankName(),
+            swiftCodeItem.getCountryISO2().getCountryISO2(),
+            swiftCodeItem.getCountryISO2().getCountryName(),
+            swiftCodeItem.isHeadquarter(),
+            swiftCodeItem.getSwiftCode(),
+            swiftCodeItem.getBranches() != null ? swiftCodeItem.getBranches().stream().map(ReducedSwiftCodeResponse::from).toList() : null,
+            swiftCodeItem.getVersion()
+        );
+    }
 }
@@ -0,0 +1,23 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SwiftCodeSearchHit {
+    
+    private final String swiftCode;
+    
+    private final String bankName;
+    
+    private final String address;
+    
+    private final String countryISO2;
+    
+    @JsonProperty("isHeadquarter")
+    private final boolean headquarter;
+    
+    private final double score;
+}
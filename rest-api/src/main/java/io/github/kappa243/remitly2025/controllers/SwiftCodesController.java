@@ -1,70 +1,175 @@
 package io.github.kappa243.remitly2025.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.kappa243.remitly2025.exceptions.ChildSwiftCodesFoundException;
 import io.github.kappa243.remitly2025.exceptions.CountryNotExistsException;
 import io.github.kappa243.remitly2025.exceptions.HeadSwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.exceptions.InvalidPageTokenException;
 import io.github.kappa243.remitly2025.exceptions.SwiftCodeAlreadyExistsException;
 import io.github.kappa243.remitly2025.exceptions.SwiftCodeNotFoundException;
-import io.github.kappa243.remitly2025.model.CountryItem;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
 import io.github.kappa243.remitly2025.model.validators.CountryCode;
 import io.github.kappa243.remitly2025.model.validators.SwiftCode;
+import io.github.kappa243.remitly2025.parser.BulkImportReader;
+import io.github.kappa243.remitly2025.parser.BulkImportRowIterator;
+import io.github.kappa243.remitly2025.services.CountrySwiftCodesStream;
 import io.github.kappa243.remitly2025.services.SwiftCodesService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping("/v1/swift-codes")
-@Validated
 public class SwiftCodesController {
     
     private final SwiftCodesService swiftCodesService;
     
+    private final BulkImportReader bulkImportReader;
+    
+    private final ObjectMapper objectMapper;
+    
+    @Value("${swift-codes.streaming.enabled:false}")
+    private boolean streamingEnabled;
+    
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    
+    private static final int MAX_PAGE_SIZE = 1000;
+    
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    
+    private static final int MAX_SEARCH_LIMIT = 100;
+    
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    
+    // no @ResponseStatus on conditional GETs, it would replace the 304 status of a not modified response
     @GetMapping("/{swiftCode}")
-    @ResponseStatus(HttpStatus.OK)
     @ResponseBody
-    public SwiftCodeResponse getBankData(@PathVariable @SwiftCode String swiftCode) throws SwiftCodeNotFoundException {
-        return swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCode);
+    public SwiftCodeResponse getBankData(@PathVariable @SwiftCode String swiftCode, WebRequest request, HttpServletResponse response) throws SwiftCodeNotFoundException {
+        // a polling client sends the version it has, which is confirmed without reading the whole document
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(eTag(request, swiftCodesService.getSwiftCodeVersion(swiftCode)))) {
+            return null;
+        }
+        
+        SwiftCodeResponse swiftCodeResponse = swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCode);
+        setETag(request, response, swiftCodeResponse.getVersion());
+        
+        return swiftCodeResponse;
     }
     
     @GetMapping("/country/{countryISO2code}")
+    @ResponseBody
+    public CountrySwiftCodesResponse getBanksByCountryISO2(
+        @PathVariable @CountryCode String countryISO2code,
+        @RequestParam(required = false) @Min(1) @Max(MAX_PAGE_SIZE) Integer limit,
+        @RequestParam(required = false) String after,
+        WebRequest request,
+        HttpServletResponse response
+    ) throws CountryNotExistsException, InvalidPageTokenException, IOException {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(eTag(request, swiftCodesService.getCountryVersion(countryISO2code)))) {
+            return null;
+        }
+        
+        CountrySwiftCodesResponse countrySwiftCodesResponse;
+        
+        // without pagination parameters the whole country is returned, as before pagination was added
+        if (limit == null && after == null) {
+            // streamed responses are written as JSON, other formats only by the message converters
+            if (streamingEnabled && negotiateFormat(request).equals(Optional.of(ResponseFormat.JSON))) {
+                try (CountrySwiftCodesStream country = swiftCodesService.streamSwiftCodesDataByCountryISO2(countryISO2code)) {
+                    setETag(request, response, country.getVersion());
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    writeCountrySwiftCodes(country, response.getOutputStream());
+                }
+                
+                // response is already written
+                return null;
+            }
+            
+            countrySwiftCodesResponse = swiftCodesService.getSwiftCodesDataByCountryISO2(countryISO2code);
+        } else {
+            countrySwiftCodesResponse = swiftCodesService.getSwiftCodesDataByCountryISO2(countryISO2code, limit != null ? limit : DEFAULT_PAGE_SIZE, after);
+        }
+        
+        setETag(request, response, countrySwiftCodesResponse.getVersion());
+        
+        return countrySwiftCodesResponse;
+    }
+    
+    @GetMapping("/")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public SwiftCodesPageResponse getBanks(
+        @RequestParam(required = false, defaultValue = "" + DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+        @RequestParam(required = false) String after
+    ) throws InvalidPageTokenException {
+        return swiftCodesService.getSwiftCodesData(limit, after);
+    }
+    
+    @GetMapping("/prefix/{swiftCodePrefix}")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public SwiftCodesPageResponse getBanksByPrefix(
+        @PathVariable @Pattern(regexp = "^[A-Z]{4}([A-Z]{2}([A-Z0-9]{2})?)?$", message = "Invalid SWIFT code prefix. Prefix must be a bank (4), bank and country (6) or location (8) code") String swiftCodePrefix,
+        @RequestParam(required = false, defaultValue = "" + DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+        @RequestParam(required = false) String after
+    ) throws InvalidPageTokenException {
+        return swiftCodesService.getSwiftCodesDataByPrefix(swiftCodePrefix, limit, after);
+    }
+    
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public SwiftCodesSearchResponse searchBanks(
+        @RequestParam @NotBlank @Size(max = MAX_SEARCH_QUERY_LENGTH) String query,
+        @RequestParam(required = false, defaultValue = "" + DEFAULT_SEARCH_LIMIT) @Min(1) @Max(MAX_SEARCH_LIMIT) int limit
+    ) {
+        return swiftCodesService.searchSwiftCodesData(query, limit);
+    }
+    
+    @PostMapping("/lookup")
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
-    public CountrySwiftCodesResponse getBanksByCountryISO2(@PathVariable @CountryCode String countryISO2code) throws CountryNotExistsException {
-        return swiftCodesService.getSwiftCodesDataByCountryISO2(countryISO2code);
+    public SwiftCodesLookupResponse lookupBanks(@Valid @RequestBody SwiftCodesLookupRequest swiftCodesLookupRequest) {
+        return swiftCodesService.lookupSwiftCodesData(swiftCodesLookupRequest.getSwiftCodes());
     }
     
     @PostMapping("/")
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Map<String, String>> addBank(@Valid @RequestBody SwiftCodeRequest swiftCodeRequest) throws HeadSwiftCodeNotFoundException, SwiftCodeAlreadyExistsException {
-        // map request to items
-        CountryItem countryItem = CountryItem.builder()
-            .countryISO2(swiftCodeRequest.getCountryISO2())
-            .countryName(swiftCodeRequest.getCountryName())
-            .build();
-        
-        SwiftCodeItem swiftCodeItem = SwiftCodeItem.builder()
-            .swiftCode(swiftCodeRequest.getSwiftCode())
-            .bankName(swiftCodeRequest.getBankName())
-            .address(swiftCodeRequest.getAddress())
-            .headquarter(swiftCodeRequest.isHeadquarter())
-            .countryISO2(countryItem)
-            .build();
+        SwiftCodeItem swiftCodeItem = swiftCodeRequest.toSwiftCodeItem();
         
         swiftCodesService.addSwiftCodeData(swiftCodeItem);
         
@@ -72,6 +177,42 @@ public class SwiftCodesController {
             .body(Map.of("message", "ok"));
     }
     
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public BulkImportResponse addBanksFromNdjson(InputStream body) throws IOException {
+        try (BulkImportRowIterator<?> rows = bulkImportReader.readNdjson(body)) {
+            return swiftCodesService.addSwiftCodesData(rows);
+        }
+    }
+    
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public BulkImportResponse addBanksFromCsv(InputStream body) throws IOException {
+        try (BulkImportRowIterator<?> rows = bulkImportReader.readCsv(body)) {
+            return swiftCodesService.addSwiftCodesData(rows);
+        }
+    }
+    
+    private void writeCountrySwiftCodes(CountrySwiftCodesStream country, OutputStream outputStream) throws IOException {
+        // same document as CountrySwiftCodesResponse, written while the codes are read from the cursor
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeStringField("countryISO2", country.getCountryISO2());
+            generator.writeStringField("countryName", country.getCountryName());
+            generator.writeArrayFieldStart("swiftCodes");
+            
+            Iterator<ReducedSwiftCodeResponse> swiftCodes = country.getSwiftCodes().iterator();
+            while (swiftCodes.hasNext()) {
+                generator.writeObject(swiftCodes.next());
+            }
+            
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+    
     @DeleteMapping("/{swiftCode}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<Map<String, String>> deleteBank(@PathVariable @SwiftCode String swiftCode) throws SwiftCodeNotFoundException, ChildSwiftCodesFoundException {
@@ -81,4 +222,19 @@ public class SwiftCodesController {
             .body(Map.of("message", "ok"));
     }
     
+    // replaces the tag of the version read by a failed If-None-Match check, the body may have been read in a newer one
+    private static void setETag(WebRequest request, HttpServletResponse response, long version) {
+        response.setHeader(HttpHeaders.ETAG, eTag(request, version));
+    }
+    
+    private static Optional<ResponseFormat> negotiateFormat(WebRequest request) {
+        String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+        
+        return ResponseFormat.negotiate(accept != null ? List.of(accept) : List.of());
+    }
+    
+    private static String eTag(WebRequest request, long version) {
+        return negotiateFormat(request).orElse(ResponseFormat.JSON).eTag(version);
+    }
+    
 }
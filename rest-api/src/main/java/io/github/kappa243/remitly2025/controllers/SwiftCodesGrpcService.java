@@ -0,0 +1,200 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import com.google.protobuf.Empty;
+import io.github.kappa243.remitly2025.exceptions.GrpcExceptionHandler;
+import io.github.kappa243.remitly2025.proto.AddSwiftCodeRequest;
+import io.github.kappa243.remitly2025.proto.BatchGetSwiftCodesRequest;
+import io.github.kappa243.remitly2025.proto.BatchGetSwiftCodesResponse;
+import io.github.kappa243.remitly2025.proto.DeleteSwiftCodeRequest;
+import io.github.kappa243.remitly2025.proto.GetSwiftCodeRequest;
+import io.github.kappa243.remitly2025.proto.ReducedSwiftCode;
+import io.github.kappa243.remitly2025.proto.StreamCountrySwiftCodesRequest;
+import io.github.kappa243.remitly2025.proto.SwiftCode;
+import io.github.kappa243.remitly2025.proto.SwiftCodesGrpc;
+import io.github.kappa243.remitly2025.services.CountrySwiftCodesStream;
+import io.github.kappa243.remitly2025.services.SwiftCodesService;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.function.ThrowingSupplier;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import static io.github.kappa243.remitly2025.controllers.ProtobufResponseHttpMessageConverter.toMessage;
+
+/**
+ * gRPC variant of {@link SwiftCodesController} on top of the same {@link SwiftCodesService}, with requests validated
+ * by the same constraints as the REST request bodies and path variables.
+ */
+@RequiredArgsConstructor
+public class SwiftCodesGrpcService extends SwiftCodesGrpc.SwiftCodesImplBase {
+    
+    private final SwiftCodesService swiftCodesService;
+    
+    private final Validator validator;
+    
+    private final GrpcExceptionHandler exceptionHandler;
+    
+    @Override
+    public void getSwiftCode(GetSwiftCodeRequest request, StreamObserver<SwiftCode> responseObserver) {
+        respond(responseObserver, () -> {
+            validateValue("swiftCode", request.getSwiftCode());
+            
+            return toMessage(swiftCodesService.getSwiftCodeDataBySwiftCode(request.getSwiftCode()));
+        });
+    }
+    
+    @Override
+    public void batchGetSwiftCodes(BatchGetSwiftCodesRequest request, StreamObserver<BatchGetSwiftCodesResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            validate(new SwiftCodesLookupRequest(request.getSwiftCodesList()));
+            
+            SwiftCodesLookupResponse lookupResponse = swiftCodesService.lookupSwiftCodesData(request.getSwiftCodesList());
+            
+            BatchGetSwiftCodesResponse.Builder response = BatchGetSwiftCodesResponse.newBuilder()
+                .addAllNotFound(lookupResponse.getNotFound());
+            lookupResponse.getSwiftCodes().forEach(swiftCode -> response.addSwiftCodes(toMessage(swiftCode)));
+            
+            return response.build();
+        });
+    }
+    
+    @Override
+    public void streamCountrySwiftCodes(StreamCountrySwiftCodesRequest request, StreamObserver<ReducedSwiftCode> responseObserver) {
+        CountrySwiftCodesStream country;
+        
+        try {
+            validateValue("countryISO2", request.getCountryIso2());
+            
+            country = swiftCodesService.streamSwiftCodesDataByCountryISO2(request.getCountryIso2());
+        } catch (Exception e) {
+            responseObserver.onError(exceptionHandler.toStatusException(e));
+            return;
+        }
+        
+        new CountrySwiftCodesWriter(country, (ServerCallStreamObserver<ReducedSwiftCode>) responseObserver, exceptionHandler).start();
+    }
+    
+    @Override
+    public void addSwiftCode(AddSwiftCodeRequest request, StreamObserver<SwiftCode> responseObserver) {
+        respond(responseObserver, () -> {
+            SwiftCodeRequest swiftCodeRequest = SwiftCodeRequest.builder()
+                .swiftCode(request.getSwiftCode())
+                .bankName(request.getBankName())
+                .address(request.getAddress())
+                .headquarter(request.getIsHeadquarter())
+                .countryISO2(request.getCountryIso2())
+                .countryName(request.getCountryName())
+                .build();
+            
+            validate(swiftCodeRequest);
+            
+            return toMessage(swiftCodesService.addSwiftCodeData(swiftCodeRequest.toSwiftCodeItem()));
+        });
+    }
+    
+    @Override
+    public void deleteSwiftCode(DeleteSwiftCodeRequest request, StreamObserver<Empty> responseObserver) {
+        respond(responseObserver, () -> {
+            validateValue("swiftCode", request.getSwiftCode());
+            
+            swiftCodesService.deleteSwiftCodeData(request.getSwiftCode());
+            
+            return Empty.getDefaultInstance();
+        });
+    }
+    
+    private <T> void validate(T request) {
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+    
+    // single values are checked against the constraints of the matching SwiftCodeRequest field
+    private void validateValue(String propertyName, String value) {
+        Set<ConstraintViolation<SwiftCodeRequest>> violations = validator.validateValue(SwiftCodeRequest.class, propertyName, value);
+        
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+    
+    private <T> void respond(StreamObserver<T> responseObserver, ThrowingSupplier<T> call) {
+        T response;
+        
+        try {
+            response = call.getWithException();
+        } catch (Exception e) {
+            responseObserver.onError(exceptionHandler.toStatusException(e));
+            return;
+        }
+        
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+    
+    /**
+     * Writes the codes of a country as they are read from the database cursor, only while the client keeps up with
+     * the stream, so a slow client holds an open cursor instead of the whole country buffered in memory.
+     * <p>
+     * gRPC runs the ready and cancel handlers of a call one at a time, so no further synchronization is needed.
+     */
+    private static class CountrySwiftCodesWriter implements Runnable {
+        
+        private final CountrySwiftCodesStream country;
+        
+        private final Iterator<ReducedSwiftCodeResponse> swiftCodes;
+        
+        private final ServerCallStreamObserver<ReducedSwiftCode> responseObserver;
+        
+        private final GrpcExceptionHandler exceptionHandler;
+        
+        private boolean closed;
+        
+        CountrySwiftCodesWriter(CountrySwiftCodesStream country, ServerCallStreamObserver<ReducedSwiftCode> responseObserver, GrpcExceptionHandler exceptionHandler) {
+            this.country = country;
+            this.swiftCodes = country.getSwiftCodes().iterator();
+            this.responseObserver = responseObserver;
+            this.exceptionHandler = exceptionHandler;
+        }
+        
+        void start() {
+            responseObserver.setOnCancelHandler(this::close);
+            responseObserver.setOnReadyHandler(this);
+        }
+        
+        @Override
+        public void run() {
+            if (closed) {
+                return;
+            }
+            
+            try {
+                while (responseObserver.isReady() && swiftCodes.hasNext()) {
+                    responseObserver.onNext(toMessage(swiftCodes.next()));
+                }
+                
+                if (!swiftCodes.hasNext()) {
+                    close();
+                    responseObserver.onCompleted();
+                }
+            } catch (RuntimeException e) {
+                close();
+                responseObserver.onError(exceptionHandler.toStatusException(e));
+            }
+        }
+        
+        private void close() {
+            if (!closed) {
+                closed = true;
+                country.close();
+            }
+        }
+    }
+}
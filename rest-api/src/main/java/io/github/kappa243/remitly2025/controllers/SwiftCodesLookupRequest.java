@@ -0,0 +1,24 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import io.github.kappa243.remitly2025.model.validators.SwiftCode;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SwiftCodesLookupRequest {
+    
+    public static final int MAX_SWIFT_CODES = 1000;
+    
+    @NotEmpty
+    @Size(max = MAX_SWIFT_CODES)
+    private List<@SwiftCode String> swiftCodes;
+}
@@ -0,0 +1,22 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SwiftCodesLookupResponse {
+    
+    @NotNull
+    private List<SwiftCodeResponse> swiftCodes;
+    
+    @NotNull
+    private List<String> notFound;
+}
@@ -0,0 +1,23 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SwiftCodesPageResponse {
+    
+    @NotNull
+    private List<ReducedSwiftCodeResponse> swiftCodes;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextPageToken;
+}
@@ -0,0 +1,19 @@
+package io.github.kappa243.remitly2025.controllers;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SwiftCodesSearchResponse {
+    
+    @NotNull
+    private List<SwiftCodeSearchHit> swiftCodes;
+}
@@ -1,15 +1,22 @@
 package io.github.kappa243.remitly2025.exceptions;
 
+import com.mongodb.MongoTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.util.List;
@@ -17,47 +24,85 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @ControllerAdvice
+@Profile("!reactive")
+@RequiredArgsConstructor
 public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
     
+    private final MeterRegistry meterRegistry;
+    
     @ExceptionHandler(SwiftCodeNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<String> handleBankNotFound(SwiftCodeNotFoundException e, WebRequest wr) {
+        countError(meterRegistry, e);
         return new ResponseEntity<>("SWIFT code not found", HttpStatus.NOT_FOUND);
     }
     
     @ExceptionHandler(SwiftCodeAlreadyExistsException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ResponseEntity<String> handleBankAlreadyExists(SwiftCodeAlreadyExistsException e, WebRequest wr) {
+        countError(meterRegistry, e);
         return new ResponseEntity<>("SWIFT code already exists", HttpStatus.CONFLICT);
     }
     
     @ExceptionHandler(HeadSwiftCodeNotFoundException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ResponseEntity<String> handleHeadBankNotFound(HeadSwiftCodeNotFoundException e, WebRequest wr) {
+        countError(meterRegistry, e);
         return new ResponseEntity<>("Headquarter SWIFT code does not exists.", HttpStatus.CONFLICT);
     }
     
     @ExceptionHandler(CountryNotExistsException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<String> handleCountryNotExists(CountryNotExistsException e, WebRequest wr) {
+        countError(meterRegistry, e);
         return new ResponseEntity<>("Country does not exists", HttpStatus.NOT_FOUND);
     }
     
     @ExceptionHandler(ChildSwiftCodesFoundException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ResponseEntity<String> handleChildBranchesFound(ChildSwiftCodesFoundException e, WebRequest wr) {
+        countError(meterRegistry, e);
         return new ResponseEntity<>("Child branches found for given SWIFT code", HttpStatus.CONFLICT);
     }
     
+    @ExceptionHandler(InvalidPageTokenException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<String> handleInvalidPageToken(InvalidPageTokenException e, WebRequest wr) {
+        countError(meterRegistry, e);
+        return new ResponseEntity<>("Invalid page token", HttpStatus.BAD_REQUEST);
+    }
+    
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handleDataAccessResourceFailure(DataAccessResourceFailureException e, WebRequest wr) {
+        countError(meterRegistry, e);
+        
+        if (isPoolWaitTimeout(e)) {
+            return new ResponseEntity<>("Service is overloaded, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        
+        return new ResponseEntity<>("Database unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    
+    @ExceptionHandler(SnapshotUnsupportedOperationException.class)
+    @ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+    public ResponseEntity<String> handleSnapshotUnsupportedOperation(SnapshotUnsupportedOperationException e, WebRequest wr) {
+        countError(meterRegistry, e);
+        return new ResponseEntity<>("Not supported by the read-only snapshot", HttpStatus.NOT_IMPLEMENTED);
+    }
+    
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     ResponseEntity<String> handleConstraintViolationException(ConstraintViolationException e) {
+        countError(meterRegistry, e);
         return new ResponseEntity<>("Validation Error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
     }
     
     @Override
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        countError(meterRegistry, ex);
+        
         List<String> errors = Stream.concat(
             ex.getBindingResult().getFieldErrors().stream()
                 .map(err -> err.getField() + ": " + err.getDefaultMessage()),
@@ -68,4 +113,34 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>("Validation Error: " + String.join(", ", errors), HttpStatus.BAD_REQUEST);
     }
     
+    // constraints of path variables and request parameters, validated by Spring MVC without a @Validated proxy
+    @Override
+    protected ResponseEntity<Object> handleHandlerMethodValidationException(HandlerMethodValidationException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        countError(meterRegistry, ex);
+        
+        List<String> errors = ex.getAllValidationResults().stream()
+            .flatMap(result -> result.getResolvableErrors().stream()
+                .map(err -> result.getMethodParameter().getParameterName() + ": " + err.getDefaultMessage()))
+            .toList();
+        
+        return new ResponseEntity<>("Validation Error: " + String.join(", ", errors), HttpStatus.BAD_REQUEST);
+    }
+    
+    // other exceptions handled by the base class
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex, @Nullable Object body, HttpHeaders headers, HttpStatusCode statusCode, WebRequest request) {
+        countError(meterRegistry, ex);
+        return super.handleExceptionInternal(ex, body, headers, statusCode, request);
+    }
+    
+    // no pooled MongoDB connection became free within the acquire timeout; other resource failures mean MongoDB is not
+    // reachable, which retrying soon does not help
+    static boolean isPoolWaitTimeout(DataAccessResourceFailureException e) {
+        return e.getCause() instanceof MongoTimeoutException;
+    }
+    
+    static void countError(MeterRegistry meterRegistry, Exception e) {
+        meterRegistry.counter("swiftcodes.errors", "exception", e.getClass().getSimpleName()).increment();
+    }
+    
 }
@@ -0,0 +1,43 @@
+package io.github.kappa243.remitly2025.exceptions;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static io.github.kappa243.remitly2025.exceptions.ControllerExceptionHandler.countError;
+import static io.github.kappa243.remitly2025.exceptions.ControllerExceptionHandler.isPoolWaitTimeout;
+
+// same errors as ControllerExceptionHandler as gRPC status codes, with the REST response messages as descriptions
+@Slf4j
+@RequiredArgsConstructor
+public final class GrpcExceptionHandler {
+    
+    private final MeterRegistry meterRegistry;
+    
+    public StatusRuntimeException toStatusException(Exception e) {
+        countError(meterRegistry, e);
+        
+        Status status = switch (e) {
+            case SwiftCodeNotFoundException ignored -> Status.NOT_FOUND.withDescription("SWIFT code not found");
+            case SwiftCodeAlreadyExistsException ignored -> Status.ALREADY_EXISTS.withDescription("SWIFT code already exists");
+            case HeadSwiftCodeNotFoundException ignored -> Status.FAILED_PRECONDITION.withDescription("Headquarter SWIFT code does not exists.");
+            case CountryNotExistsException ignored -> Status.NOT_FOUND.withDescription("Country does not exists");
+            case ChildSwiftCodesFoundException ignored -> Status.FAILED_PRECONDITION.withDescription("Child branches found for given SWIFT code");
+            case InvalidPageTokenException ignored -> Status.INVALID_ARGUMENT.withDescription("Invalid page token");
+            case DataAccessResourceFailureException failure when isPoolWaitTimeout(failure) -> Status.UNAVAILABLE.withDescription("Service is overloaded, try again later");
+            case DataAccessResourceFailureException ignored -> Status.UNAVAILABLE.withDescription("Database unavailable");
+            case SnapshotUnsupportedOperationException ignored -> Status.UNIMPLEMENTED.withDescription("Not supported by the read-only snapshot");
+            case ConstraintViolationException violations -> Status.INVALID_ARGUMENT.withDescription("Validation Error: " + violations.getMessage());
+            default -> {
+                log.error("gRPC call failed", e);
+                yield Status.INTERNAL.withDescription("Internal server error");
+            }
+        };
+        
+        return status.asRuntimeException();
+    }
+}
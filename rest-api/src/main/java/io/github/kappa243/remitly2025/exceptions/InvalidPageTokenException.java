@@ -0,0 +1,4 @@
+package io.github.kappa243.remitly2025.exceptions;
+
+public class InvalidPageTokenException extends Exception {
+}
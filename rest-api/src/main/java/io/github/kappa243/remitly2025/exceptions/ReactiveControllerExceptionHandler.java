@@ -0,0 +1,133 @@
+package io.github.kappa243.remitly2025.exceptions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.github.kappa243.remitly2025.exceptions.ControllerExceptionHandler.countError;
+import static io.github.kappa243.remitly2025.exceptions.ControllerExceptionHandler.isPoolWaitTimeout;
+
+// same responses as ControllerExceptionHandler for the WebFlux controller
+@ControllerAdvice
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveControllerExceptionHandler extends ResponseEntityExceptionHandler {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @ExceptionHandler(SwiftCodeNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<String> handleBankNotFound(SwiftCodeNotFoundException e) {
+        countError(meterRegistry, e);
+        return new ResponseEntity<>("SWIFT code not found", HttpStatus.NOT_FOUND);
+    }
+    
+    @ExceptionHandler(SwiftCodeAlreadyExistsException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<String> handleBankAlreadyExists(SwiftCodeAlreadyExistsException e) {
+        countError(meterRegistry, e);
+        return new ResponseEntity<>("SWIFT code already exists", HttpStatus.CONFLICT);
+    }
+    
+    @ExceptionHandler(HeadSwiftCodeNotFoundException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<String> handleHeadBankNotFound(HeadSwiftCodeNotFoundException e) {
+        countError(meterRegistry, e);
+        return new ResponseEntity<>("Headquarter SWIFT code does not exists.", HttpStatus.CONFLICT);
+    }
+    
+    @ExceptionHandler(CountryNotExistsException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<String> handleCountryNotExists(CountryNotExistsException e) {
+        countError(meterRegistry, e);
+        return new ResponseEntity<>("Country does not exists", HttpStatus.NOT_FOUND);
+    }
+    
+    @ExceptionHandler(ChildSwiftCodesFoundException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<String> handleChildBranchesFound(ChildSwiftCodesFoundException e) {
+        countError(meterRegistry, e);
+        return new ResponseEntity<>("Child branches found for given SWIFT code", HttpStatus.CONFLICT);
+    }
+    
+    @ExceptionHandler(InvalidPageTokenException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<String> handleInvalidPageToken(InvalidPageTokenException e) {
+        countError(meterRegistry, e);
+        return new ResponseEntity<>("Invalid page token", HttpStatus.BAD_REQUEST);
+    }
+    
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handleDataAccessResourceFailure(DataAccessResourceFailureException e) {
+        countError(meterRegistry, e);
+        
+        if (isPoolWaitTimeout(e)) {
+            return new ResponseEntity<>("Service is overloaded, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        
+        return new ResponseEntity<>("Database unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    ResponseEntity<String> handleConstraintViolationException(ConstraintViolationException e) {
+        countError(meterRegistry, e);
+        return new ResponseEntity<>("Validation Error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+    
+    @Override
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException ex, HttpHeaders headers, HttpStatusCode status, ServerWebExchange exchange) {
+        countError(meterRegistry, ex);
+        
+        List<String> errors = Stream.concat(
+            ex.getFieldErrors().stream()
+                .map(err -> err.getField() + ": " + err.getDefaultMessage()),
+            ex.getGlobalErrors().stream()
+                .map(err -> err.getObjectName() + ": " + err.getDefaultMessage())
+        ).collect(Collectors.toList());
+        
+        return Mono.just(new ResponseEntity<>("Validation Error: " + String.join(", ", errors), HttpStatus.BAD_REQUEST));
+    }
+    
+    // constraints of path variables and request parameters, validated by WebFlux without a @Validated proxy
+    @Override
+    protected Mono<ResponseEntity<Object>> handleHandlerMethodValidationException(HandlerMethodValidationException ex, HttpHeaders headers, HttpStatusCode status, ServerWebExchange exchange) {
+        countError(meterRegistry, ex);
+        
+        List<String> errors = ex.getAllValidationResults().stream()
+            .flatMap(result -> result.getResolvableErrors().stream()
+                .map(err -> result.getMethodParameter().getParameterName() + ": " + err.getDefaultMessage()))
+            .toList();
+        
+        return Mono.just(new ResponseEntity<>("Validation Error: " + String.join(", ", errors), HttpStatus.BAD_REQUEST));
+    }
+    
+    // other exceptions handled by the base class
+    @Override
+    protected Mono<ResponseEntity<Object>> handleExceptionInternal(Exception ex, @Nullable Object body, @Nullable HttpHeaders headers, HttpStatusCode status, ServerWebExchange exchange) {
+        countError(meterRegistry, ex);
+        return super.handleExceptionInternal(ex, body, headers, status, exchange);
+    }
+    
+}
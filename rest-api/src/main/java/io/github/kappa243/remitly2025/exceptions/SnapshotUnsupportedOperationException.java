@@ -0,0 +1,5 @@
+package io.github.kappa243.remitly2025.exceptions;
+
+// read replicas serving a snapshot have no database to write to or search index to search
+public class SnapshotUnsupportedOperationException extends RuntimeException {
+}
@@ -28,4 +28,18 @@ public class CountryItem {
     @Uppercase
     private String countryName;
     
+    // changed by every SWIFT code added to or deleted from the country
+    @EqualsAndHashCode.Exclude
+    private Long swiftCodesVersion;
+    
+    public CountryItem(String countryISO2, String countryName) {
+        this.countryISO2 = countryISO2;
+        this.countryName = countryName;
+    }
+    
+    // countries stored before versioning have no version
+    public long getSwiftCodesVersion() {
+        return swiftCodesVersion != null ? swiftCodesVersion : 0;
+    }
+    
 }
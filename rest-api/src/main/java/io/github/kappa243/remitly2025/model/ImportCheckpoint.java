@@ -0,0 +1,30 @@
+package io.github.kappa243.remitly2025.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "importcheckpoints")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ImportCheckpoint {
+    
+    // name of the imported file
+    @Id
+    private String source;
+    
+    // every record emitted up to this input row is stored
+    private long committedRow;
+    
+    private boolean completed;
+    
+    private Instant updatedAt;
+    
+}
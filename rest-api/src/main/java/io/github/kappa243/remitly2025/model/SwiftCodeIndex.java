@@ -0,0 +1,197 @@
+package io.github.kappa243.remitly2025.model;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Hash map from {@link SwiftCodeKey} keys to values, without {@code String} keys or entry objects.
+ * <p>
+ * Keys and values are stored in two parallel arrays with open addressing and linear probing, so an entry takes a
+ * {@code long} and a reference slot instead of a key string and a map node. Removal shifts the following entries of
+ * the probe sequence back instead of leaving tombstones. Not thread safe.
+ */
+public class SwiftCodeIndex<V> {
+    
+    // encoded keys are never negative
+    private static final long EMPTY = -1;
+    
+    private static final int MIN_CAPACITY = 4;
+    
+    private long[] keys;
+    
+    private Object[] values;
+    
+    private int shift;
+    
+    private int size = 0;
+    
+    public SwiftCodeIndex() {
+        this(0);
+    }
+    
+    public SwiftCodeIndex(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        
+        while (capacity * 3L / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        
+        allocate(capacity);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public boolean containsKey(long key) {
+        return keys[find(key)] != EMPTY;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        return (V) values[find(key)];
+    }
+    
+    /**
+     * Adds a key without a value, e.g. to use the index as a set.
+     *
+     * @return true if the key was not present
+     */
+    public boolean add(long key) {
+        int slot = find(key);
+        
+        if (keys[slot] != EMPTY) {
+            return false;
+        }
+        
+        insert(slot, key, null);
+        return true;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int slot = find(key);
+        
+        if (keys[slot] != EMPTY) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        
+        insert(slot, key, value);
+        return null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<V> mappingFunction) {
+        int slot = find(key);
+        
+        if (keys[slot] != EMPTY) {
+            return (V) values[slot];
+        }
+        
+        V value = mappingFunction.apply(key);
+        insert(slot, key, value);
+        return value;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = find(key);
+        
+        if (keys[slot] == EMPTY) {
+            return null;
+        }
+        
+        V removed = (V) values[slot];
+        size--;
+        
+        // entries after the gap that could have been placed in it are moved back, so lookups never stop early
+        int mask = keys.length - 1;
+        int gap = slot;
+        
+        for (int i = (slot + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            int home = slot(keys[i]);
+            
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        
+        return removed;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+    
+    // slot of the key or of the empty slot where it would be inserted
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key);
+        
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        
+        return slot;
+    }
+    
+    private int slot(long key) {
+        // Fibonacci hashing spreads consecutive keys, e.g. the branches of one bank, over the whole table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+    
+    private void insert(int slot, long key, V value) {
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        
+        // at most 3/4 of the slots are taken, so probe sequences stay short
+        if (size > keys.length * 3L / 4) {
+            resize();
+        }
+    }
+    
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        
+        allocate(oldKeys.length << 1);
+        
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+        Arrays.fill(keys, EMPTY);
+    }
+    
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        
+        void accept(long key, V value);
+    }
+}
@@ -12,12 +12,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Document(collection = "swiftcodes")
 @Getter
@@ -43,15 +44,20 @@ public class SwiftCodeItem {
     @JsonProperty("isHeadquarter")
     private boolean headquarter;
     
-    @DBRef
-    @Indexed
+    // country is embedded, so country code and name are read without a countries lookup
     @NotEmpty
     private CountryItem countryISO2;
     
-    @DBRef
+    // branches are embedded, so a headquarter is read with a single query
     @Setter
     private List<SwiftCodeItem> branches;
     
+    // changed by every write of the document, including branches added to or removed from a headquarter;
+    // a document is deleted only in the version it was read in, so branches added in the meantime are not lost
+    @Setter
+    @EqualsAndHashCode.Exclude
+    private Long version;
+    
     public SwiftCodeItem(String swiftCode, String bankName, String address, boolean headquarter, CountryItem countryISO2) {
         this.swiftCode = swiftCode;
         this.bankName = bankName;
@@ -59,4 +65,25 @@ public class SwiftCodeItem {
         this.headquarter = headquarter;
         this.countryISO2 = countryISO2;
     }
+    
+    public SwiftCodeItem(String swiftCode, String bankName, String address, boolean headquarter, CountryItem countryISO2, List<SwiftCodeItem> branches) {
+        this(swiftCode, bankName, address, headquarter, countryISO2);
+        this.branches = branches;
+    }
+    
+    // documents stored before versioning have no version
+    public long getVersion() {
+        return version != null ? version : 0;
+    }
+    
+    // codes of a country ordered by code, used by country listings and their pagination; annotation based index
+    // creation is disabled, so it is ensured on startup and by the country migration
+    public static Index countrySwiftCodeIndex() {
+        return new Index().on("countryISO2._id", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("countryISO2_id_swiftCode_");
+    }
+    
+    // a re-created code does not continue from the version of the deleted one, so its old ETags do not match again
+    public static long initialVersion() {
+        return ThreadLocalRandom.current().nextLong(Long.MAX_VALUE / 2);
+    }
 }
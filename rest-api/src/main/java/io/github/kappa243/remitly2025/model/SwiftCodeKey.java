@@ -0,0 +1,130 @@
+package io.github.kappa243.remitly2025.model;
+
+/**
+ * 11 character SWIFT code packed into a {@code long} as a base 36 number.
+ * <p>
+ * Digits come before letters like in ASCII, so keys are ordered like the codes they encode. The bank, country and
+ * location part (first 8 characters) and the branch code (last 3 characters) are separated by dividing by
+ * {@code 36^3}, so headquarter and prefix lookups need no substrings. Keys are never negative.
+ */
+public final class SwiftCodeKey {
+    
+    public static final int LENGTH = 11;
+    
+    private static final int RADIX = 36;
+    
+    // POWERS[n] = 36^n
+    private static final long[] POWERS = new long[LENGTH + 1];
+    
+    static {
+        POWERS[0] = 1;
+        for (int i = 1; i <= LENGTH; i++) {
+            POWERS[i] = POWERS[i - 1] * RADIX;
+        }
+    }
+    
+    private static final long BRANCH_CODES = POWERS[3];
+    
+    private static final long HEADQUARTER_BRANCH_CODE = encodePrefix("XXX");
+    
+    private SwiftCodeKey() {
+    }
+    
+    public static boolean isValid(String swiftCode) {
+        if (swiftCode == null || swiftCode.length() != LENGTH) {
+            return false;
+        }
+        
+        for (int i = 0; i < LENGTH; i++) {
+            if (digit(swiftCode.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    public static long encode(String swiftCode) {
+        if (swiftCode == null || swiftCode.length() != LENGTH) {
+            throw new IllegalArgumentException("Invalid SWIFT code: " + swiftCode);
+        }
+        
+        return encodePrefix(swiftCode);
+    }
+    
+    /**
+     * Encodes the first up to 11 characters of a SWIFT code, comparable with {@link #prefix(long, int)} of a key.
+     */
+    public static long encodePrefix(String prefix) {
+        if (prefix.length() > LENGTH) {
+            throw new IllegalArgumentException("Invalid SWIFT code prefix: " + prefix);
+        }
+        
+        long key = 0;
+        
+        for (int i = 0; i < prefix.length(); i++) {
+            int digit = digit(prefix.charAt(i));
+            
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid SWIFT code prefix: " + prefix);
+            }
+            
+            key = key * RADIX + digit;
+        }
+        
+        return key;
+    }
+    
+    public static String decode(long key) {
+        if (key < 0 || key >= POWERS[LENGTH]) {
+            throw new IllegalArgumentException("Invalid SWIFT code key: " + key);
+        }
+        
+        char[] swiftCode = new char[LENGTH];
+        
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            int digit = (int) (key % RADIX);
+            swiftCode[i] = (char) (digit < 10 ? '0' + digit : 'A' + digit - 10);
+            key /= RADIX;
+        }
+        
+        return new String(swiftCode);
+    }
+    
+    public static boolean isHeadquarter(long key) {
+        return key % BRANCH_CODES == HEADQUARTER_BRANCH_CODE;
+    }
+    
+    /**
+     * Key of the headquarter ({@code XXX} branch code) of the same bank and location.
+     */
+    public static long headquarter(long key) {
+        return key - key % BRANCH_CODES + HEADQUARTER_BRANCH_CODE;
+    }
+    
+    /**
+     * First {@code length} characters of the encoded code, e.g. 8 for the bank, country and location part.
+     */
+    public static long prefix(long key, int length) {
+        return key / POWERS[LENGTH - length];
+    }
+    
+    /**
+     * Smallest key starting with the encoded prefix, keys with the prefix are below {@code firstWithPrefix(prefix + 1, length)}.
+     */
+    public static long firstWithPrefix(long prefix, int length) {
+        return prefix * POWERS[LENGTH - length];
+    }
+    
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        
+        return -1;
+    }
+}
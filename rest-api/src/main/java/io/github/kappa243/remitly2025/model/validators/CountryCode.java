@@ -2,16 +2,13 @@ package io.github.kappa243.remitly2025.model.validators;
 
 import jakarta.validation.Constraint;
 import jakarta.validation.Payload;
-import jakarta.validation.constraints.Size;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-@Size(min = 2, max = 2, message = "Invalid code length. Country code must be 2 characters long")
-@Uppercase
-@Constraint(validatedBy = {})
+@Constraint(validatedBy = CountryCodeValidator.class)
 @Target({ElementType.FIELD, ElementType.PARAMETER})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface CountryCode {
@@ -20,4 +17,4 @@ public @interface CountryCode {
     Class<?>[] groups() default {};
     
     Class<? extends Payload>[] payload() default {};
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package io.github.kappa243.remitly2025.model.validators;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import static io.github.kappa243.remitly2025.model.validators.SwiftCodeValidator.addViolation;
+
+// same messages as the former @Size and @Uppercase constraints, both are reported when both fail
+public class CountryCodeValidator implements ConstraintValidator<CountryCode, String> {
+    
+    static final String INVALID_LENGTH = "Invalid code length. Country code must be 2 characters long";
+    
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        if (value == null)
+            return true;
+        
+        boolean valid = true;
+        
+        if (value.length() != 2) {
+            addViolation(context, INVALID_LENGTH);
+            valid = false;
+        }
+        
+        if (!UppercaseValidator.isUppercase(value)) {
+            addViolation(context, UppercaseValidator.NOT_UPPERCASE);
+            valid = false;
+        }
+        
+        return valid;
+    }
+}
@@ -12,6 +12,10 @@ public class HeadquarterMatchValidator implements ConstraintValidator<Headquarte
     
     @Override
     public boolean isValid(SwiftCodeRequest value, ConstraintValidatorContext context) {
+        // missing SWIFT code is reported by its own constraints
+        if (value.getSwiftCode() == null)
+            return true;
+        
         return value.isHeadquarter() == value.getSwiftCode().startsWith("XXX", 8);
     }
 }
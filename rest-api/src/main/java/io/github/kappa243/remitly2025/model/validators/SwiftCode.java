@@ -2,18 +2,14 @@ package io.github.kappa243.remitly2025.model.validators;
 
 import jakarta.validation.Constraint;
 import jakarta.validation.Payload;
-import jakarta.validation.constraints.Pattern;
-import jakarta.validation.constraints.Size;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-@Size(min = 11, max = 11, message = "Invalid code length. SWIFT code must be 11 characters long")
-@Pattern(regexp = "^[A-Z]{6}[A-Z0-9]{2}[A-Z0-9]{3}$", message = "Invalid SWIFT code pattern")
-@Constraint(validatedBy = {})
-@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Constraint(validatedBy = SwiftCodeValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE_USE})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface SwiftCode {
     String message() default "invalid SWIFT code";
@@ -21,4 +17,4 @@ public @interface SwiftCode {
     Class<?>[] groups() default {};
     
     Class<? extends Payload>[] payload() default {};
-}
\ No newline at end of file
+}
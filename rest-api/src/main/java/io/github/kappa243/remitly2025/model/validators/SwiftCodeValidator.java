@@ -0,0 +1,96 @@
+package io.github.kappa243.remitly2025.model.validators;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.Locale;
+
+/**
+ * Checks the length and characters of a SWIFT code in place: a 4 letter bank code, a 2 letter ISO 3166 country code,
+ * a 2 character location code and a 3 character branch code.
+ * <p>
+ * Reports the same messages as the former {@code @Size} and {@code @Pattern} constraints, both for a code of wrong
+ * length, and an unknown country code only for a code matching the pattern.
+ */
+public class SwiftCodeValidator implements ConstraintValidator<SwiftCode, String> {
+    
+    static final String INVALID_LENGTH = "Invalid code length. SWIFT code must be 11 characters long";
+    
+    static final String INVALID_PATTERN = "Invalid SWIFT code pattern";
+    
+    static final String UNKNOWN_COUNTRY = "Invalid SWIFT code country. Characters 5-6 must be an ISO 3166 country code";
+    
+    private static final int LENGTH = 11;
+    
+    // indexed by both letters of a country code, 'AA' is 0
+    private static final boolean[] COUNTRY_CODES = new boolean[26 * 26];
+    
+    static {
+        for (String countryCode : Locale.getISOCountries()) {
+            COUNTRY_CODES[countryCodeIndex(countryCode.charAt(0), countryCode.charAt(1))] = true;
+        }
+        
+        // Kosovo is not assigned in ISO 3166 yet, but is used by SWIFT
+        COUNTRY_CODES[countryCodeIndex('X', 'K')] = true;
+    }
+    
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        if (value == null)
+            return true;
+        
+        if (value.length() != LENGTH) {
+            addViolation(context, INVALID_LENGTH);
+            addViolation(context, INVALID_PATTERN);
+            return false;
+        }
+        
+        if (!matchesPattern(value)) {
+            addViolation(context, INVALID_PATTERN);
+            return false;
+        }
+        
+        if (!COUNTRY_CODES[countryCodeIndex(value.charAt(4), value.charAt(5))]) {
+            addViolation(context, UNKNOWN_COUNTRY);
+            return false;
+        }
+        
+        return true;
+    }
+    
+    // length and pattern only, without the country check, for codes that are not validated as constraints
+    public static boolean isWellFormed(String value) {
+        return value.length() == LENGTH && matchesPattern(value);
+    }
+    
+    // same as ^[A-Z]{6}[A-Z0-9]{2}[A-Z0-9]{3}$ for a code of valid length
+    private static boolean matchesPattern(String value) {
+        for (int i = 0; i < 6; i++) {
+            if (!isLetter(value.charAt(i)))
+                return false;
+        }
+        
+        for (int i = 6; i < LENGTH; i++) {
+            char c = value.charAt(i);
+            
+            if (!isLetter(c) && (c < '0' || c > '9'))
+                return false;
+        }
+        
+        return true;
+    }
+    
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+    
+    private static int countryCodeIndex(char first, char second) {
+        return (first - 'A') * 26 + (second - 'A');
+    }
+    
+    // violations are built only for invalid values, valid values are checked without allocations
+    static void addViolation(ConstraintValidatorContext context, String message) {
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message).addConstraintViolation();
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.ConstraintValidatorContext;
 
 public class UppercaseValidator implements ConstraintValidator<Uppercase, String> {
     
+    static final String NOT_UPPERCASE = "must be uppercase";
     
     @Override
     public void initialize(Uppercase constraintAnnotation) {
@@ -16,6 +17,22 @@ public class UppercaseValidator implements ConstraintValidator<Uppercase, String
         if (value == null)
             return true;
         
-        return value.equals(value.toUpperCase());
+        return isUppercase(value);
+    }
+    
+    // ASCII strings are checked in place instead of being compared with an uppercased copy
+    static boolean isUppercase(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            
+            // special and locale dependent case mappings are left to String.toUpperCase
+            if (c >= 0x80)
+                return value.equals(value.toUpperCase());
+            
+            if (c >= 'a' && c <= 'z')
+                return false;
+        }
+        
+        return true;
     }
 }
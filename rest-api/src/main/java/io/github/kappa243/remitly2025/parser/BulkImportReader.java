@@ -0,0 +1,37 @@
+package io.github.kappa243.remitly2025.parser;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeRequest;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
+
+@Component
+@RequiredArgsConstructor
+public class BulkImportReader {
+    
+    private final ObjectMapper objectMapper;
+    
+    private final CSVParser csvParser;
+    
+    private final Validator validator;
+    
+    // one SwiftCodeRequest JSON object per line
+    public BulkImportRowIterator<?> readNdjson(InputStream inputStream) throws IOException {
+        MappingIterator<SwiftCodeRequest> entries = objectMapper
+            .readerFor(SwiftCodeRequest.class)
+            .readValues(inputStream);
+        
+        return new BulkImportRowIterator<>(entries, Function.identity(), validator);
+    }
+    
+    // same columns as the bundled swift_codes.csv
+    public BulkImportRowIterator<?> readCsv(InputStream inputStream) throws IOException {
+        return new BulkImportRowIterator<>(csvParser.readEntries(inputStream), csvParser::mapRequest, validator);
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.kappa243.remitly2025.parser;
+
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BulkImportRow {
+    
+    private final long row;
+    
+    private final String swiftCode;
+    
+    // null when the row failed parsing or validation
+    private final SwiftCodeItem swiftCodeItem;
+    
+    private final String error;
+    
+    public static BulkImportRow valid(long row, SwiftCodeItem swiftCodeItem) {
+        return new BulkImportRow(row, swiftCodeItem.getSwiftCode(), swiftCodeItem, null);
+    }
+    
+    public static BulkImportRow invalid(long row, String swiftCode, String error) {
+        return new BulkImportRow(row, swiftCode, null, error);
+    }
+    
+    public boolean isValid() {
+        return error == null;
+    }
+}
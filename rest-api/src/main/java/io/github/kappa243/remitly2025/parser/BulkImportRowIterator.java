@@ -0,0 +1,108 @@
+package io.github.kappa243.remitly2025.parser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads, maps and validates one row at a time, so a bulk payload is never fully loaded into memory.
+ */
+public class BulkImportRowIterator<T> implements Iterator<BulkImportRow>, Closeable {
+    
+    private final MappingIterator<T> entries;
+    
+    private final Function<T, SwiftCodeRequest> mapper;
+    
+    private final Validator validator;
+    
+    private long row = 0;
+    
+    private BulkImportRow nextRow;
+    
+    private boolean finished = false;
+    
+    BulkImportRowIterator(MappingIterator<T> entries, Function<T, SwiftCodeRequest> mapper, Validator validator) {
+        this.entries = entries;
+        this.mapper = mapper;
+        this.validator = validator;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && !finished) {
+            nextRow = readRow();
+        }
+        
+        return nextRow != null;
+    }
+    
+    @Override
+    public BulkImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        
+        BulkImportRow row = nextRow;
+        nextRow = null;
+        
+        return row;
+    }
+    
+    private BulkImportRow readRow() {
+        row++;
+        
+        try {
+            if (!entries.hasNextValue()) {
+                finished = true;
+                return null;
+            }
+            
+            return validate(mapper.apply(entries.nextValue()));
+        } catch (StreamReadException e) {
+            // malformed input, the rest of the payload can not be read reliably
+            finished = true;
+            return BulkImportRow.invalid(row, null, "Malformed row: " + e.getOriginalMessage());
+        } catch (JsonProcessingException e) {
+            return BulkImportRow.invalid(row, null, "Invalid row: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            finished = true;
+            return BulkImportRow.invalid(row, null, "Could not read row: " + e.getMessage());
+        }
+    }
+    
+    private BulkImportRow validate(SwiftCodeRequest request) {
+        Set<ConstraintViolation<SwiftCodeRequest>> violations = validator.validate(request);
+        
+        if (violations.isEmpty()) {
+            return BulkImportRow.valid(row, request.toSwiftCodeItem());
+        }
+        
+        // same format as validation errors of single SWIFT code requests
+        String errors = violations.stream()
+            .map(violation -> {
+                String path = violation.getPropertyPath().toString();
+                return (path.isEmpty() ? "swiftCodeRequest" : path) + ": " + violation.getMessage();
+            })
+            .sorted(Comparator.naturalOrder())
+            .collect(Collectors.joining(", "));
+        
+        return BulkImportRow.invalid(row, request.getSwiftCode(), "Validation Error: " + errors);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        entries.close();
+    }
+}
@@ -3,27 +3,37 @@ package io.github.kappa243.remitly2025.parser;
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeRequest;
 import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeIndex;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeKey;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
 public class CSVParser {
     
+    @Value("${swift-codes.parser.max-pending-branches:100000}")
+    private int maxPendingBranches = 100_000;
+    
     private Pair<CountryItem, SwiftCodeItem> mapEntry(BankCSVEntry entry) {
         CountryItem countryItem = CountryItem.builder()
             .countryISO2(entry.getCountryISO2())
@@ -40,69 +50,168 @@ public class CSVParser {
         return Pair.of(countryItem, swiftCodeItem);
     }
     
-    public Pair<Set<CountryItem>, Set<SwiftCodeItem>> parseCSV() throws IOException {
-        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
-        Resource csvResource = resolver.getResource("swift_codes.csv");
-        
-        Set<CountryItem> countries = new HashSet<>();
-        Set<SwiftCodeItem> swiftCodes = new HashSet<>();
-        
-        Map<String, SwiftCodeItem> headSwiftCodes = new HashMap<>();
-        
+    public SwiftCodeRequest mapRequest(BankCSVEntry entry) {
+        return SwiftCodeRequest.builder()
+            .swiftCode(entry.getSwiftCode())
+            .bankName(normalize(entry.getBankName()))
+            .address(normalize(entry.getAddress()))
+            .headquarter(entry.getSwiftCode() != null && entry.getSwiftCode().endsWith("XXX"))
+            .countryISO2(entry.getCountryISO2())
+            .countryName(entry.getCountryName())
+            .build();
+    }
+    
+    private String normalize(String value) {
+        return value == null ? null : value.trim().toUpperCase();
+    }
+    
+    public MappingIterator<BankCSVEntry> readEntries(InputStream inputStream) throws IOException {
         CsvMapper mapper = new CsvMapper();
         CsvSchema schema = mapper
             .schemaFor(BankCSVEntry.class)
             .withHeader()
             .withColumnReordering(true);
         
-        try (MappingIterator<BankCSVEntry> iter = new CsvMapper()
+        return mapper
             .readerFor(BankCSVEntry.class)
             .with(schema)
-            .readValues(csvResource.getInputStream())) {
-            
-            Map<Boolean, List<BankCSVEntry>> partitioned = iter.readAll().stream()
-                .collect(Collectors.partitioningBy(entry -> entry.getSwiftCode().endsWith("XXX")));
+            .readValues(inputStream);
+    }
+    
+    public Pair<Set<CountryItem>, Set<SwiftCodeItem>> parseCSV() throws IOException {
+        Set<CountryItem> countries = new HashSet<>();
+        List<SwiftCodeItem> swiftCodes = new ArrayList<>();
+        
+        SwiftCodeIndex<SwiftCodeItem> headSwiftCodes = new SwiftCodeIndex<>();
+        
+        parseCSV(record -> {
+            SwiftCodeItem swiftCodeItem = record.getSwiftCode();
+            long swiftCodeKey = SwiftCodeKey.encode(swiftCodeItem.getSwiftCode());
             
-            List<BankCSVEntry> headEntries = partitioned.get(true);
-            List<BankCSVEntry> branchEntries = partitioned.get(false);
+            if (swiftCodeItem.isHeadquarter()) {
+                headSwiftCodes.put(swiftCodeKey, swiftCodeItem);
+            } else {
+                headSwiftCodes.get(SwiftCodeKey.headquarter(swiftCodeKey)).getBranches().add(swiftCodeItem);
+            }
             
-            headEntries.forEach(entry -> {
-                var mapped = mapEntry(entry);
-                
-                SwiftCodeItem swiftCodeItem = mapped.getSecond().toBuilder()
-                    .headquarter(true)
-                    .branches(new ArrayList<>())
-                    .build();
+            countries.add(record.getCountry());
+            swiftCodes.add(swiftCodeItem);
+        });
+        
+        // headquarters are hashed only after all of their branches were attached
+        return Pair.of(countries, new HashSet<>(swiftCodes));
+    }
+    
+    public void parseCSV(Consumer<SwiftCodeRecord> sink) throws IOException {
+        parseCSV(getBundledCSV().getInputStream(), sink);
+    }
+    
+    public Resource getBundledCSV() {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        return resolver.getResource("swift_codes.csv");
+    }
+    
+    /**
+     * Emits records one at a time in input order, every headquarter before its branches.
+     * <p>
+     * Branches read before their headquarter wait in a pending buffer limited by {@code swift-codes.parser.max-pending-branches}.
+     * When the buffer is full, the oldest pending branches are skipped, as are branches whose headquarter never appears
+     * and rows whose SWIFT code is not 11 uppercase letters and digits.
+     */
+    public void parseCSV(InputStream inputStream, Consumer<SwiftCodeRecord> sink) throws IOException {
+        // headquarters are kept as encoded keys, so the whole file can be checked without holding its codes as strings
+        SwiftCodeIndex<Void> headSwiftCodes = new SwiftCodeIndex<>();
+        PendingBranches pendingBranches = new PendingBranches(maxPendingBranches);
+        
+        long row = 0;
+        
+        try (MappingIterator<BankCSVEntry> iter = readEntries(inputStream)) {
+            while (iter.hasNextValue()) {
+                BankCSVEntry entry = iter.nextValue();
+                row++;
                 
-                String swiftInit = entry.getSwiftCode().substring(0, 8);
+                if (!SwiftCodeKey.isValid(entry.getSwiftCode())) {
+                    log.warn("Detected invalid SWIFT code: {}  Skipping.", entry.getSwiftCode());
+                    continue;
+                }
                 
-                countries.add(mapped.getFirst());
-                swiftCodes.add(swiftCodeItem);
-                headSwiftCodes.put(swiftInit, swiftCodeItem);
-            });
-            
-            branchEntries.forEach(entry -> {
                 var mapped = mapEntry(entry);
+                long swiftCodeKey = SwiftCodeKey.encode(entry.getSwiftCode());
+                long headSwiftCodeKey = SwiftCodeKey.headquarter(swiftCodeKey);
                 
-                SwiftCodeItem swiftCodeItem = mapped.getSecond().toBuilder()
-                    .headquarter(false)
-                    .build();
-                
-                String swiftInit = entry.getSwiftCode().substring(0, 8);
-                SwiftCodeItem headBank = headSwiftCodes.get(swiftInit);
-                
-                if (headBank == null) {
-                    log.warn("Detected branch without head SWIFT code: {}", entry.getSwiftCode() + "  Skipping.");
-                    return;
+                if (SwiftCodeKey.isHeadquarter(swiftCodeKey)) {
+                    SwiftCodeItem swiftCodeItem = mapped.getSecond().toBuilder()
+                        .headquarter(true)
+                        .branches(new ArrayList<>())
+                        .build();
+                    
+                    headSwiftCodes.add(swiftCodeKey);
+                    sink.accept(new SwiftCodeRecord(row, mapped.getFirst(), swiftCodeItem));
+                    
+                    for (SwiftCodeRecord branch : pendingBranches.remove(headSwiftCodeKey)) {
+                        sink.accept(new SwiftCodeRecord(row, branch.getCountry(), branch.getSwiftCode()));
+                    }
                 } else {
-                    headBank.getBranches().add(swiftCodeItem);
+                    SwiftCodeItem swiftCodeItem = mapped.getSecond().toBuilder()
+                        .headquarter(false)
+                        .build();
+                    
+                    SwiftCodeRecord record = new SwiftCodeRecord(row, mapped.getFirst(), swiftCodeItem);
+                    
+                    if (headSwiftCodes.containsKey(headSwiftCodeKey)) {
+                        sink.accept(record);
+                    } else {
+                        pendingBranches.add(headSwiftCodeKey, record);
+                    }
                 }
+            }
+        }
+        
+        pendingBranches.forEach(record ->
+            log.warn("Detected branch without head SWIFT code: {}", record.getSwiftCode().getSwiftCode() + "  Skipping."));
+    }
+    
+    private static class PendingBranches {
+        
+        private final int capacity;
+        
+        // insertion ordered, so the oldest waiting branches are dropped first
+        private final Map<Long, List<SwiftCodeRecord>> branches = new LinkedHashMap<>();
+        
+        private int size = 0;
+        
+        PendingBranches(int capacity) {
+            this.capacity = capacity;
+        }
+        
+        void add(long headSwiftCodeKey, SwiftCodeRecord record) {
+            branches.computeIfAbsent(headSwiftCodeKey, key -> new ArrayList<>()).add(record);
+            size++;
+            
+            while (size > capacity) {
+                Iterator<List<SwiftCodeRecord>> oldest = branches.values().iterator();
+                List<SwiftCodeRecord> dropped = oldest.next();
+                oldest.remove();
+                size -= dropped.size();
                 
-                countries.add(mapped.getFirst());
-                swiftCodes.add(swiftCodeItem);
-            });
+                dropped.forEach(branch ->
+                    log.warn("Pending branches limit ({}) reached, skipping branch without head SWIFT code: {}", capacity, branch.getSwiftCode().getSwiftCode()));
+            }
+        }
+        
+        List<SwiftCodeRecord> remove(long headSwiftCodeKey) {
+            List<SwiftCodeRecord> removed = branches.remove(headSwiftCodeKey);
+            
+            if (removed == null) {
+                return Collections.emptyList();
+            }
+            
+            size -= removed.size();
+            return removed;
         }
         
-        return Pair.of(countries, swiftCodes);
+        void forEach(Consumer<SwiftCodeRecord> consumer) {
+            branches.values().forEach(records -> records.forEach(consumer));
+        }
     }
 }
@@ -0,0 +1,18 @@
+package io.github.kappa243.remitly2025.parser;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SwiftCodeRecord {
+    
+    // input row at which the record was emitted; later than its own row for branches read before their headquarter
+    private final long row;
+    
+    private final CountryItem country;
+    
+    private final SwiftCodeItem swiftCode;
+}
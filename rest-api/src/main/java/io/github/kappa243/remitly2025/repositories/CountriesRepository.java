@@ -2,6 +2,13 @@ package io.github.kappa243.remitly2025.repositories;
 
 import io.github.kappa243.remitly2025.model.CountryItem;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Optional;
 
 public interface CountriesRepository extends MongoRepository<CountryItem, String> {
+    
+    // conditional requests compare only the version
+    @Query(fields = "{ 'swiftCodesVersion': 1 }")
+    Optional<CountryItem> findSwiftCodesVersionByCountryISO2(String countryISO2);
 }
@@ -0,0 +1,7 @@
+package io.github.kappa243.remitly2025.repositories;
+
+import io.github.kappa243.remitly2025.model.ImportCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ImportCheckpointsRepository extends MongoRepository<ImportCheckpoint, String> {
+}
@@ -0,0 +1,12 @@
+package io.github.kappa243.remitly2025.repositories;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCountriesRepository extends ReactiveMongoRepository<CountryItem, String> {
+    
+    @Query(fields = "{ 'swiftCodesVersion': 1 }")
+    Mono<CountryItem> findSwiftCodesVersionByCountryISO2(String countryISO2);
+}
@@ -0,0 +1,33 @@
+package io.github.kappa243.remitly2025.repositories;
+
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+import static io.github.kappa243.remitly2025.repositories.SwiftCodesRepository.WITHOUT_BRANCHES;
+
+public interface ReactiveSwiftCodesRepository extends ReactiveMongoRepository<SwiftCodeItem, String> {
+    
+    Flux<SwiftCodeItem> findAllBySwiftCodeIn(Collection<String> swiftCodes);
+    
+    @Query(fields = "{ 'version': 1 }")
+    Mono<SwiftCodeItem> findVersionBySwiftCode(String swiftCode);
+    
+    @Query(fields = WITHOUT_BRANCHES)
+    Flux<SwiftCodeItem> findAllByCountryISO2_CountryISO2OrderBySwiftCodeAsc(String countryISO2);
+    
+    @Query(fields = WITHOUT_BRANCHES)
+    Flux<SwiftCodeItem> findAllByCountryISO2_CountryISO2AndSwiftCodeGreaterThanOrderBySwiftCodeAsc(String countryISO2, String swiftCode, Limit limit);
+    
+    @Query(fields = WITHOUT_BRANCHES)
+    Flux<SwiftCodeItem> findAllBySwiftCodeGreaterThanOrderBySwiftCodeAsc(String swiftCode, Limit limit);
+    
+    @Query(fields = WITHOUT_BRANCHES)
+    Flux<SwiftCodeItem> findAllBySwiftCodeBetweenOrderBySwiftCodeAsc(Range<String> swiftCodes, Limit limit);
+}
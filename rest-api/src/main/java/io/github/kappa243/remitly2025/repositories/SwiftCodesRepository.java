@@ -1,17 +1,39 @@
 package io.github.kappa243.remitly2025.repositories;
 
-import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
-import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
-import io.github.kappa243.remitly2025.model.CountryItem;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Range;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface SwiftCodesRepository extends MongoRepository<SwiftCodeItem, String> {
     
-    Optional<SwiftCodeResponse> findBySwiftCode(String swiftCode);
+    // listings return reduced responses, so embedded branches are not read
+    String WITHOUT_BRANCHES = "{ 'branches': 0 }";
     
-    List<ReducedSwiftCodeResponse> findAllByCountryISO2(CountryItem countryISO2);
+    List<SwiftCodeItem> findAllBySwiftCodeIn(Collection<String> swiftCodes);
+    
+    // conditional requests compare only the version
+    @Query(fields = "{ 'version': 1 }")
+    Optional<SwiftCodeItem> findVersionBySwiftCode(String swiftCode);
+    
+    @Query(fields = WITHOUT_BRANCHES)
+    List<SwiftCodeItem> findAllByCountryISO2_CountryISO2(String countryISO2);
+    
+    @Query(fields = WITHOUT_BRANCHES)
+    List<SwiftCodeItem> findAllByCountryISO2_CountryISO2AndSwiftCodeGreaterThanOrderBySwiftCodeAsc(String countryISO2, String swiftCode, Limit limit);
+    
+    @Query(fields = WITHOUT_BRANCHES)
+    List<SwiftCodeItem> findAllBySwiftCodeGreaterThanOrderBySwiftCodeAsc(String swiftCode, Limit limit);
+    
+    @Query(fields = WITHOUT_BRANCHES)
+    List<SwiftCodeItem> findAllBySwiftCodeBetweenOrderBySwiftCodeAsc(Range<String> swiftCodes, Limit limit);
+    
+    @Query(fields = WITHOUT_BRANCHES)
+    Stream<SwiftCodeItem> streamAllByCountryISO2_CountryISO2OrderBySwiftCodeAsc(String countryISO2);
 }
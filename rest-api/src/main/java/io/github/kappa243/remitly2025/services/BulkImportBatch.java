@@ -0,0 +1,206 @@
+package io.github.kappa243.remitly2025.services;
+
+import com.mongodb.bulk.BulkWriteError;
+import io.github.kappa243.remitly2025.controllers.BulkImportResponse;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.parser.BulkImportRow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rows of one bulk import batch, which of them are written and which are reported as failed.
+ * <p>
+ * Headquarters are inserted first. Branches are then linked to their headquarters and inserted only when linked, the
+ * same way as a single branch is added, so a branch is never stored without being listed by its headquarter. The
+ * writes themselves are executed by the blocking or the reactive service.
+ */
+final class BulkImportBatch {
+    
+    private static final String HEAD_NOT_FOUND = "Headquarter SWIFT code does not exists.";
+    
+    private static final String ALREADY_EXISTS = "SWIFT code already exists";
+    
+    private final List<BulkImportRow> rows;
+    
+    private final BulkImportResponse response;
+    
+    private final Set<String> headSwiftCodes = new HashSet<>();
+    
+    private final Set<String> missingHeadSwiftCodes = new HashSet<>();
+    
+    private List<BulkImportRow> headquarters = new ArrayList<>();
+    
+    private List<BulkImportRow> branches = new ArrayList<>();
+    
+    BulkImportBatch(List<BulkImportRow> rows, BulkImportResponse response) {
+        this.rows = rows;
+        this.response = response;
+        
+        // branches require headquarter already stored or imported in the same batch
+        for (BulkImportRow row : rows) {
+            if (row.getSwiftCodeItem().isHeadquarter()) {
+                headSwiftCodes.add(row.getSwiftCode());
+            } else {
+                missingHeadSwiftCodes.add(SwiftCodesQueries.getHeadSwiftCode(row.getSwiftCode()));
+            }
+        }
+        
+        missingHeadSwiftCodes.removeAll(headSwiftCodes);
+    }
+    
+    // headquarters of the branches which are not imported in the same batch
+    Set<String> getMissingHeadSwiftCodes() {
+        return missingHeadSwiftCodes;
+    }
+    
+    void accept(Collection<String> storedHeadSwiftCodes) {
+        headSwiftCodes.addAll(storedHeadSwiftCodes);
+        
+        for (BulkImportRow row : rows) {
+            SwiftCodeItem swiftCodeItem = row.getSwiftCodeItem();
+            
+            if (swiftCodeItem.isHeadquarter()) {
+                swiftCodeItem.setBranches(Collections.emptyList());
+                headquarters.add(row);
+            } else if (headSwiftCodes.contains(SwiftCodesQueries.getHeadSwiftCode(swiftCodeItem.getSwiftCode()))) {
+                branches.add(row);
+            } else {
+                response.addFailed(row.getRow(), row.getSwiftCode(), HEAD_NOT_FOUND);
+                continue;
+            }
+            
+            swiftCodeItem.setVersion(SwiftCodeItem.initialVersion());
+        }
+    }
+    
+    boolean isEmpty() {
+        return headquarters.isEmpty() && branches.isEmpty();
+    }
+    
+    Collection<CountryItem> getCountries() {
+        Map<String, CountryItem> countries = new HashMap<>();
+        
+        for (BulkImportRow row : headquarters) {
+            putCountry(countries, row);
+        }
+        
+        for (BulkImportRow row : branches) {
+            putCountry(countries, row);
+        }
+        
+        return countries.values();
+    }
+    
+    List<SwiftCodeItem> getHeadquarters() {
+        return toSwiftCodeItems(headquarters);
+    }
+    
+    void headquartersFailed(List<BulkWriteError> errors) {
+        headquarters = removeFailed(headquarters, errors);
+    }
+    
+    List<SwiftCodeItem> getBranches() {
+        return toSwiftCodeItems(branches);
+    }
+    
+    Set<String> getBranchHeadSwiftCodes() {
+        Set<String> branchHeadSwiftCodes = new HashSet<>();
+        
+        for (BulkImportRow row : branches) {
+            branchHeadSwiftCodes.add(SwiftCodesQueries.getHeadSwiftCode(row.getSwiftCode()));
+        }
+        
+        return branchHeadSwiftCodes;
+    }
+    
+    // a headquarter is not matched when it is not stored or when it already lists the branch, and the bulk result
+    // only counts the matches, so the linked branches are found by their versions in the headquarters read back
+    void linkFailed(List<SwiftCodeItem> storedHeadquarters) {
+        Set<String> storedHeadSwiftCodes = new HashSet<>();
+        Map<String, Long> linkedVersions = new HashMap<>();
+        
+        for (SwiftCodeItem headquarter : storedHeadquarters) {
+            storedHeadSwiftCodes.add(headquarter.getSwiftCode());
+            
+            if (headquarter.getBranches() != null) {
+                headquarter.getBranches().forEach(branch -> linkedVersions.put(branch.getSwiftCode(), branch.getVersion()));
+            }
+        }
+        
+        List<BulkImportRow> linked = new ArrayList<>(branches.size());
+        
+        for (BulkImportRow row : branches) {
+            SwiftCodeItem branch = row.getSwiftCodeItem();
+            Long linkedVersion = linkedVersions.get(branch.getSwiftCode());
+            
+            if (linkedVersion != null && linkedVersion == branch.getVersion()) {
+                linked.add(row);
+            } else if (storedHeadSwiftCodes.contains(SwiftCodesQueries.getHeadSwiftCode(branch.getSwiftCode()))) {
+                response.addFailed(row.getRow(), row.getSwiftCode(), ALREADY_EXISTS);
+            } else {
+                response.addFailed(row.getRow(), row.getSwiftCode(), HEAD_NOT_FOUND);
+            }
+        }
+        
+        branches = linked;
+    }
+    
+    // branches which were linked but not inserted, so they have to be unlinked again
+    List<SwiftCodeItem> branchesFailed(List<BulkWriteError> errors) {
+        List<SwiftCodeItem> failed = new ArrayList<>(errors.size());
+        errors.forEach(error -> failed.add(branches.get(error.getIndex()).getSwiftCodeItem()));
+        
+        branches = removeFailed(branches, errors);
+        
+        return failed;
+    }
+    
+    // codes written by the batch, which are reported as inserted
+    List<SwiftCodeItem> complete() {
+        List<SwiftCodeItem> inserted = new ArrayList<>(headquarters.size() + branches.size());
+        inserted.addAll(getHeadquarters());
+        inserted.addAll(getBranches());
+        
+        inserted.forEach(swiftCodeItem -> response.addInserted());
+        
+        return inserted;
+    }
+    
+    private List<BulkImportRow> removeFailed(List<BulkImportRow> written, List<BulkWriteError> errors) {
+        Set<Integer> failedIndexes = new HashSet<>();
+        
+        for (BulkWriteError error : errors) {
+            BulkImportRow row = written.get(error.getIndex());
+            
+            failedIndexes.add(error.getIndex());
+            response.addFailed(row.getRow(), row.getSwiftCode(), SwiftCodesQueries.getErrorMessage(error));
+        }
+        
+        List<BulkImportRow> remaining = new ArrayList<>(written.size() - failedIndexes.size());
+        
+        for (int i = 0; i < written.size(); i++) {
+            if (!failedIndexes.contains(i)) {
+                remaining.add(written.get(i));
+            }
+        }
+        
+        return remaining;
+    }
+    
+    private static void putCountry(Map<String, CountryItem> countries, BulkImportRow row) {
+        CountryItem country = row.getSwiftCodeItem().getCountryISO2();
+        countries.putIfAbsent(country.getCountryISO2(), country);
+    }
+    
+    private static List<SwiftCodeItem> toSwiftCodeItems(List<BulkImportRow> rows) {
+        return rows.stream().map(BulkImportRow::getSwiftCodeItem).toList();
+    }
+}
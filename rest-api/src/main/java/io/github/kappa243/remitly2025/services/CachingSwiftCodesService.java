@@ -0,0 +1,206 @@
+package io.github.kappa243.remitly2025.services;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.github.kappa243.remitly2025.controllers.BulkImportResponse;
+import io.github.kappa243.remitly2025.controllers.CountrySwiftCodesResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesLookupResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesPageResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesSearchResponse;
+import io.github.kappa243.remitly2025.exceptions.ChildSwiftCodesFoundException;
+import io.github.kappa243.remitly2025.exceptions.CountryNotExistsException;
+import io.github.kappa243.remitly2025.exceptions.HeadSwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.exceptions.InvalidPageTokenException;
+import io.github.kappa243.remitly2025.exceptions.SwiftCodeAlreadyExistsException;
+import io.github.kappa243.remitly2025.exceptions.SwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.parser.BulkImportRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-through cache in front of {@link SwiftCodesService}.
+ * <p>
+ * Caffeine uses W-TinyLFU eviction, so frequently requested codes stay cached when the size limit is reached.
+ * Every write invalidates the changed code and its headquarter, because the headquarter response lists its branches.
+ * <p>
+ * Codes are loaded on an executor outside of the cache map lock, so a request thread waiting for a load does not
+ * hold a monitor while MongoDB is queried (which would pin the carrier thread of a virtual request thread). Loads
+ * follow {@code spring.threads.virtual.enabled} like the requests, and the executor is shut down with the bean.
+ */
+@Slf4j
+public class CachingSwiftCodesService implements SwiftCodesService, MeterBinder, AutoCloseable {
+    
+    private final SwiftCodesService delegate;
+    
+    private final ExecutorService executor;
+    
+    private final AsyncCache<String, SwiftCodeResponse> cache;
+    
+    public CachingSwiftCodesService(SwiftCodesService delegate, SwiftCodesCacheProperties properties, boolean virtualThreads) {
+        this.delegate = delegate;
+        // loads block on MongoDB, so they do not run on the common fork join pool Caffeine uses by default
+        this.executor = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newCachedThreadPool();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getTimeToLive())
+            .executor(executor)
+            .recordStats()
+            .buildAsync();
+        
+        log.info("SWIFT codes cache enabled (maximum size: {}, time to live: {})", properties.getMaximumSize(), properties.getTimeToLive());
+    }
+    
+    @Override
+    public SwiftCodeResponse getSwiftCodeDataBySwiftCode(String swiftCode) throws SwiftCodeNotFoundException {
+        // invalidation also discards a load in progress, so a response read before a concurrent write
+        // can not be stored after that write invalidated it
+        SwiftCodeResponse response;
+        
+        try {
+            response = cache.get(swiftCode, code -> {
+                try {
+                    return delegate.getSwiftCodeDataBySwiftCode(code);
+                } catch (SwiftCodeNotFoundException e) {
+                    return null;
+                }
+            }).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        
+        if (response == null) {
+            throw new SwiftCodeNotFoundException();
+        }
+        
+        return response;
+    }
+    
+    @Override
+    public long getSwiftCodeVersion(String swiftCode) throws SwiftCodeNotFoundException {
+        SwiftCodeResponse response = cache.synchronous().getIfPresent(swiftCode);
+        
+        return response != null ? response.getVersion() : delegate.getSwiftCodeVersion(swiftCode);
+    }
+    
+    @Override
+    public SwiftCodesLookupResponse lookupSwiftCodesData(Collection<String> swiftCodes) {
+        List<String> requestedSwiftCodes = swiftCodes.stream().distinct().toList();
+        Map<String, SwiftCodeResponse> found = new HashMap<>(cache.synchronous().getAllPresent(requestedSwiftCodes));
+        List<String> notFound = List.of();
+        
+        if (found.size() < requestedSwiftCodes.size()) {
+            // bulk results are not cached, because a bulk load is not ordered against concurrent invalidation
+            SwiftCodesLookupResponse response = delegate.lookupSwiftCodesData(
+                requestedSwiftCodes.stream().filter(swiftCode -> !found.containsKey(swiftCode)).toList()
+            );
+            
+            response.getSwiftCodes().forEach(swiftCodeResponse -> found.put(swiftCodeResponse.getSwiftCode(), swiftCodeResponse));
+            notFound = response.getNotFound();
+        }
+        
+        return SwiftCodesLookupResponse.builder()
+            .swiftCodes(requestedSwiftCodes.stream().filter(found::containsKey).map(found::get).toList())
+            .notFound(notFound)
+            .build();
+    }
+    
+    @Override
+    public SwiftCodeResponse addSwiftCodeData(SwiftCodeItem swiftCodeItem) throws SwiftCodeAlreadyExistsException, HeadSwiftCodeNotFoundException {
+        try {
+            return delegate.addSwiftCodeData(swiftCodeItem);
+        } finally {
+            invalidate(swiftCodeItem.getSwiftCode());
+        }
+    }
+    
+    @Override
+    public CountrySwiftCodesResponse getSwiftCodesDataByCountryISO2(String countryISO2) throws CountryNotExistsException {
+        return delegate.getSwiftCodesDataByCountryISO2(countryISO2);
+    }
+    
+    @Override
+    public long getCountryVersion(String countryISO2) throws CountryNotExistsException {
+        return delegate.getCountryVersion(countryISO2);
+    }
+    
+    @Override
+    public CountrySwiftCodesResponse getSwiftCodesDataByCountryISO2(String countryISO2, int limit, String pageToken) throws CountryNotExistsException, InvalidPageTokenException {
+        return delegate.getSwiftCodesDataByCountryISO2(countryISO2, limit, pageToken);
+    }
+    
+    @Override
+    public SwiftCodesPageResponse getSwiftCodesData(int limit, String pageToken) throws InvalidPageTokenException {
+        return delegate.getSwiftCodesData(limit, pageToken);
+    }
+    
+    @Override
+    public SwiftCodesPageResponse getSwiftCodesDataByPrefix(String prefix, int limit, String pageToken) throws InvalidPageTokenException {
+        return delegate.getSwiftCodesDataByPrefix(prefix, limit, pageToken);
+    }
+    
+    @Override
+    public SwiftCodesSearchResponse searchSwiftCodesData(String query, int limit) {
+        return delegate.searchSwiftCodesData(query, limit);
+    }
+    
+    @Override
+    public CountrySwiftCodesStream streamSwiftCodesDataByCountryISO2(String countryISO2) throws CountryNotExistsException {
+        return delegate.streamSwiftCodesDataByCountryISO2(countryISO2);
+    }
+    
+    @Override
+    public void deleteSwiftCodeData(String swiftCode) throws SwiftCodeNotFoundException, ChildSwiftCodesFoundException {
+        try {
+            delegate.deleteSwiftCodeData(swiftCode);
+        } finally {
+            invalidate(swiftCode);
+        }
+    }
+    
+    @Override
+    public BulkImportResponse addSwiftCodesData(Iterator<BulkImportRow> rows) {
+        try {
+            return delegate.addSwiftCodesData(rows);
+        } finally {
+            // imported rows are not kept in memory, so any cached headquarter may be stale
+            cache.synchronous().invalidateAll();
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "swiftCodes");
+    }
+    
+    public CacheStats getStats() {
+        return cache.synchronous().stats();
+    }
+    
+    public long getSize() {
+        return cache.synchronous().estimatedSize();
+    }
+    
+    private void invalidate(String swiftCode) {
+        cache.synchronous().invalidate(swiftCode);
+        cache.synchronous().invalidate(swiftCode.substring(0, 8) + "XXX");
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
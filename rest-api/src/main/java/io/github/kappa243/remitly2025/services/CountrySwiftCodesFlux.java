@@ -0,0 +1,22 @@
+package io.github.kappa243.remitly2025.services;
+
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import reactor.core.publisher.Flux;
+
+/**
+ * Country with its SWIFT codes read from a database cursor on subscription, only as fast as they are requested.
+ */
+@Getter
+@AllArgsConstructor
+public class CountrySwiftCodesFlux {
+    
+    private final String countryISO2;
+    
+    private final String countryName;
+    
+    private final long version;
+    
+    private final Flux<ReducedSwiftCodeResponse> swiftCodes;
+}
@@ -0,0 +1,28 @@
+package io.github.kappa243.remitly2025.services;
+
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.stream.Stream;
+
+/**
+ * Country with its SWIFT codes read lazily from an open database cursor, which is released on {@link #close()}.
+ */
+@Getter
+@AllArgsConstructor
+public class CountrySwiftCodesStream implements AutoCloseable {
+    
+    private final String countryISO2;
+    
+    private final String countryName;
+    
+    private final long version;
+    
+    private final Stream<ReducedSwiftCodeResponse> swiftCodes;
+    
+    @Override
+    public void close() {
+        swiftCodes.close();
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.kappa243.remitly2025.services;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "swift-codes.grpc")
+@Getter
+@Setter
+public class GrpcServerProperties {
+    
+    private boolean enabled = true;
+    
+    // 0 picks a free port
+    private int port = 9090;
+    
+    // time calls in progress are given to complete on shutdown before they are cancelled
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+    
+}
@@ -0,0 +1,20 @@
+package io.github.kappa243.remitly2025.services;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "swift-codes.mongo")
+@Getter
+@Setter
+public class MongoConcurrencyProperties {
+    
+    // MongoDB calls running at the same time, applied as the driver connection pool size
+    private int maxConcurrentCalls = 100;
+    
+    // time a call waits for a pooled connection before the request is rejected
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+    
+}
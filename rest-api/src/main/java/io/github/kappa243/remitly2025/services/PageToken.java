@@ -0,0 +1,38 @@
+package io.github.kappa243.remitly2025.services;
+
+import io.github.kappa243.remitly2025.exceptions.InvalidPageTokenException;
+import io.github.kappa243.remitly2025.model.validators.SwiftCodeValidator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque token pointing after the last SWIFT code of a page.
+ * <p>
+ * Pages are ordered by SWIFT code, so the next page is read with an index range scan starting after the encoded code.
+ */
+public final class PageToken {
+    
+    private PageToken() {
+    }
+    
+    public static String encode(String swiftCode) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(swiftCode.getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    public static String decode(String token) throws InvalidPageTokenException {
+        String swiftCode;
+        
+        try {
+            swiftCode = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageTokenException();
+        }
+        
+        if (!SwiftCodeValidator.isWellFormed(swiftCode)) {
+            throw new InvalidPageTokenException();
+        }
+        
+        return swiftCode;
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.kappa243.remitly2025.services;
+
+import io.github.kappa243.remitly2025.controllers.BulkImportResponse;
+import io.github.kappa243.remitly2025.controllers.CountrySwiftCodesResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesLookupResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesPageResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesSearchResponse;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.parser.BulkImportRow;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking counterpart of {@link SwiftCodesService}; failures are signalled with the same exceptions.
+ */
+public interface ReactiveSwiftCodesService {
+    
+    Mono<SwiftCodeResponse> getSwiftCodeDataBySwiftCode(String swiftCode);
+    
+    Mono<Long> getSwiftCodeVersion(String swiftCode);
+    
+    Mono<SwiftCodesLookupResponse> lookupSwiftCodesData(Collection<String> swiftCodes);
+    
+    Mono<SwiftCodeResponse> addSwiftCodeData(SwiftCodeItem swiftCodeItem);
+    
+    Mono<CountrySwiftCodesResponse> getSwiftCodesDataByCountryISO2(String countryISO2);
+    
+    Mono<Long> getCountryVersion(String countryISO2);
+    
+    Mono<CountrySwiftCodesResponse> getSwiftCodesDataByCountryISO2(String countryISO2, int limit, String pageToken);
+    
+    Mono<SwiftCodesPageResponse> getSwiftCodesData(int limit, String pageToken);
+    
+    Mono<SwiftCodesPageResponse> getSwiftCodesDataByPrefix(String prefix, int limit, String pageToken);
+    
+    Mono<SwiftCodesSearchResponse> searchSwiftCodesData(String query, int limit);
+    
+    Mono<CountrySwiftCodesFlux> streamSwiftCodesDataByCountryISO2(String countryISO2);
+    
+    Mono<Void> deleteSwiftCodeData(String swiftCode);
+    
+    Mono<BulkImportResponse> addSwiftCodesData(Flux<BulkImportRow> rows);
+}
@@ -0,0 +1,371 @@
+package io.github.kappa243.remitly2025.services;
+
+import com.mongodb.client.result.UpdateResult;
+import io.github.kappa243.remitly2025.controllers.BulkImportResponse;
+import io.github.kappa243.remitly2025.controllers.CountrySwiftCodesResponse;
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesLookupResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesPageResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesSearchResponse;
+import io.github.kappa243.remitly2025.exceptions.ChildSwiftCodesFoundException;
+import io.github.kappa243.remitly2025.exceptions.CountryNotExistsException;
+import io.github.kappa243.remitly2025.exceptions.HeadSwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.exceptions.SwiftCodeAlreadyExistsException;
+import io.github.kappa243.remitly2025.exceptions.SwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.parser.BulkImportRow;
+import io.github.kappa243.remitly2025.repositories.ReactiveCountriesRepository;
+import io.github.kappa243.remitly2025.repositories.ReactiveSwiftCodesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.BULK_BATCH_SIZE;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.defineCountry;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.defineCountryAndIncrementVersion;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.getBulkWriteErrors;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.getHeadSwiftCode;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.getNextPageToken;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.getPage;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.incrementCountryVersion;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.linkBranch;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.prefixRange;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryCountries;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryCountry;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryHeadquarter;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryHeadquarters;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryUnlinkedHeadquarter;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryVersion;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.toPageResponse;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.toReducedResponses;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.unlinkBranch;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.unlinkLinkedBranch;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveSwiftCodesServiceImpl implements ReactiveSwiftCodesService {
+    
+    private final ReactiveSwiftCodesRepository swiftCodesRepository;
+    private final ReactiveCountriesRepository countriesRepository;
+    
+    private final ReactiveMongoTemplate mongoTemplate;
+    
+    private final SwiftCodesSearchIndex swiftCodesSearchIndex;
+    
+    
+    @Override
+    public Mono<SwiftCodeResponse> getSwiftCodeDataBySwiftCode(String swiftCode) {
+        return swiftCodesRepository.findById(swiftCode)
+            .map(SwiftCodeResponse::from)
+            .switchIfEmpty(Mono.error(SwiftCodeNotFoundException::new));
+    }
+    
+    @Override
+    public Mono<Long> getSwiftCodeVersion(String swiftCode) {
+        return swiftCodesRepository.findVersionBySwiftCode(swiftCode)
+            .map(SwiftCodeItem::getVersion)
+            .switchIfEmpty(Mono.error(SwiftCodeNotFoundException::new));
+    }
+    
+    @Override
+    public Mono<SwiftCodesLookupResponse> lookupSwiftCodesData(Collection<String> swiftCodes) {
+        Set<String> requestedSwiftCodes = new LinkedHashSet<>(swiftCodes);
+        
+        return swiftCodesRepository.findAllBySwiftCodeIn(requestedSwiftCodes)
+            .collectMap(SwiftCodeItem::getSwiftCode, SwiftCodeResponse::from)
+            .map(foundSwiftCodes -> SwiftCodesLookupResponse.builder()
+                .swiftCodes(requestedSwiftCodes.stream().filter(foundSwiftCodes::containsKey).map(foundSwiftCodes::get).toList())
+                .notFound(requestedSwiftCodes.stream().filter(swiftCode -> !foundSwiftCodes.containsKey(swiftCode)).toList())
+                .build());
+    }
+    
+    @Override
+    public Mono<SwiftCodeResponse> addSwiftCodeData(SwiftCodeItem swiftCodeItem) {
+        // existing codes, countries and headquarters are detected by the writes themselves instead of being read first
+        CountryItem country = swiftCodeItem.getCountryISO2();
+        
+        Mono<SwiftCodeItem> created;
+        swiftCodeItem.setVersion(SwiftCodeItem.initialVersion());
+        
+        if (!swiftCodeItem.isHeadquarter()) {
+            String headSwiftCode = getHeadSwiftCode(swiftCodeItem.getSwiftCode());
+            
+            // branch is linked before it is inserted, so a headquarter deleted at the same time either lists it or is
+            // not found
+            Mono<UpdateResult> linked = mongoTemplate.updateFirst(queryUnlinkedHeadquarter(swiftCodeItem), linkBranch(swiftCodeItem), SwiftCodeItem.class);
+            
+            // an existing headquarter is not matched only when it already lists the branch
+            Mono<SwiftCodeItem> notLinked = swiftCodesRepository.existsById(headSwiftCode)
+                .flatMap(headExists -> Mono.error(headExists ? new SwiftCodeAlreadyExistsException() : new HeadSwiftCodeNotFoundException()));
+            
+            created = linked.flatMap(result -> result.getMatchedCount() > 0 ? insertLinkedBranch(swiftCodeItem, headSwiftCode) : notLinked);
+        } else {
+            if (swiftCodeItem.getBranches() == null) {
+                swiftCodeItem.setBranches(Collections.emptyList());
+            }
+            
+            created = insert(swiftCodeItem);
+        }
+        
+        Mono<Void> countryUpdated = mongoTemplate.upsert(queryCountry(country.getCountryISO2()), defineCountryAndIncrementVersion(country), CountryItem.class).then();
+        
+        return created
+            .doOnNext(createdSwiftCodeData -> swiftCodesSearchIndex.add(swiftCodeItem))
+            .flatMap(createdSwiftCodeData -> countryUpdated.thenReturn(createdSwiftCodeData))
+            .map(SwiftCodeResponse::from);
+    }
+    
+    @Override
+    public Mono<CountrySwiftCodesResponse> getSwiftCodesDataByCountryISO2(String countryISO2) {
+        return findCountry(countryISO2)
+            .flatMap(countryData -> swiftCodesRepository.findAllByCountryISO2_CountryISO2OrderBySwiftCodeAsc(countryData.getCountryISO2())
+                .map(ReducedSwiftCodeResponse::from)
+                .collectList()
+                .map(swiftCodes -> CountrySwiftCodesResponse.builder()
+                    .countryISO2(countryData.getCountryISO2())
+                    .countryName(countryData.getCountryName())
+                    .swiftCodes(swiftCodes)
+                    .version(countryData.getSwiftCodesVersion())
+                    .build()));
+    }
+    
+    @Override
+    public Mono<Long> getCountryVersion(String countryISO2) {
+        return countriesRepository.findSwiftCodesVersionByCountryISO2(countryISO2)
+            .map(CountryItem::getSwiftCodesVersion)
+            .switchIfEmpty(Mono.error(CountryNotExistsException::new));
+    }
+    
+    @Override
+    public Mono<CountrySwiftCodesResponse> getSwiftCodesDataByCountryISO2(String countryISO2, int limit, String pageToken) {
+        return decodePageToken(pageToken)
+            .flatMap(after -> findCountry(countryISO2)
+                .flatMap(countryData -> swiftCodesRepository.findAllByCountryISO2_CountryISO2AndSwiftCodeGreaterThanOrderBySwiftCodeAsc(
+                        countryISO2, after, Limit.of(limit + 1)
+                    )
+                    .collectList()
+                    .map(swiftCodes -> CountrySwiftCodesResponse.builder()
+                        .countryISO2(countryData.getCountryISO2())
+                        .countryName(countryData.getCountryName())
+                        .swiftCodes(toReducedResponses(getPage(swiftCodes, limit)))
+                        .nextPageToken(getNextPageToken(swiftCodes, limit))
+                        .version(countryData.getSwiftCodesVersion())
+                        .build())));
+    }
+    
+    @Override
+    public Mono<SwiftCodesPageResponse> getSwiftCodesData(int limit, String pageToken) {
+        return decodePageToken(pageToken)
+            .flatMap(after -> swiftCodesRepository.findAllBySwiftCodeGreaterThanOrderBySwiftCodeAsc(after, Limit.of(limit + 1)).collectList())
+            .map(swiftCodes -> toPageResponse(swiftCodes, limit));
+    }
+    
+    @Override
+    public Mono<SwiftCodesPageResponse> getSwiftCodesDataByPrefix(String prefix, int limit, String pageToken) {
+        return decodePageToken(pageToken)
+            .flatMap(after -> swiftCodesRepository.findAllBySwiftCodeBetweenOrderBySwiftCodeAsc(prefixRange(prefix, after), Limit.of(limit + 1)).collectList())
+            .map(swiftCodes -> toPageResponse(swiftCodes, limit));
+    }
+    
+    @Override
+    public Mono<SwiftCodesSearchResponse> searchSwiftCodesData(String query, int limit) {
+        // in-memory index, no I/O involved
+        return Mono.fromSupplier(() -> SwiftCodesSearchResponse.builder()
+            .swiftCodes(swiftCodesSearchIndex.search(query, limit))
+            .build());
+    }
+    
+    @Override
+    public Mono<CountrySwiftCodesFlux> streamSwiftCodesDataByCountryISO2(String countryISO2) {
+        return findCountry(countryISO2)
+            .map(countryData -> new CountrySwiftCodesFlux(
+                countryData.getCountryISO2(),
+                countryData.getCountryName(),
+                countryData.getSwiftCodesVersion(),
+                swiftCodesRepository.findAllByCountryISO2_CountryISO2OrderBySwiftCodeAsc(countryISO2).map(ReducedSwiftCodeResponse::from)
+            ));
+    }
+    
+    @Override
+    public Mono<Void> deleteSwiftCodeData(String swiftCode) {
+        return swiftCodesRepository.findById(swiftCode)
+            .switchIfEmpty(Mono.error(SwiftCodeNotFoundException::new))
+            .flatMap(swiftCodeData -> {
+                if (swiftCodeData.isHeadquarter() && !swiftCodeData.getBranches().isEmpty()) {
+                    return Mono.error(new ChildSwiftCodesFoundException());
+                }
+                
+                // code is removed only in the version it was checked in; a branch added to a headquarter in the
+                // meantime changes its version, so it is read and checked again
+                return mongoTemplate.remove(queryVersion(swiftCodeData), SwiftCodeItem.class)
+                    .flatMap(result -> result.getDeletedCount() == 0 ? deleteSwiftCodeData(swiftCode) : afterDelete(swiftCodeData));
+            });
+    }
+    
+    // branch is removed from its headquarter after the branch document itself
+    private Mono<Void> afterDelete(SwiftCodeItem swiftCodeData) {
+        String swiftCode = swiftCodeData.getSwiftCode();
+        swiftCodesSearchIndex.remove(swiftCode);
+        
+        Mono<Void> unlinked = swiftCodeData.isHeadquarter()
+            ? Mono.empty()
+            : mongoTemplate.updateFirst(queryHeadquarter(getHeadSwiftCode(swiftCode)), unlinkBranch(swiftCode), SwiftCodeItem.class).then();
+        
+        return unlinked.then(incrementCountryVersions(Set.of(swiftCodeData.getCountryISO2().getCountryISO2())));
+    }
+    
+    @Override
+    public Mono<BulkImportResponse> addSwiftCodesData(Flux<BulkImportRow> rows) {
+        return Mono.defer(() -> {
+            BulkImportResponse response = new BulkImportResponse();
+            
+            return rows
+                .filter(row -> {
+                    if (!row.isValid()) {
+                        response.addFailed(row.getRow(), row.getSwiftCode(), row.getError());
+                    }
+                    
+                    return row.isValid();
+                })
+                .buffer(BULK_BATCH_SIZE)
+                // one batch at a time, so rows are read only as fast as they are written
+                .concatMap(batch -> writeBatch(batch, response), 1)
+                .then(Mono.just(response));
+        });
+    }
+    
+    private Mono<Void> writeBatch(List<BulkImportRow> rows, BulkImportResponse response) {
+        BulkImportBatch batch = new BulkImportBatch(rows, response);
+        Set<String> missingHeadSwiftCodes = batch.getMissingHeadSwiftCodes();
+        
+        Mono<List<String>> storedHeadSwiftCodes = missingHeadSwiftCodes.isEmpty()
+            ? Mono.just(List.of())
+            : mongoTemplate.findDistinct(queryHeadquarters(missingHeadSwiftCodes), "_id", SwiftCodeItem.class, String.class).collectList();
+        
+        return storedHeadSwiftCodes.flatMap(stored -> {
+            batch.accept(stored);
+            
+            if (batch.isEmpty()) {
+                return Mono.empty();
+            }
+            
+            ReactiveBulkOperations countryOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CountryItem.class);
+            batch.getCountries().forEach(country -> countryOperations.upsert(queryCountry(country.getCountryISO2()), defineCountry(country)));
+            
+            return countryOperations.execute()
+                .then(Mono.defer(() -> insertHeadquarters(batch)))
+                .then(Mono.defer(() -> writeBranches(batch)))
+                .then(Mono.defer(() -> {
+                    Set<String> changedCountries = new HashSet<>();
+                    
+                    for (SwiftCodeItem swiftCodeItem : batch.complete()) {
+                        swiftCodesSearchIndex.add(swiftCodeItem);
+                        changedCountries.add(swiftCodeItem.getCountryISO2().getCountryISO2());
+                    }
+                    
+                    return incrementCountryVersions(changedCountries);
+                }));
+        });
+    }
+    
+    private Mono<Void> insertHeadquarters(BulkImportBatch batch) {
+        List<SwiftCodeItem> headquarters = batch.getHeadquarters();
+        
+        if (headquarters.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        return insertAll(headquarters)
+            .onErrorResume(e -> !getBulkWriteErrors(e).isEmpty(), e -> {
+                batch.headquartersFailed(getBulkWriteErrors(e));
+                return Mono.empty();
+            });
+    }
+    
+    private Mono<Void> writeBranches(BulkImportBatch batch) {
+        List<SwiftCodeItem> branches = batch.getBranches();
+        
+        if (branches.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        // branches are linked before they are inserted, as a single branch is
+        ReactiveBulkOperations linkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftCodeItem.class);
+        branches.forEach(branch -> linkOperations.updateOne(queryUnlinkedHeadquarter(branch), linkBranch(branch)));
+        
+        return linkOperations.execute()
+            .flatMap(result -> result.getMatchedCount() < branches.size()
+                ? mongoTemplate.find(queryHeadquarters(batch.getBranchHeadSwiftCodes()), SwiftCodeItem.class).collectList().doOnNext(batch::linkFailed).then()
+                : Mono.<Void>empty())
+            .then(Mono.defer(() -> {
+                List<SwiftCodeItem> linked = batch.getBranches();
+                
+                if (linked.isEmpty()) {
+                    return Mono.empty();
+                }
+                
+                return insertAll(linked)
+                    .onErrorResume(e -> !getBulkWriteErrors(e).isEmpty(), e -> unlinkBranches(batch.branchesFailed(getBulkWriteErrors(e))));
+            }))
+            // the versioned unlink does not match branches which were not linked by this batch
+            .onErrorResume(e -> unlinkBranches(branches).then(Mono.error(e)));
+    }
+    
+    private Mono<Void> insertAll(List<SwiftCodeItem> swiftCodeItems) {
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftCodeItem.class).insert(swiftCodeItems).execute().then();
+    }
+    
+    private Mono<Void> unlinkBranches(List<SwiftCodeItem> branches) {
+        ReactiveBulkOperations unlinkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftCodeItem.class);
+        branches.forEach(branch -> unlinkOperations.updateOne(queryHeadquarter(getHeadSwiftCode(branch.getSwiftCode())), unlinkLinkedBranch(branch)));
+        
+        return unlinkOperations.execute().then();
+    }
+    
+    private Mono<SwiftCodeItem> insert(SwiftCodeItem swiftCodeItem) {
+        // insert fails for an existing code instead of replacing it
+        return swiftCodesRepository.insert(swiftCodeItem)
+            .onErrorMap(DuplicateKeyException.class, e -> new SwiftCodeAlreadyExistsException());
+    }
+    
+    private Mono<SwiftCodeItem> insertLinkedBranch(SwiftCodeItem swiftCodeItem, String headSwiftCode) {
+        // any failed insert leaves the headquarter listing a branch which is not stored
+        return insert(swiftCodeItem)
+            .onErrorResume(e -> mongoTemplate.updateFirst(queryHeadquarter(headSwiftCode), unlinkLinkedBranch(swiftCodeItem), SwiftCodeItem.class)
+                .then(Mono.error(e)));
+    }
+    
+    private Mono<Void> incrementCountryVersions(Set<String> countryISO2s) {
+        if (countryISO2s.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        return mongoTemplate.updateMulti(queryCountries(countryISO2s), incrementCountryVersion(), CountryItem.class).then();
+    }
+    
+    private Mono<CountryItem> findCountry(String countryISO2) {
+        return countriesRepository.findById(countryISO2)
+            .switchIfEmpty(Mono.error(CountryNotExistsException::new));
+    }
+    
+    private static Mono<String> decodePageToken(String pageToken) {
+        return Mono.fromCallable(() -> pageToken != null ? PageToken.decode(pageToken) : "");
+    }
+}
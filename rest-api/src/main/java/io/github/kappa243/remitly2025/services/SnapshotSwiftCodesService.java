@@ -0,0 +1,235 @@
+package io.github.kappa243.remitly2025.services;
+
+import io.github.kappa243.remitly2025.controllers.BulkImportResponse;
+import io.github.kappa243.remitly2025.controllers.CountrySwiftCodesResponse;
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesLookupResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesPageResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesSearchResponse;
+import io.github.kappa243.remitly2025.exceptions.CountryNotExistsException;
+import io.github.kappa243.remitly2025.exceptions.InvalidPageTokenException;
+import io.github.kappa243.remitly2025.exceptions.SnapshotUnsupportedOperationException;
+import io.github.kappa243.remitly2025.exceptions.SwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeKey;
+import io.github.kappa243.remitly2025.parser.BulkImportRow;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Serves reads from a memory-mapped {@link SwiftCodesSnapshot} without MongoDB, enabled by the {@code snapshot} profile.
+ * <p>
+ * Every code and country has the version of the snapshot, so ETags change when a new snapshot is served. Writes and
+ * search are not supported.
+ */
+@Service
+@Profile("snapshot")
+@RequiredArgsConstructor
+@Timed(value = "swiftcodes.service", histogram = true)
+public class SnapshotSwiftCodesService implements SwiftCodesService {
+    
+    private static final int HEADQUARTER_PREFIX_LENGTH = 8;
+    
+    private final SwiftCodesSnapshot snapshot;
+    
+    @Override
+    public SwiftCodeResponse getSwiftCodeDataBySwiftCode(String swiftCode) throws SwiftCodeNotFoundException {
+        return toResponse(indexOf(swiftCode));
+    }
+    
+    @Override
+    public long getSwiftCodeVersion(String swiftCode) throws SwiftCodeNotFoundException {
+        indexOf(swiftCode);
+        return snapshot.getVersion();
+    }
+    
+    @Override
+    public SwiftCodesLookupResponse lookupSwiftCodesData(Collection<String> swiftCodes) {
+        List<SwiftCodeResponse> found = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+        
+        for (String swiftCode : new LinkedHashSet<>(swiftCodes)) {
+            try {
+                found.add(toResponse(indexOf(swiftCode)));
+            } catch (SwiftCodeNotFoundException e) {
+                notFound.add(swiftCode);
+            }
+        }
+        
+        return SwiftCodesLookupResponse.builder()
+            .swiftCodes(found)
+            .notFound(notFound)
+            .build();
+    }
+    
+    @Override
+    public SwiftCodeResponse addSwiftCodeData(SwiftCodeItem swiftCodeItem) {
+        throw new SnapshotUnsupportedOperationException();
+    }
+    
+    @Override
+    public CountrySwiftCodesResponse getSwiftCodesDataByCountryISO2(String countryISO2) throws CountryNotExistsException {
+        int country = countryIndexOf(countryISO2);
+        
+        return CountrySwiftCodesResponse.builder()
+            .countryISO2(snapshot.countryISO2(country))
+            .countryName(snapshot.countryName(country))
+            .swiftCodes(countryCodes(country).toList())
+            .version(snapshot.getVersion())
+            .build();
+    }
+    
+    @Override
+    public long getCountryVersion(String countryISO2) throws CountryNotExistsException {
+        countryIndexOf(countryISO2);
+        return snapshot.getVersion();
+    }
+    
+    @Override
+    public CountrySwiftCodesResponse getSwiftCodesDataByCountryISO2(String countryISO2, int limit, String pageToken) throws CountryNotExistsException, InvalidPageTokenException {
+        long after = pageToken != null ? SwiftCodeKey.encode(PageToken.decode(pageToken)) : -1;
+        int country = countryIndexOf(countryISO2);
+        
+        int from = snapshot.countryLowerBound(country, after + 1);
+        int to = Math.min(from + limit, snapshot.countrySize(country));
+        
+        return CountrySwiftCodesResponse.builder()
+            .countryISO2(snapshot.countryISO2(country))
+            .countryName(snapshot.countryName(country))
+            .swiftCodes(IntStream.range(from, to).mapToObj(position -> toReducedResponse(snapshot.countryCode(country, position))).toList())
+            .nextPageToken(to < snapshot.countrySize(country) ? PageToken.encode(snapshot.swiftCode(snapshot.countryCode(country, to - 1))) : null)
+            .version(snapshot.getVersion())
+            .build();
+    }
+    
+    @Override
+    public SwiftCodesPageResponse getSwiftCodesData(int limit, String pageToken) throws InvalidPageTokenException {
+        long after = pageToken != null ? SwiftCodeKey.encode(PageToken.decode(pageToken)) : -1;
+        
+        return toPage(snapshot.lowerBound(after + 1), snapshot.size(), limit);
+    }
+    
+    @Override
+    public SwiftCodesPageResponse getSwiftCodesDataByPrefix(String prefix, int limit, String pageToken) throws InvalidPageTokenException {
+        long after = pageToken != null ? SwiftCodeKey.encode(PageToken.decode(pageToken)) : -1;
+        long encodedPrefix = SwiftCodeKey.encodePrefix(prefix);
+        
+        // codes with the prefix are a continuous range of keys
+        long first = SwiftCodeKey.firstWithPrefix(encodedPrefix, prefix.length());
+        long end = SwiftCodeKey.firstWithPrefix(encodedPrefix + 1, prefix.length());
+        
+        return toPage(snapshot.lowerBound(Math.max(first, after + 1)), snapshot.lowerBound(end), limit);
+    }
+    
+    @Override
+    public SwiftCodesSearchResponse searchSwiftCodesData(String query, int limit) {
+        throw new SnapshotUnsupportedOperationException();
+    }
+    
+    @Override
+    public CountrySwiftCodesStream streamSwiftCodesDataByCountryISO2(String countryISO2) throws CountryNotExistsException {
+        int country = countryIndexOf(countryISO2);
+        
+        return new CountrySwiftCodesStream(
+            snapshot.countryISO2(country),
+            snapshot.countryName(country),
+            snapshot.getVersion(),
+            countryCodes(country)
+        );
+    }
+    
+    @Override
+    public void deleteSwiftCodeData(String swiftCode) {
+        throw new SnapshotUnsupportedOperationException();
+    }
+    
+    @Override
+    public BulkImportResponse addSwiftCodesData(Iterator<BulkImportRow> rows) {
+        throw new SnapshotUnsupportedOperationException();
+    }
+    
+    private int indexOf(String swiftCode) throws SwiftCodeNotFoundException {
+        int index = SwiftCodeKey.isValid(swiftCode) ? snapshot.indexOf(SwiftCodeKey.encode(swiftCode)) : -1;
+        
+        if (index < 0) {
+            throw new SwiftCodeNotFoundException();
+        }
+        
+        return index;
+    }
+    
+    private int countryIndexOf(String countryISO2) throws CountryNotExistsException {
+        int country = snapshot.countryIndexOf(countryISO2);
+        
+        if (country < 0) {
+            throw new CountryNotExistsException();
+        }
+        
+        return country;
+    }
+    
+    private SwiftCodeResponse toResponse(int index) {
+        long key = snapshot.key(index);
+        int country = snapshot.country(index);
+        
+        return new SwiftCodeResponse(
+            snapshot.address(index),
+            snapshot.bankName(index),
+            snapshot.countryISO2(country),
+            snapshot.countryName(country),
+            SwiftCodeKey.isHeadquarter(key),
+            SwiftCodeKey.decode(key),
+            SwiftCodeKey.isHeadquarter(key) ? branches(key) : null,
+            snapshot.getVersion()
+        );
+    }
+    
+    // branches of a headquarter are the other codes with its first 8 characters
+    private List<ReducedSwiftCodeResponse> branches(long headquarterKey) {
+        long prefix = SwiftCodeKey.prefix(headquarterKey, HEADQUARTER_PREFIX_LENGTH);
+        int from = snapshot.lowerBound(SwiftCodeKey.firstWithPrefix(prefix, HEADQUARTER_PREFIX_LENGTH));
+        int to = snapshot.lowerBound(SwiftCodeKey.firstWithPrefix(prefix + 1, HEADQUARTER_PREFIX_LENGTH));
+        
+        return IntStream.range(from, to)
+            .filter(index -> snapshot.key(index) != headquarterKey)
+            .mapToObj(this::toReducedResponse)
+            .toList();
+    }
+    
+    private Stream<ReducedSwiftCodeResponse> countryCodes(int country) {
+        return IntStream.range(0, snapshot.countrySize(country))
+            .mapToObj(position -> toReducedResponse(snapshot.countryCode(country, position)));
+    }
+    
+    private SwiftCodesPageResponse toPage(int from, int end, int limit) {
+        int to = Math.min(from + limit, end);
+        
+        return SwiftCodesPageResponse.builder()
+            .swiftCodes(IntStream.range(from, to).mapToObj(this::toReducedResponse).toList())
+            .nextPageToken(to < end ? PageToken.encode(snapshot.swiftCode(to - 1)) : null)
+            .build();
+    }
+    
+    private ReducedSwiftCodeResponse toReducedResponse(int index) {
+        long key = snapshot.key(index);
+        
+        return new ReducedSwiftCodeResponse(
+            snapshot.address(index),
+            snapshot.bankName(index),
+            snapshot.countryISO2(snapshot.country(index)),
+            SwiftCodeKey.isHeadquarter(key),
+            SwiftCodeKey.decode(key)
+        );
+    }
+}
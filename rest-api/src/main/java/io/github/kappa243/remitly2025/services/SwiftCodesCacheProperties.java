@@ -0,0 +1,22 @@
+package io.github.kappa243.remitly2025.services;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "swift-codes.cache")
+@Getter
+@Setter
+public class SwiftCodesCacheProperties {
+    
+    private boolean enabled = true;
+    
+    // maximum number of cached SWIFT code responses
+    private long maximumSize = 10_000;
+    
+    // time after which a cached response is reloaded from the database
+    private Duration timeToLive = Duration.ofMinutes(10);
+    
+}
@@ -0,0 +1,317 @@
+package io.github.kappa243.remitly2025.services;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.ImportCheckpoint;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.parser.CSVParser;
+import io.github.kappa243.remitly2025.parser.SwiftCodeRecord;
+import io.github.kappa243.remitly2025.repositories.ImportCheckpointsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads a SWIFT codes CSV file with parallel bulk writes.
+ * <p>
+ * Records are grouped into batches that end on an input row boundary and written by a pool of workers.
+ * Every write is an idempotent upsert, so batches may commit out of order and may be repeated after a crash.
+ * The checkpoint stores the last row up to which all batches are committed; a resumed load parses the file again
+ * from the beginning (to rebuild the parser state) and skips records emitted up to that row.
+ */
+@Service
+@Profile("!snapshot")
+@RequiredArgsConstructor
+@Slf4j
+public class SwiftCodesLoader {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    private final ImportCheckpointsRepository importCheckpointsRepository;
+    
+    private final CSVParser csvParser;
+    
+    private final SwiftCodesLoaderProperties properties;
+    
+    private final MeterRegistry meterRegistry;
+    
+    public void load(Resource resource) throws IOException, InterruptedException {
+        String source = resource.getFilename();
+        
+        ImportCheckpoint checkpoint = importCheckpointsRepository.findById(source)
+            .orElseGet(() -> importCheckpointsRepository.save(ImportCheckpoint.builder()
+                .source(source)
+                .committedRow(0)
+                .completed(false)
+                .updatedAt(Instant.now())
+                .build()));
+        
+        if (checkpoint.isCompleted()) {
+            log.info("{} is already loaded", source);
+            return;
+        }
+        
+        long totalRows = countRows(resource);
+        long resumeRow = checkpoint.getCommittedRow();
+        
+        if (resumeRow > 0) {
+            log.info("Resuming load of {} after row {} of {}", source, resumeRow, totalRows);
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads());
+        // bounds the number of parsed batches waiting for a worker
+        Semaphore pendingBatches = new Semaphore(properties.getThreads() * 2);
+        CheckpointTracker tracker = new CheckpointTracker(checkpoint, totalRows);
+        
+        List<SwiftCodeRecord> batch = new ArrayList<>(properties.getBatchSize());
+        
+        try (InputStream inputStream = resource.getInputStream()) {
+            csvParser.parseCSV(inputStream, record -> {
+                if (record.getRow() <= resumeRow) {
+                    return;
+                }
+                
+                // batches never split records emitted at the same row, so a committed batch covers whole rows
+                if (batch.size() >= properties.getBatchSize() && batch.get(batch.size() - 1).getRow() != record.getRow()) {
+                    submit(executor, pendingBatches, tracker, List.copyOf(batch));
+                    batch.clear();
+                }
+                
+                batch.add(record);
+            });
+            
+            if (!batch.isEmpty()) {
+                submit(executor, pendingBatches, tracker, List.copyOf(batch));
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        
+        tracker.complete();
+    }
+    
+    private void submit(ExecutorService executor, Semaphore pendingBatches, CheckpointTracker tracker, List<SwiftCodeRecord> batch) {
+        tracker.throwIfFailed();
+        
+        try {
+            pendingBatches.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading SWIFT codes", e);
+        }
+        
+        long sequence = tracker.register(batch.get(batch.size() - 1).getRow(), batch.size());
+        
+        executor.execute(() -> {
+            try {
+                writeBatch(batch);
+                tracker.commit(sequence);
+                meterRegistry.counter("swiftcodes.import.records").increment(batch.size());
+            } catch (RuntimeException e) {
+                meterRegistry.counter("swiftcodes.import.failed.batches").increment();
+                tracker.fail(e);
+            } finally {
+                pendingBatches.release();
+            }
+        });
+    }
+    
+    private void writeBatch(List<SwiftCodeRecord> batch) {
+        Map<String, CountryItem> countries = new HashMap<>();
+        
+        BulkOperations swiftCodeOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftCodeItem.class);
+        
+        for (SwiftCodeRecord record : batch) {
+            SwiftCodeItem swiftCodeItem = record.getSwiftCode();
+            countries.putIfAbsent(record.getCountry().getCountryISO2(), record.getCountry());
+            
+            Update update = new Update();
+            toDocument(swiftCodeItem).forEach(update::set);
+            
+            if (swiftCodeItem.isHeadquarter()) {
+                // branches may already be linked by a batch committed earlier
+                update.setOnInsert("branches", Collections.emptyList());
+            } else {
+                swiftCodeOperations.upsert(
+                    Query.query(Criteria.where("_id").is(swiftCodeItem.getSwiftCode().substring(0, 8) + "XXX")),
+                    new Update().addToSet("branches", swiftCodeItem)
+                );
+            }
+            
+            swiftCodeOperations.upsert(Query.query(Criteria.where("_id").is(swiftCodeItem.getSwiftCode())), update);
+        }
+        
+        BulkOperations countryOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CountryItem.class);
+        countries.values().forEach(country -> countryOperations.upsert(
+            Query.query(Criteria.where("_id").is(country.getCountryISO2())),
+            new Update().setOnInsert("countryName", country.getCountryName())
+        ));
+        
+        countryOperations.execute();
+        swiftCodeOperations.execute();
+    }
+    
+    private Document toDocument(SwiftCodeItem swiftCodeItem) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(swiftCodeItem, document);
+        
+        document.remove("_id");
+        document.remove("branches");
+        
+        return document;
+    }
+    
+    private long countRows(Resource resource) throws IOException {
+        long lines = 0;
+        
+        try (InputStream inputStream = resource.getInputStream()) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            
+            while ((read = inputStream.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+            }
+        }
+        
+        // without header
+        return Math.max(lines - 1, 0);
+    }
+    
+    private class CheckpointTracker {
+        
+        private ImportCheckpoint checkpoint;
+        
+        private final long totalRows;
+        
+        private final long startRow;
+        
+        private final long startTime = System.nanoTime();
+        
+        private long lastProgressTime = startTime;
+        
+        // batches not yet covered by the checkpoint, by sequence
+        private final Map<Long, Batch> batches = new HashMap<>();
+        
+        private long nextSequence = 0;
+        
+        private long nextToCommit = 0;
+        
+        private long committedRecords = 0;
+        
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        
+        CheckpointTracker(ImportCheckpoint checkpoint, long totalRows) {
+            this.checkpoint = checkpoint;
+            this.totalRows = totalRows;
+            this.startRow = checkpoint.getCommittedRow();
+        }
+        
+        synchronized long register(long lastRow, int size) {
+            batches.put(nextSequence, new Batch(lastRow, size));
+            return nextSequence++;
+        }
+        
+        synchronized void commit(long sequence) {
+            batches.get(sequence).committed = true;
+            
+            long committedRow = checkpoint.getCommittedRow();
+            
+            while (batches.containsKey(nextToCommit) && batches.get(nextToCommit).committed) {
+                Batch committed = batches.remove(nextToCommit++);
+                committedRow = committed.lastRow;
+                committedRecords += committed.size;
+            }
+            
+            if (committedRow != checkpoint.getCommittedRow()) {
+                save(committedRow, false);
+                logProgress(false);
+            }
+        }
+        
+        synchronized void complete() {
+            throwIfFailed();
+            
+            save(Math.max(checkpoint.getCommittedRow(), totalRows), true);
+            logProgress(true);
+        }
+        
+        void fail(RuntimeException e) {
+            log.error("Could not write batch of SWIFT codes", e);
+            failure.compareAndSet(null, e);
+        }
+        
+        void throwIfFailed() {
+            RuntimeException e = failure.get();
+            
+            if (e != null) {
+                throw new IllegalStateException("Loading stopped at row " + checkpoint.getCommittedRow() + ", it will be resumed on next start", e);
+            }
+        }
+        
+        private void save(long committedRow, boolean completed) {
+            checkpoint = importCheckpointsRepository.save(checkpoint.toBuilder()
+                .committedRow(committedRow)
+                .completed(completed)
+                .updatedAt(Instant.now())
+                .build());
+        }
+        
+        private void logProgress(boolean force) {
+            long now = System.nanoTime();
+            
+            if (!force && now - lastProgressTime < properties.getProgressInterval().toNanos()) {
+                return;
+            }
+            
+            lastProgressTime = now;
+            
+            double seconds = Math.max((now - startTime) / 1e9, 1e-3);
+            long loadedRows = checkpoint.getCommittedRow() - startRow;
+            
+            log.info("Loaded {} of {} rows ({} records, {} rows/s, {} rows remaining)",
+                checkpoint.getCommittedRow(), totalRows, committedRecords,
+                Math.round(loadedRows / seconds), Math.max(totalRows - checkpoint.getCommittedRow(), 0));
+        }
+    }
+    
+    private static class Batch {
+        
+        private final long lastRow;
+        
+        private final int size;
+        
+        private boolean committed = false;
+        
+        Batch(long lastRow, int size) {
+            this.lastRow = lastRow;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.kappa243.remitly2025.services;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "swift-codes.loader")
+@Getter
+@Setter
+public class SwiftCodesLoaderProperties {
+    
+    // records written by a single bulk operation
+    private int batchSize = 1000;
+    
+    // workers writing batches in parallel
+    private int threads = 4;
+    
+    private Duration progressInterval = Duration.ofSeconds(5);
+    
+}
@@ -0,0 +1,138 @@
+package io.github.kappa243.remitly2025.services;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesPageResponse;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import org.bson.Document;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Queries, updates and response mapping shared by {@link SwiftCodesServiceImpl} and
+ * {@link ReactiveSwiftCodesServiceImpl}, so both stacks read codes and write branch links and country versions the same
+ * way and only differ in how the queries are executed.
+ */
+final class SwiftCodesQueries {
+    
+    static final int BULK_BATCH_SIZE = 1000;
+    
+    private SwiftCodesQueries() {
+    }
+    
+    static String getHeadSwiftCode(String swiftCode) {
+        return swiftCode.substring(0, 8) + "XXX";
+    }
+    
+    static Query queryHeadquarter(String headSwiftCode) {
+        return Query.query(Criteria.where("_id").is(headSwiftCode));
+    }
+    
+    static Query queryHeadquarters(Collection<String> headSwiftCodes) {
+        return Query.query(Criteria.where("_id").in(headSwiftCodes));
+    }
+    
+    // headquarter of the branch, matched only when it does not list the branch yet
+    static Query queryUnlinkedHeadquarter(SwiftCodeItem branch) {
+        return Query.query(Criteria.where("_id").is(getHeadSwiftCode(branch.getSwiftCode())).and("branches._id").ne(branch.getSwiftCode()));
+    }
+    
+    // branch is appended on the server, so branches added at the same time are not lost
+    static Update linkBranch(SwiftCodeItem branch) {
+        return new Update().push("branches", branch).inc("version", 1);
+    }
+    
+    // only the entry linked before a failed insert has the version of the new branch
+    static Update unlinkLinkedBranch(SwiftCodeItem branch) {
+        return new Update().pull("branches", new Document("_id", branch.getSwiftCode()).append("version", branch.getVersion())).inc("version", 1);
+    }
+    
+    static Update unlinkBranch(String swiftCode) {
+        return new Update().pull("branches", new Document("_id", swiftCode)).inc("version", 1);
+    }
+    
+    // documents stored before versioning have no version, which is read as 0 and matched by null until the first
+    // versioned write of the document
+    static Query queryVersion(SwiftCodeItem swiftCodeItem) {
+        return Query.query(Criteria.where("_id").is(swiftCodeItem.getSwiftCode())
+            .and("version").in(swiftCodeItem.getVersion(), null));
+    }
+    
+    static Query queryCountry(String countryISO2) {
+        return Query.query(Criteria.where("_id").is(countryISO2));
+    }
+    
+    static Query queryCountries(Collection<String> countryISO2s) {
+        return Query.query(Criteria.where("_id").in(countryISO2s));
+    }
+    
+    // country requirements were not provided in task;
+    // we assume that country code is unique and is final after creation (dict),
+    // so the first added country defines the country name
+    static Update defineCountry(CountryItem country) {
+        return new Update().setOnInsert("countryName", country.getCountryName());
+    }
+    
+    // country version is changed after the code is written
+    static Update defineCountryAndIncrementVersion(CountryItem country) {
+        return defineCountry(country).inc("swiftCodesVersion", 1);
+    }
+    
+    static Update incrementCountryVersion() {
+        return new Update().inc("swiftCodesVersion", 1);
+    }
+    
+    // every code with the prefix is longer than the prefix and its remaining characters sort before '~'
+    static Range<String> prefixRange(String prefix, String after) {
+        return Range.of(
+            Range.Bound.exclusive(after.compareTo(prefix) > 0 ? after : prefix),
+            Range.Bound.exclusive(prefix + "~")
+        );
+    }
+    
+    // one additional code is read to find out whether there is a next page
+    static SwiftCodesPageResponse toPageResponse(List<SwiftCodeItem> swiftCodes, int limit) {
+        return SwiftCodesPageResponse.builder()
+            .swiftCodes(toReducedResponses(getPage(swiftCodes, limit)))
+            .nextPageToken(getNextPageToken(swiftCodes, limit))
+            .build();
+    }
+    
+    static List<SwiftCodeItem> getPage(List<SwiftCodeItem> swiftCodes, int limit) {
+        return swiftCodes.subList(0, Math.min(limit, swiftCodes.size()));
+    }
+    
+    static List<ReducedSwiftCodeResponse> toReducedResponses(List<SwiftCodeItem> swiftCodes) {
+        return swiftCodes.stream().map(ReducedSwiftCodeResponse::from).toList();
+    }
+    
+    static String getNextPageToken(List<SwiftCodeItem> swiftCodes, int limit) {
+        return swiftCodes.size() > limit ? PageToken.encode(swiftCodes.get(limit - 1).getSwiftCode()) : null;
+    }
+    
+    // the reactive template translates failed bulk writes, keeping the driver exception as the cause
+    static List<BulkWriteError> getBulkWriteErrors(Throwable e) {
+        if (e instanceof BulkOperationException bulkOperationException) {
+            return bulkOperationException.getErrors();
+        }
+        
+        if (e.getCause() instanceof MongoBulkWriteException mongoBulkWriteException) {
+            return mongoBulkWriteException.getWriteErrors();
+        }
+        
+        return List.of();
+    }
+    
+    static String getErrorMessage(BulkWriteError error) {
+        return error.getCategory() == ErrorCategory.DUPLICATE_KEY ? "SWIFT code already exists" : error.getMessage();
+    }
+}
@@ -0,0 +1,288 @@
+package io.github.kappa243.remitly2025.services;
+
+import io.github.kappa243.remitly2025.controllers.SwiftCodeSearchHit;
+import io.github.kappa243.remitly2025.model.SwiftCodeIndex;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram inverted index over bank names and addresses.
+ * <p>
+ * Text is split into words and every word is padded like in PostgreSQL {@code pg_trgm} (two spaces before, one after),
+ * so short and prefix queries still share trigrams with the indexed words. Results are ranked by the Jaccard similarity
+ * of the trigram sets, summed over both fields with address matches weighted lower than bank name matches.
+ * <p>
+ * Postings hold encoded {@link SwiftCodeKey} keys instead of code strings, as they take most of the index memory.
+ * <p>
+ * The index is built from the database once the application is ready and is updated by the service on every write
+ * of this instance; writes made while it is being built are replayed on the new index before it is published.
+ */
+@Component
+@Profile("!snapshot")
+@RequiredArgsConstructor
+@Slf4j
+public class SwiftCodesSearchIndex {
+    
+    private static final double ADDRESS_WEIGHT = 0.5;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private TrigramIndex index = new TrigramIndex();
+    
+    // changes applied while the index is rebuilt, null when no rebuild is running
+    private List<Consumer<TrigramIndex>> pendingChanges;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        TrigramIndex rebuiltIndex = new TrigramIndex();
+        Query query = new Query();
+        query.fields().exclude("branches");
+        
+        try (Stream<SwiftCodeItem> swiftCodes = mongoTemplate.stream(query, SwiftCodeItem.class)) {
+            swiftCodes.forEach(rebuiltIndex::add);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            
+            throw e;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(change -> change.accept(rebuiltIndex));
+            pendingChanges = null;
+            index = rebuiltIndex;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        log.info("Search index built with {} SWIFT codes in {} ms", rebuiltIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    public void add(SwiftCodeItem swiftCodeItem) {
+        apply(index -> index.add(swiftCodeItem));
+    }
+    
+    public void remove(String swiftCode) {
+        apply(index -> index.remove(swiftCode));
+    }
+    
+    public List<SwiftCodeSearchHit> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void apply(Consumer<TrigramIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        
+        if (text == null) {
+            return trigrams;
+        }
+        
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .toUpperCase(Locale.ROOT)
+            // stroke is not a combining mark, so it is not removed by the decomposition
+            .replace('Ł', 'L');
+        
+        for (String word : normalized.split("[^\\p{Alnum}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        
+        return trigrams;
+    }
+    
+    private static class TrigramIndex {
+        
+        private static final SwiftCodeIndex<Void> EMPTY_POSTINGS = new SwiftCodeIndex<>();
+        
+        private final SwiftCodeIndex<Entry> entries = new SwiftCodeIndex<>();
+        
+        private final Map<String, SwiftCodeIndex<Void>> bankNamePostings = new HashMap<>();
+        
+        private final Map<String, SwiftCodeIndex<Void>> addressPostings = new HashMap<>();
+        
+        void add(SwiftCodeItem swiftCodeItem) {
+            // codes that cannot be encoded are rejected by the API, so they are never searched for
+            if (!SwiftCodeKey.isValid(swiftCodeItem.getSwiftCode())) {
+                return;
+            }
+            
+            long swiftCodeKey = SwiftCodeKey.encode(swiftCodeItem.getSwiftCode());
+            remove(swiftCodeKey);
+            
+            Entry entry = new Entry(swiftCodeItem, trigrams(swiftCodeItem.getBankName()), trigrams(swiftCodeItem.getAddress()));
+            entries.put(swiftCodeKey, entry);
+            
+            entry.bankNameTrigrams.forEach(trigram -> bankNamePostings.computeIfAbsent(trigram, t -> new SwiftCodeIndex<>()).add(swiftCodeKey));
+            entry.addressTrigrams.forEach(trigram -> addressPostings.computeIfAbsent(trigram, t -> new SwiftCodeIndex<>()).add(swiftCodeKey));
+        }
+        
+        void remove(String swiftCode) {
+            if (SwiftCodeKey.isValid(swiftCode)) {
+                remove(SwiftCodeKey.encode(swiftCode));
+            }
+        }
+        
+        private void remove(long swiftCodeKey) {
+            Entry entry = entries.remove(swiftCodeKey);
+            
+            if (entry == null) {
+                return;
+            }
+            
+            removePostings(bankNamePostings, entry.bankNameTrigrams, swiftCodeKey);
+            removePostings(addressPostings, entry.addressTrigrams, swiftCodeKey);
+        }
+        
+        int size() {
+            return entries.size();
+        }
+        
+        List<SwiftCodeSearchHit> search(String query, int limit) {
+            Set<String> queryTrigrams = trigrams(query);
+            
+            // matched bank name and address trigrams per SWIFT code
+            SwiftCodeIndex<int[]> matches = new SwiftCodeIndex<>();
+            
+            for (String trigram : queryTrigrams) {
+                bankNamePostings.getOrDefault(trigram, EMPTY_POSTINGS)
+                    .forEach((swiftCodeKey, ignored) -> matches.computeIfAbsent(swiftCodeKey, key -> new int[2])[0]++);
+                addressPostings.getOrDefault(trigram, EMPTY_POSTINGS)
+                    .forEach((swiftCodeKey, ignored) -> matches.computeIfAbsent(swiftCodeKey, key -> new int[2])[1]++);
+            }
+            
+            Comparator<SwiftCodeSearchHit> ranking = Comparator.comparingDouble(SwiftCodeSearchHit::getScore)
+                .thenComparing(SwiftCodeSearchHit::getSwiftCode, Comparator.reverseOrder());
+            
+            // worst of the best hits on top, so it is replaced when a better hit is found
+            PriorityQueue<SwiftCodeSearchHit> bestHits = new PriorityQueue<>(limit + 1, ranking);
+            
+            matches.forEach((swiftCodeKey, matched) -> {
+                Entry entry = entries.get(swiftCodeKey);
+                double score = similarity(matched[0], queryTrigrams.size(), entry.bankNameTrigrams.size())
+                    + ADDRESS_WEIGHT * similarity(matched[1], queryTrigrams.size(), entry.addressTrigrams.size());
+                
+                bestHits.add(entry.toHit(score));
+                
+                if (bestHits.size() > limit) {
+                    bestHits.poll();
+                }
+            });
+            
+            List<SwiftCodeSearchHit> hits = new ArrayList<>(bestHits);
+            hits.sort(ranking.reversed());
+            
+            return hits;
+        }
+        
+        private static double similarity(int matched, int querySize, int fieldSize) {
+            int union = querySize + fieldSize - matched;
+            return union == 0 ? 0 : (double) matched / union;
+        }
+        
+        private static void removePostings(Map<String, SwiftCodeIndex<Void>> postings, Set<String> trigrams, long swiftCodeKey) {
+            for (String trigram : trigrams) {
+                SwiftCodeIndex<Void> swiftCodes = postings.get(trigram);
+                swiftCodes.remove(swiftCodeKey);
+                
+                if (swiftCodes.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+    
+    private static class Entry {
+        
+        private final String swiftCode;
+        
+        private final String bankName;
+        
+        private final String address;
+        
+        private final String countryISO2;
+        
+        private final boolean headquarter;
+        
+        private final Set<String> bankNameTrigrams;
+        
+        private final Set<String> addressTrigrams;
+        
+        Entry(SwiftCodeItem swiftCodeItem, Set<String> bankNameTrigrams, Set<String> addressTrigrams) {
+            this.swiftCode = swiftCodeItem.getSwiftCode();
+            this.bankName = swiftCodeItem.getBankName();
+            this.address = swiftCodeItem.getAddress();
+            this.countryISO2 = swiftCodeItem.getCountryISO2().getCountryISO2();
+            this.headquarter = swiftCodeItem.isHeadquarter();
+            this.bankNameTrigrams = bankNameTrigrams;
+            this.addressTrigrams = addressTrigrams;
+        }
+        
+        SwiftCodeSearchHit toHit(double score) {
+            return new SwiftCodeSearchHit(swiftCode, bankName, address, countryISO2, headquarter, score);
+        }
+    }
+}
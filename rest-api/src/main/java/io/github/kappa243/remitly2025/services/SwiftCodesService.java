@@ -1,21 +1,48 @@
 package io.github.kappa243.remitly2025.services;
 
+import io.github.kappa243.remitly2025.controllers.BulkImportResponse;
 import io.github.kappa243.remitly2025.controllers.CountrySwiftCodesResponse;
 import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesLookupResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesPageResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesSearchResponse;
 import io.github.kappa243.remitly2025.exceptions.ChildSwiftCodesFoundException;
 import io.github.kappa243.remitly2025.exceptions.CountryNotExistsException;
 import io.github.kappa243.remitly2025.exceptions.HeadSwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.exceptions.InvalidPageTokenException;
 import io.github.kappa243.remitly2025.exceptions.SwiftCodeAlreadyExistsException;
 import io.github.kappa243.remitly2025.exceptions.SwiftCodeNotFoundException;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.parser.BulkImportRow;
+
+import java.util.Collection;
+import java.util.Iterator;
 
 public interface SwiftCodesService {
     
     SwiftCodeResponse getSwiftCodeDataBySwiftCode(String swiftCode) throws SwiftCodeNotFoundException;
     
+    long getSwiftCodeVersion(String swiftCode) throws SwiftCodeNotFoundException;
+    
+    SwiftCodesLookupResponse lookupSwiftCodesData(Collection<String> swiftCodes);
+    
     SwiftCodeResponse addSwiftCodeData(SwiftCodeItem swiftCodeItem) throws SwiftCodeAlreadyExistsException, HeadSwiftCodeNotFoundException;
     
     CountrySwiftCodesResponse getSwiftCodesDataByCountryISO2(String countryISO2) throws CountryNotExistsException;
     
+    long getCountryVersion(String countryISO2) throws CountryNotExistsException;
+    
+    CountrySwiftCodesResponse getSwiftCodesDataByCountryISO2(String countryISO2, int limit, String pageToken) throws CountryNotExistsException, InvalidPageTokenException;
+    
+    SwiftCodesPageResponse getSwiftCodesData(int limit, String pageToken) throws InvalidPageTokenException;
+    
+    SwiftCodesPageResponse getSwiftCodesDataByPrefix(String prefix, int limit, String pageToken) throws InvalidPageTokenException;
+    
+    SwiftCodesSearchResponse searchSwiftCodesData(String query, int limit);
+    
+    CountrySwiftCodesStream streamSwiftCodesDataByCountryISO2(String countryISO2) throws CountryNotExistsException;
+    
     void deleteSwiftCodeData(String swiftCode) throws SwiftCodeNotFoundException, ChildSwiftCodesFoundException;
+    
+    BulkImportResponse addSwiftCodesData(Iterator<BulkImportRow> rows);
 }
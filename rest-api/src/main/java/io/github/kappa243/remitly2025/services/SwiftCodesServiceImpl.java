@@ -1,101 +1,368 @@
 package io.github.kappa243.remitly2025.services;
 
+import com.mongodb.client.result.UpdateResult;
+import io.github.kappa243.remitly2025.controllers.BulkImportResponse;
 import io.github.kappa243.remitly2025.controllers.CountrySwiftCodesResponse;
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
 import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesLookupResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesPageResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesSearchResponse;
 import io.github.kappa243.remitly2025.exceptions.ChildSwiftCodesFoundException;
 import io.github.kappa243.remitly2025.exceptions.CountryNotExistsException;
 import io.github.kappa243.remitly2025.exceptions.HeadSwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.exceptions.InvalidPageTokenException;
 import io.github.kappa243.remitly2025.exceptions.SwiftCodeAlreadyExistsException;
 import io.github.kappa243.remitly2025.exceptions.SwiftCodeNotFoundException;
 import io.github.kappa243.remitly2025.model.CountryItem;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.parser.BulkImportRow;
 import io.github.kappa243.remitly2025.repositories.CountriesRepository;
 import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.projection.ProjectionFactory;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.BULK_BATCH_SIZE;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.defineCountry;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.defineCountryAndIncrementVersion;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.getHeadSwiftCode;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.getNextPageToken;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.getPage;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.incrementCountryVersion;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.linkBranch;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.prefixRange;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryCountries;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryCountry;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryHeadquarter;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryHeadquarters;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryUnlinkedHeadquarter;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.queryVersion;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.toPageResponse;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.toReducedResponses;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.unlinkBranch;
+import static io.github.kappa243.remitly2025.services.SwiftCodesQueries.unlinkLinkedBranch;
 
 @Service
+@Profile("!snapshot")
 @RequiredArgsConstructor
+@Timed(value = "swiftcodes.service", histogram = true)
 public class SwiftCodesServiceImpl implements SwiftCodesService {
     
     private final SwiftCodesRepository swiftCodesRepository;
     private final CountriesRepository countriesRepository;
     
-    private final ProjectionFactory projectionFactory;
+    private final MongoTemplate mongoTemplate;
+    
+    private final SwiftCodesSearchIndex swiftCodesSearchIndex;
     
     
     @Override
     public SwiftCodeResponse getSwiftCodeDataBySwiftCode(String swiftCode) throws SwiftCodeNotFoundException {
-        return swiftCodesRepository.findBySwiftCode(swiftCode)
+        return swiftCodesRepository.findById(swiftCode)
+            .map(SwiftCodeResponse::from)
             .orElseThrow(SwiftCodeNotFoundException::new);
     }
     
     @Override
-    public SwiftCodeResponse addSwiftCodeData(SwiftCodeItem swiftCodeItem) throws SwiftCodeAlreadyExistsException, HeadSwiftCodeNotFoundException {
-        // check if bank already exists
-        swiftCodesRepository.findById(swiftCodeItem.getSwiftCode()).ifPresent(sc -> {
-            throw new SwiftCodeAlreadyExistsException();
-        });
-        
-        // check if country exists
-        Optional<CountryItem> country = countriesRepository.findById(swiftCodeItem.getCountryISO2().getCountryISO2());
-        if (country.isEmpty())
-            countriesRepository.save(swiftCodeItem.getCountryISO2());
+    public long getSwiftCodeVersion(String swiftCode) throws SwiftCodeNotFoundException {
+        return swiftCodesRepository.findVersionBySwiftCode(swiftCode)
+            .map(SwiftCodeItem::getVersion)
+            .orElseThrow(SwiftCodeNotFoundException::new);
+    }
+    
+    @Override
+    public SwiftCodesLookupResponse lookupSwiftCodesData(Collection<String> swiftCodes) {
+        Set<String> requestedSwiftCodes = new LinkedHashSet<>(swiftCodes);
         
-        // country requirements were not provided in task;
-        // we assume that country code is unique and is final after creation (dict)
+        Map<String, SwiftCodeResponse> foundSwiftCodes = new HashMap<>();
+        swiftCodesRepository.findAllBySwiftCodeIn(requestedSwiftCodes)
+            .forEach(swiftCodeItem -> foundSwiftCodes.put(swiftCodeItem.getSwiftCode(), SwiftCodeResponse.from(swiftCodeItem)));
         
+        return SwiftCodesLookupResponse.builder()
+            .swiftCodes(requestedSwiftCodes.stream().filter(foundSwiftCodes::containsKey).map(foundSwiftCodes::get).toList())
+            .notFound(requestedSwiftCodes.stream().filter(swiftCode -> !foundSwiftCodes.containsKey(swiftCode)).toList())
+            .build();
+    }
+    
+    @Override
+    public SwiftCodeResponse addSwiftCodeData(SwiftCodeItem swiftCodeItem) throws SwiftCodeAlreadyExistsException, HeadSwiftCodeNotFoundException {
+        // existing codes, countries and headquarters are detected by the writes themselves instead of being read first
         SwiftCodeItem createdSwiftCodeData;
+        swiftCodeItem.setVersion(SwiftCodeItem.initialVersion());
         
         if (!swiftCodeItem.isHeadquarter()) {
-            String headSwiftCode = swiftCodeItem.getSwiftCode().substring(0, 8) + "XXX";
-            Optional<SwiftCodeItem> headSwiftCodeData = swiftCodesRepository.findById(headSwiftCode);
+            String headSwiftCode = getHeadSwiftCode(swiftCodeItem.getSwiftCode());
             
-            if (headSwiftCodeData.isEmpty()) {
+            // branch is linked before it is inserted, so a headquarter deleted at the same time either lists it or is
+            // not found
+            UpdateResult linked = mongoTemplate.updateFirst(queryUnlinkedHeadquarter(swiftCodeItem), linkBranch(swiftCodeItem), SwiftCodeItem.class);
+            
+            if (linked.getMatchedCount() == 0) {
+                // an existing headquarter is not matched only when it already lists the branch
+                if (swiftCodesRepository.existsById(headSwiftCode)) {
+                    throw new SwiftCodeAlreadyExistsException();
+                }
+                
                 throw new HeadSwiftCodeNotFoundException();
             }
             
-            headSwiftCodeData.get().getBranches().add(swiftCodeItem);
-            
-            createdSwiftCodeData = swiftCodesRepository.save(swiftCodeItem);
-            swiftCodesRepository.save(headSwiftCodeData.get());
+            try {
+                createdSwiftCodeData = insert(swiftCodeItem);
+            } catch (RuntimeException e) {
+                // any failed insert leaves the headquarter listing a branch which is not stored
+                mongoTemplate.updateFirst(queryHeadquarter(headSwiftCode), unlinkLinkedBranch(swiftCodeItem), SwiftCodeItem.class);
+                throw e;
+            }
         } else {
             if (swiftCodeItem.getBranches() == null) {
                 swiftCodeItem.setBranches(Collections.emptyList());
             }
             
-            createdSwiftCodeData = swiftCodesRepository.save(swiftCodeItem);
+            createdSwiftCodeData = insert(swiftCodeItem);
         }
         
-        return projectionFactory.createProjection(SwiftCodeResponse.class, createdSwiftCodeData);
+        CountryItem country = swiftCodeItem.getCountryISO2();
+        mongoTemplate.upsert(queryCountry(country.getCountryISO2()), defineCountryAndIncrementVersion(country), CountryItem.class);
+        
+        swiftCodesSearchIndex.add(swiftCodeItem);
+        
+        return SwiftCodeResponse.from(createdSwiftCodeData);
     }
     
     @Override
     public CountrySwiftCodesResponse getSwiftCodesDataByCountryISO2(String countryISO2) throws CountryNotExistsException {
+        // country is read before its codes and its version is changed after them, so the version of a listing
+        // is never newer than the listed codes
         CountryItem countryData = countriesRepository.findById(countryISO2)
             .orElseThrow(CountryNotExistsException::new);
         
         return CountrySwiftCodesResponse.builder()
             .countryISO2(countryData.getCountryISO2())
             .countryName(countryData.getCountryName())
-            .swiftCodes(swiftCodesRepository.findAllByCountryISO2(countryData))
+            .swiftCodes(toReducedResponses(swiftCodesRepository.findAllByCountryISO2_CountryISO2(countryData.getCountryISO2())))
+            .version(countryData.getSwiftCodesVersion())
             .build();
     }
     
+    @Override
+    public long getCountryVersion(String countryISO2) throws CountryNotExistsException {
+        return countriesRepository.findSwiftCodesVersionByCountryISO2(countryISO2)
+            .map(CountryItem::getSwiftCodesVersion)
+            .orElseThrow(CountryNotExistsException::new);
+    }
+    
+    @Override
+    public CountrySwiftCodesResponse getSwiftCodesDataByCountryISO2(String countryISO2, int limit, String pageToken) throws CountryNotExistsException, InvalidPageTokenException {
+        String after = pageToken != null ? PageToken.decode(pageToken) : "";
+        
+        CountryItem countryData = countriesRepository.findById(countryISO2)
+            .orElseThrow(CountryNotExistsException::new);
+        
+        List<SwiftCodeItem> swiftCodes = swiftCodesRepository.findAllByCountryISO2_CountryISO2AndSwiftCodeGreaterThanOrderBySwiftCodeAsc(
+            countryISO2, after, Limit.of(limit + 1)
+        );
+        
+        return CountrySwiftCodesResponse.builder()
+            .countryISO2(countryData.getCountryISO2())
+            .countryName(countryData.getCountryName())
+            .swiftCodes(toReducedResponses(getPage(swiftCodes, limit)))
+            .nextPageToken(getNextPageToken(swiftCodes, limit))
+            .version(countryData.getSwiftCodesVersion())
+            .build();
+    }
+    
+    @Override
+    public SwiftCodesPageResponse getSwiftCodesData(int limit, String pageToken) throws InvalidPageTokenException {
+        String after = pageToken != null ? PageToken.decode(pageToken) : "";
+        
+        return toPageResponse(swiftCodesRepository.findAllBySwiftCodeGreaterThanOrderBySwiftCodeAsc(after, Limit.of(limit + 1)), limit);
+    }
+    
+    @Override
+    public SwiftCodesPageResponse getSwiftCodesDataByPrefix(String prefix, int limit, String pageToken) throws InvalidPageTokenException {
+        String after = pageToken != null ? PageToken.decode(pageToken) : "";
+        
+        return toPageResponse(swiftCodesRepository.findAllBySwiftCodeBetweenOrderBySwiftCodeAsc(prefixRange(prefix, after), Limit.of(limit + 1)), limit);
+    }
+    
+    @Override
+    public SwiftCodesSearchResponse searchSwiftCodesData(String query, int limit) {
+        return SwiftCodesSearchResponse.builder()
+            .swiftCodes(swiftCodesSearchIndex.search(query, limit))
+            .build();
+    }
+    
+    @Override
+    public CountrySwiftCodesStream streamSwiftCodesDataByCountryISO2(String countryISO2) throws CountryNotExistsException {
+        CountryItem countryData = countriesRepository.findById(countryISO2)
+            .orElseThrow(CountryNotExistsException::new);
+        
+        return new CountrySwiftCodesStream(
+            countryData.getCountryISO2(),
+            countryData.getCountryName(),
+            countryData.getSwiftCodesVersion(),
+            swiftCodesRepository.streamAllByCountryISO2_CountryISO2OrderBySwiftCodeAsc(countryISO2).map(ReducedSwiftCodeResponse::from)
+        );
+    }
+    
     @Override
     public void deleteSwiftCodeData(String swiftCode) throws SwiftCodeNotFoundException, ChildSwiftCodesFoundException {
-        SwiftCodeItem swiftCodeData = swiftCodesRepository.findById(swiftCode)
-            .orElseThrow(SwiftCodeNotFoundException::new);
+        SwiftCodeItem swiftCodeData;
+        
+        // code is removed only in the version it was checked in; a branch added to a headquarter in the meantime
+        // changes its version, so it is read and checked again
+        do {
+            swiftCodeData = swiftCodesRepository.findById(swiftCode)
+                .orElseThrow(SwiftCodeNotFoundException::new);
+            
+            if (swiftCodeData.isHeadquarter() && !swiftCodeData.getBranches().isEmpty()) {
+                throw new ChildSwiftCodesFoundException();
+            }
+        } while (mongoTemplate.remove(queryVersion(swiftCodeData), SwiftCodeItem.class).getDeletedCount() == 0);
+        
+        swiftCodesSearchIndex.remove(swiftCode);
+        
+        if (!swiftCodeData.isHeadquarter()) {
+            mongoTemplate.updateFirst(queryHeadquarter(getHeadSwiftCode(swiftCode)), unlinkBranch(swiftCode), SwiftCodeItem.class);
+        }
+        
+        incrementCountryVersions(Set.of(swiftCodeData.getCountryISO2().getCountryISO2()));
+    }
+    
+    @Override
+    public BulkImportResponse addSwiftCodesData(Iterator<BulkImportRow> rows) {
+        BulkImportResponse response = new BulkImportResponse();
+        List<BulkImportRow> batch = new ArrayList<>(BULK_BATCH_SIZE);
+        
+        while (rows.hasNext()) {
+            BulkImportRow row = rows.next();
+            
+            if (!row.isValid()) {
+                response.addFailed(row.getRow(), row.getSwiftCode(), row.getError());
+                continue;
+            }
+            
+            batch.add(row);
+            
+            if (batch.size() == BULK_BATCH_SIZE) {
+                writeBatch(batch, response);
+                batch.clear();
+            }
+        }
+        
+        if (!batch.isEmpty()) {
+            writeBatch(batch, response);
+        }
+        
+        return response;
+    }
+    
+    private void writeBatch(List<BulkImportRow> rows, BulkImportResponse response) {
+        BulkImportBatch batch = new BulkImportBatch(rows, response);
+        
+        Set<String> missingHeadSwiftCodes = batch.getMissingHeadSwiftCodes();
+        batch.accept(missingHeadSwiftCodes.isEmpty()
+            ? List.of()
+            : mongoTemplate.findDistinct(queryHeadquarters(missingHeadSwiftCodes), "_id", SwiftCodeItem.class, String.class));
+        
+        if (batch.isEmpty()) {
+            return;
+        }
         
-        if (swiftCodeData.isHeadquarter() && !swiftCodeData.getBranches().isEmpty()) {
-            throw new ChildSwiftCodesFoundException();
+        BulkOperations countryOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CountryItem.class);
+        batch.getCountries().forEach(country -> countryOperations.upsert(queryCountry(country.getCountryISO2()), defineCountry(country)));
+        countryOperations.execute();
+        
+        List<SwiftCodeItem> headquarters = batch.getHeadquarters();
+        
+        if (!headquarters.isEmpty()) {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftCodeItem.class).insert(headquarters).execute();
+            } catch (BulkOperationException e) {
+                batch.headquartersFailed(e.getErrors());
+            }
         }
         
-        swiftCodesRepository.delete(swiftCodeData);
+        List<SwiftCodeItem> branches = batch.getBranches();
+        
+        if (!branches.isEmpty()) {
+            writeBranches(batch, branches);
+        }
+        
+        Set<String> changedCountries = new HashSet<>();
+        
+        for (SwiftCodeItem swiftCodeItem : batch.complete()) {
+            swiftCodesSearchIndex.add(swiftCodeItem);
+            changedCountries.add(swiftCodeItem.getCountryISO2().getCountryISO2());
+        }
+        
+        incrementCountryVersions(changedCountries);
+    }
+    
+    private void writeBranches(BulkImportBatch batch, List<SwiftCodeItem> branches) {
+        // branches are linked before they are inserted, as a single branch is
+        BulkOperations linkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftCodeItem.class);
+        branches.forEach(branch -> linkOperations.updateOne(queryUnlinkedHeadquarter(branch), linkBranch(branch)));
+        
+        try {
+            if (linkOperations.execute().getMatchedCount() < branches.size()) {
+                batch.linkFailed(mongoTemplate.find(queryHeadquarters(batch.getBranchHeadSwiftCodes()), SwiftCodeItem.class));
+            }
+            
+            List<SwiftCodeItem> linked = batch.getBranches();
+            
+            if (!linked.isEmpty()) {
+                try {
+                    mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftCodeItem.class).insert(linked).execute();
+                } catch (BulkOperationException e) {
+                    unlinkBranches(batch.branchesFailed(e.getErrors()));
+                }
+            }
+        } catch (RuntimeException e) {
+            // the versioned unlink does not match branches which were not linked by this batch
+            unlinkBranches(branches);
+            throw e;
+        }
+    }
+    
+    private void unlinkBranches(List<SwiftCodeItem> branches) {
+        BulkOperations unlinkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftCodeItem.class);
+        branches.forEach(branch -> unlinkOperations.updateOne(queryHeadquarter(getHeadSwiftCode(branch.getSwiftCode())), unlinkLinkedBranch(branch)));
+        unlinkOperations.execute();
+    }
+    
+    private void incrementCountryVersions(Set<String> countryISO2s) {
+        if (!countryISO2s.isEmpty()) {
+            mongoTemplate.updateMulti(queryCountries(countryISO2s), incrementCountryVersion(), CountryItem.class);
+        }
+    }
+    
+    private SwiftCodeItem insert(SwiftCodeItem swiftCodeItem) throws SwiftCodeAlreadyExistsException {
+        // insert fails for an existing code instead of replacing it
+        try {
+            return swiftCodesRepository.insert(swiftCodeItem);
+        } catch (DuplicateKeyException e) {
+            throw new SwiftCodeAlreadyExistsException();
+        }
     }
     
 }
@@ -0,0 +1,230 @@
+package io.github.kappa243.remitly2025.services;
+
+import io.github.kappa243.remitly2025.model.SwiftCodeKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only SWIFT codes directory memory-mapped from a file written by {@link SwiftCodesSnapshotWriter}.
+ * <p>
+ * Codes are fixed width records sorted by {@link SwiftCodeKey}, so a code, the branches of a headquarter (the codes
+ * sharing its first 8 characters) and the codes with a prefix are found by binary search. Countries list the positions
+ * of their codes in the same order, and all text is stored once in a string pool the records point to. Nothing is read
+ * into the heap when the file is opened; the operating system pages it in as it is searched.
+ * <p>
+ * Layout, big-endian:
+ * <pre>
+ * header    magic, format, version (long), code count, country count, offsets of the sections, padded to 64 bytes
+ * codes     key (long), bank name, address, country index                   sorted by key
+ * country   code indices (int) of every country, grouped by country         sorted by key within a country
+ * codes
+ * countries ISO2 code (2 ASCII bytes), padding, name, first country code, number of codes   sorted by ISO2 code
+ * strings   length (unsigned short) and UTF-8 bytes, referenced by their offset in the pool
+ * </pre>
+ */
+public class SwiftCodesSnapshot {
+    
+    static final int MAGIC = 0x53574653;
+    
+    static final int FORMAT = 1;
+    
+    static final int HEADER_SIZE = 64;
+    
+    static final int CODE_SIZE = 20;
+    
+    static final int COUNTRY_SIZE = 16;
+    
+    private final ByteBuffer buffer;
+    
+    private final long version;
+    
+    private final int codeCount;
+    
+    private final int countryCount;
+    
+    private final int codesOffset;
+    
+    private final int countryCodesOffset;
+    
+    private final int countriesOffset;
+    
+    private final int stringsOffset;
+    
+    private SwiftCodesSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.version = buffer.getLong(8);
+        this.codeCount = buffer.getInt(16);
+        this.countryCount = buffer.getInt(20);
+        this.codesOffset = buffer.getInt(24);
+        this.countryCodesOffset = buffer.getInt(28);
+        this.countriesOffset = buffer.getInt(32);
+        this.stringsOffset = buffer.getInt(36);
+    }
+    
+    public static SwiftCodesSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // a single mapping is limited to 2 GB, far more than the whole SWIFT directory takes
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " is larger than 2 GB");
+            }
+            
+            // the mapping stays valid after the channel is closed
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not a SWIFT codes snapshot");
+            }
+            
+            if (buffer.getInt(4) != FORMAT) {
+                throw new IOException("Snapshot " + path + " has unsupported format " + buffer.getInt(4));
+            }
+            
+            return new SwiftCodesSnapshot(buffer);
+        }
+    }
+    
+    /**
+     * Checksum of the snapshot content, changed whenever the snapshot is compiled from different data.
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    public int size() {
+        return codeCount;
+    }
+    
+    public int countryCount() {
+        return countryCount;
+    }
+    
+    /**
+     * Index of the code with the key, or -1 if there is none.
+     */
+    public int indexOf(long key) {
+        int index = lowerBound(key);
+        return index < codeCount && key(index) == key ? index : -1;
+    }
+    
+    /**
+     * Index of the first code with a key not lower than the given one, {@link #size()} if there is none.
+     */
+    public int lowerBound(long key) {
+        int low = 0;
+        int high = codeCount;
+        
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            
+            if (key(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        
+        return low;
+    }
+    
+    public long key(int index) {
+        return buffer.getLong(codesOffset + index * CODE_SIZE);
+    }
+    
+    public String swiftCode(int index) {
+        return SwiftCodeKey.decode(key(index));
+    }
+    
+    public String bankName(int index) {
+        return string(buffer.getInt(codesOffset + index * CODE_SIZE + 8));
+    }
+    
+    public String address(int index) {
+        return string(buffer.getInt(codesOffset + index * CODE_SIZE + 12));
+    }
+    
+    public int country(int index) {
+        return buffer.getInt(codesOffset + index * CODE_SIZE + 16);
+    }
+    
+    /**
+     * Index of the country, or -1 if there is none.
+     */
+    public int countryIndexOf(String countryISO2) {
+        if (countryISO2 == null || countryISO2.length() != 2) {
+            return -1;
+        }
+        
+        int searched = countryISO2.charAt(0) << 8 | countryISO2.charAt(1);
+        int low = 0;
+        int high = countryCount - 1;
+        
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int current = Short.toUnsignedInt(buffer.getShort(countriesOffset + middle * COUNTRY_SIZE));
+            
+            if (current < searched) {
+                low = middle + 1;
+            } else if (current > searched) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        
+        return -1;
+    }
+    
+    public String countryISO2(int country) {
+        int offset = countriesOffset + country * COUNTRY_SIZE;
+        return new String(new char[] {(char) buffer.get(offset), (char) buffer.get(offset + 1)});
+    }
+    
+    public String countryName(int country) {
+        return string(buffer.getInt(countriesOffset + country * COUNTRY_SIZE + 4));
+    }
+    
+    public int countrySize(int country) {
+        return buffer.getInt(countriesOffset + country * COUNTRY_SIZE + 12);
+    }
+    
+    /**
+     * Index of the code at the position within the codes of the country, which are ordered by key.
+     */
+    public int countryCode(int country, int position) {
+        int first = buffer.getInt(countriesOffset + country * COUNTRY_SIZE + 8);
+        return buffer.getInt(countryCodesOffset + (first + position) * Integer.BYTES);
+    }
+    
+    /**
+     * Position of the first code of the country with a key not lower than the given one.
+     */
+    public int countryLowerBound(int country, long key) {
+        int low = 0;
+        int high = countrySize(country);
+        
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            
+            if (key(countryCode(country, middle)) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        
+        return low;
+    }
+    
+    private String string(int offset) {
+        int position = stringsOffset + offset;
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(position))];
+        buffer.get(position + Short.BYTES, bytes);
+        
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.kappa243.remitly2025.services;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "swift-codes.snapshot")
+@Getter
+@Setter
+public class SwiftCodesSnapshotProperties {
+    
+    // snapshot served by the snapshot profile
+    private Path path = Path.of("swift_codes.snapshot");
+    
+    // CSV the snapshot is compiled from when the file does not exist yet
+    private Resource source = new ClassPathResource("swift_codes.csv");
+    
+    // when set, an instance backed by MongoDB writes the stored codes to this file after startup
+    private Path exportPath;
+    
+}
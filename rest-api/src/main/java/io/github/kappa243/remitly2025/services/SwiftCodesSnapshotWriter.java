@@ -0,0 +1,213 @@
+package io.github.kappa243.remitly2025.services;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeIndex;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeKey;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compiles SWIFT codes, e.g. parsed from the CSV or read from MongoDB, into a {@link SwiftCodesSnapshot} file.
+ * <p>
+ * Codes are collected in memory and sorted when written. The file is written next to the target and moved in place
+ * once complete, so a replica never maps a partially written snapshot.
+ */
+public class SwiftCodesSnapshotWriter {
+    
+    private final SwiftCodeIndex<Code> codes = new SwiftCodeIndex<>();
+    
+    private final Map<String, String> countryNames = new HashMap<>();
+    
+    /**
+     * Adds a country without codes or defines the name of a country before its codes are added.
+     */
+    public void addCountry(CountryItem countryItem) {
+        if (countryItem.getCountryISO2() == null || countryItem.getCountryISO2().length() != 2) {
+            throw new IllegalArgumentException("Invalid country code: " + countryItem.getCountryISO2());
+        }
+        
+        countryNames.putIfAbsent(countryItem.getCountryISO2(), countryItem.getCountryName());
+    }
+    
+    /**
+     * Adds a code; like in the database, the first added code and the first added country name are kept.
+     */
+    public void add(SwiftCodeItem swiftCodeItem) {
+        CountryItem countryItem = swiftCodeItem.getCountryISO2();
+        addCountry(countryItem);
+        
+        codes.computeIfAbsent(SwiftCodeKey.encode(swiftCodeItem.getSwiftCode()),
+            key -> new Code(swiftCodeItem.getBankName(), swiftCodeItem.getAddress(), countryItem.getCountryISO2()));
+    }
+    
+    public int size() {
+        return codes.size();
+    }
+    
+    public void write(Path path) throws IOException {
+        long[] keys = new long[codes.size()];
+        int[] count = {0};
+        codes.forEach((key, code) -> keys[count[0]++] = key);
+        Arrays.sort(keys);
+        
+        List<String> countries = new ArrayList<>(new TreeMap<>(countryNames).keySet());
+        Map<String, Integer> countryIndices = new HashMap<>();
+        for (String countryISO2 : countries) {
+            countryIndices.put(countryISO2, countryIndices.size());
+        }
+        
+        // code indices of every country in key order, countries follow each other
+        int[] countrySizes = new int[countries.size()];
+        for (long key : keys) {
+            countrySizes[countryIndices.get(codes.get(key).countryISO2)]++;
+        }
+        
+        int[] countryStarts = new int[countries.size()];
+        for (int i = 1; i < countries.size(); i++) {
+            countryStarts[i] = countryStarts[i - 1] + countrySizes[i - 1];
+        }
+        
+        int[] countryCodes = new int[keys.length];
+        int[] countryFilled = countryStarts.clone();
+        for (int i = 0; i < keys.length; i++) {
+            countryCodes[countryFilled[countryIndices.get(codes.get(keys[i]).countryISO2)]++] = i;
+        }
+        
+        StringPool strings = new StringPool();
+        
+        long codesOffset = SwiftCodesSnapshot.HEADER_SIZE;
+        long countryCodesOffset = codesOffset + (long) keys.length * SwiftCodesSnapshot.CODE_SIZE;
+        long countriesOffset = countryCodesOffset + (long) keys.length * Integer.BYTES;
+        long stringsOffset = countriesOffset + (long) countries.size() * SwiftCodesSnapshot.COUNTRY_SIZE;
+        
+        Path target = path.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        
+        try {
+            CRC32C checksum = new CRC32C();
+            
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.position(SwiftCodesSnapshot.HEADER_SIZE);
+                
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), checksum)));
+                
+                for (long key : keys) {
+                    Code code = codes.get(key);
+                    output.writeLong(key);
+                    output.writeInt(strings.add(code.bankName));
+                    output.writeInt(strings.add(code.address));
+                    output.writeInt(countryIndices.get(code.countryISO2));
+                }
+                
+                for (int countryCode : countryCodes) {
+                    output.writeInt(countryCode);
+                }
+                
+                for (int i = 0; i < countries.size(); i++) {
+                    output.write(countries.get(i).getBytes(StandardCharsets.US_ASCII));
+                    output.writeShort(0);
+                    output.writeInt(strings.add(countryNames.get(countries.get(i))));
+                    output.writeInt(countryStarts[i]);
+                    output.writeInt(countrySizes[i]);
+                }
+                
+                if (stringsOffset + strings.size() > Integer.MAX_VALUE) {
+                    throw new IOException("Snapshot would be larger than 2 GB");
+                }
+                
+                strings.writeTo(output);
+                output.flush();
+                
+                ByteBuffer header = ByteBuffer.allocate(SwiftCodesSnapshot.HEADER_SIZE)
+                    .putInt(SwiftCodesSnapshot.MAGIC)
+                    .putInt(SwiftCodesSnapshot.FORMAT)
+                    .putLong(checksum.getValue())
+                    .putInt(keys.length)
+                    .putInt(countries.size())
+                    .putInt((int) codesOffset)
+                    .putInt((int) countryCodesOffset)
+                    .putInt((int) countriesOffset)
+                    .putInt((int) stringsOffset)
+                    .position(0);
+                
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+    
+    private static class Code {
+        
+        private final String bankName;
+        
+        private final String address;
+        
+        private final String countryISO2;
+        
+        Code(String bankName, String address, String countryISO2) {
+            this.bankName = bankName;
+            this.address = address;
+            this.countryISO2 = countryISO2;
+        }
+    }
+    
+    // every distinct text is stored once, bank names are shared by all branches of a bank
+    private static class StringPool {
+        
+        private final Map<String, Integer> offsets = new HashMap<>();
+        
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        int add(String text) {
+            return offsets.computeIfAbsent(Objects.requireNonNullElse(text, ""), t -> {
+                byte[] encoded = t.getBytes(StandardCharsets.UTF_8);
+                
+                if (encoded.length > 0xFFFF) {
+                    throw new IllegalArgumentException("Text longer than 65535 bytes: " + t.substring(0, 32) + "...");
+                }
+                
+                int offset = bytes.size();
+                bytes.write(encoded.length >>> 8);
+                bytes.write(encoded.length);
+                bytes.writeBytes(encoded);
+                
+                return offset;
+            });
+        }
+        
+        int size() {
+            return bytes.size();
+        }
+        
+        void writeTo(DataOutputStream output) throws IOException {
+            bytes.writeTo(output);
+        }
+    }
+}
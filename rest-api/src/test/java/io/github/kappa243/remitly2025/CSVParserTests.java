@@ -0,0 +1,104 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.parser.CSVParser;
+import io.github.kappa243.remitly2025.parser.SwiftCodeRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.util.Pair;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CSVParserTests {
+    
+    CSVParser csvParser = new CSVParser();
+    
+    String header = "COUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE";
+    
+    InputStream csv(String... rows) {
+        return new ByteArrayInputStream((header + "\n" + String.join("\n", rows)).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    public void whenBranchPrecedesHeadquarter_thenBranchIsEmittedAfterHeadquarter() throws IOException {
+        List<SwiftCodeRecord> records = new ArrayList<>();
+        
+        csvParser.parseCSV(csv(
+            "PL,BREXPLPWWRO,BIC11,mbank,wroclaw,WROCLAW,POLAND,Europe/Warsaw",
+            "PL,BREXPLPWXXX,BIC11,mbank,warszawa,WARSZAWA,POLAND,Europe/Warsaw",
+            "PL,BREXPLPWWAL,BIC11,mbank,walbrzych,WALBRZYCH,POLAND,Europe/Warsaw"
+        ), records::add);
+        
+        assertThat(records).extracting(record -> record.getSwiftCode().getSwiftCode())
+            .containsExactly("BREXPLPWXXX", "BREXPLPWWRO", "BREXPLPWWAL");
+        assertThat(records).extracting(SwiftCodeRecord::getRow)
+            .containsExactly(2L, 2L, 3L);
+        assertThat(records.get(0).getSwiftCode().isHeadquarter()).isTrue();
+        assertThat(records.get(1).getSwiftCode().getBankName()).isEqualTo("MBANK");
+    }
+    
+    @Test
+    public void whenBranchHasNoHeadquarter_thenBranchIsSkipped() throws IOException {
+        List<SwiftCodeRecord> records = new ArrayList<>();
+        
+        csvParser.parseCSV(csv(
+            "PL,BREXPLPWWRO,BIC11,mbank,wroclaw,WROCLAW,POLAND,Europe/Warsaw",
+            "PL,ALBPPLPWXXX,BIC11,alior,warszawa,WARSZAWA,POLAND,Europe/Warsaw"
+        ), records::add);
+        
+        assertThat(records).extracting(record -> record.getSwiftCode().getSwiftCode())
+            .containsExactly("ALBPPLPWXXX");
+    }
+    
+    @Test
+    public void whenSwiftCodeIsInvalid_thenRowIsSkipped() throws IOException {
+        List<SwiftCodeRecord> records = new ArrayList<>();
+        
+        csvParser.parseCSV(csv(
+            "PL,BREXPLPWXXX,BIC11,mbank,warszawa,WARSZAWA,POLAND,Europe/Warsaw",
+            "PL,BREXPLPW,BIC8,mbank,warszawa,WARSZAWA,POLAND,Europe/Warsaw",
+            "PL,brexplpwwro,BIC11,mbank,wroclaw,WROCLAW,POLAND,Europe/Warsaw",
+            "PL,BREXPLPWWAL,BIC11,mbank,walbrzych,WALBRZYCH,POLAND,Europe/Warsaw"
+        ), records::add);
+        
+        assertThat(records).extracting(record -> record.getSwiftCode().getSwiftCode())
+            .containsExactly("BREXPLPWXXX", "BREXPLPWWAL");
+    }
+    
+    @Test
+    public void whenPendingBranchesLimitIsReached_thenOldestPendingBranchesAreSkipped() throws IOException {
+        ReflectionTestUtils.setField(csvParser, "maxPendingBranches", 1);
+        List<SwiftCodeRecord> records = new ArrayList<>();
+        
+        csvParser.parseCSV(csv(
+            "PL,BREXPLPWWRO,BIC11,mbank,wroclaw,WROCLAW,POLAND,Europe/Warsaw",
+            "PL,ALBPPLPWKRA,BIC11,alior,krakow,KRAKOW,POLAND,Europe/Warsaw",
+            "PL,BREXPLPWXXX,BIC11,mbank,warszawa,WARSZAWA,POLAND,Europe/Warsaw",
+            "PL,ALBPPLPWXXX,BIC11,alior,warszawa,WARSZAWA,POLAND,Europe/Warsaw"
+        ), records::add);
+        
+        assertThat(records).extracting(record -> record.getSwiftCode().getSwiftCode())
+            .containsExactly("BREXPLPWXXX", "ALBPPLPWXXX", "ALBPPLPWKRA");
+    }
+    
+    @Test
+    public void whenParseBundledCSV_thenBranchesAreAttachedToHeadquarters() throws IOException {
+        Pair<Set<CountryItem>, Set<SwiftCodeItem>> parsed = csvParser.parseCSV();
+        
+        assertThat(parsed.getFirst()).isNotEmpty();
+        assertThat(parsed.getSecond()).isNotEmpty();
+        assertThat(parsed.getSecond())
+            .filteredOn(SwiftCodeItem::isHeadquarter)
+            .flatExtracting(SwiftCodeItem::getBranches)
+            .allSatisfy(branch -> assertThat(parsed.getSecond()).contains(branch));
+    }
+}
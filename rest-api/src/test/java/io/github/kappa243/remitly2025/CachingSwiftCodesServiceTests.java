@@ -0,0 +1,139 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesLookupResponse;
+import io.github.kappa243.remitly2025.exceptions.SwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.services.CachingSwiftCodesService;
+import io.github.kappa243.remitly2025.services.SwiftCodesCacheProperties;
+import io.github.kappa243.remitly2025.services.SwiftCodesService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingSwiftCodesServiceTests {
+    
+    @Mock
+    SwiftCodesService swiftCodesService;
+    
+    CachingSwiftCodesService cachingSwiftCodesService;
+    
+    CountryItem countryPL = new CountryItem("PL", "POLAND");
+    
+    SwiftCodeItem swiftCodeData = SwiftCodeItem.builder()
+        .swiftCode("ABCDEFGHXXX")
+        .bankName("MAIN STREET BANK")
+        .address("1234 Main St")
+        .countryISO2(countryPL)
+        .headquarter(true)
+        .branches(new ArrayList<>())
+        .build();
+    
+    SwiftCodeItem branchSwiftCodeData = swiftCodeData.toBuilder()
+        .swiftCode("ABCDEFGHABC")
+        .headquarter(false)
+        .branches(null)
+        .build();
+    
+    SwiftCodeResponse swiftCodeResponse;
+    
+    @BeforeEach
+    public void beforeEach() {
+        SwiftCodesCacheProperties properties = new SwiftCodesCacheProperties();
+        properties.setMaximumSize(100);
+        
+        cachingSwiftCodesService = new CachingSwiftCodesService(swiftCodesService, properties, true);
+        swiftCodeResponse = SwiftCodeResponse.from(swiftCodeData);
+    }
+    
+    @AfterEach
+    public void afterEach() {
+        cachingSwiftCodesService.close();
+    }
+    
+    @Test
+    public void whenGetSwiftCodeDataTwice_thenDelegateIsCalledOnce() throws Exception {
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(swiftCodeResponse);
+        
+        assertThat(cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).isSameAs(swiftCodeResponse);
+        assertThat(cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).isSameAs(swiftCodeResponse);
+        
+        verify(swiftCodesService, times(1)).getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
+        assertThat(cachingSwiftCodesService.getStats().hitCount()).isEqualTo(1);
+        assertThat(cachingSwiftCodesService.getStats().missCount()).isEqualTo(1);
+    }
+    
+    @Test
+    public void whenGetNonExistentSwiftCodeData_thenThrowSwiftCodeNotFoundExceptionAndDoNotCache() throws Exception {
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).thenThrow(new SwiftCodeNotFoundException());
+        
+        assertThatThrownBy(() -> cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode()))
+            .isInstanceOf(SwiftCodeNotFoundException.class);
+        assertThatThrownBy(() -> cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode()))
+            .isInstanceOf(SwiftCodeNotFoundException.class);
+        
+        verify(swiftCodesService, times(2)).getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
+    }
+    
+    @Test
+    public void whenAddBranch_thenHeadquarterIsInvalidated() throws Exception {
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(swiftCodeResponse);
+        
+        cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
+        cachingSwiftCodesService.addSwiftCodeData(branchSwiftCodeData);
+        cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
+        
+        verify(swiftCodesService, times(2)).getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
+    }
+    
+    @Test
+    public void whenDeleteBranch_thenBranchAndHeadquarterAreInvalidated() throws Exception {
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(swiftCodeResponse);
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(branchSwiftCodeData.getSwiftCode()))
+            .thenReturn(SwiftCodeResponse.from(branchSwiftCodeData));
+        
+        cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
+        cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(branchSwiftCodeData.getSwiftCode());
+        cachingSwiftCodesService.deleteSwiftCodeData(branchSwiftCodeData.getSwiftCode());
+        cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
+        cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(branchSwiftCodeData.getSwiftCode());
+        
+        verify(swiftCodesService, times(2)).getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
+        verify(swiftCodesService, times(2)).getSwiftCodeDataBySwiftCode(branchSwiftCodeData.getSwiftCode());
+    }
+    
+    @Test
+    public void whenLookupSwiftCodesData_thenOnlyUncachedCodesAreLoaded() throws Exception {
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(swiftCodeResponse);
+        when(swiftCodesService.lookupSwiftCodesData(List.of("ABCDEFGHIJK", branchSwiftCodeData.getSwiftCode())))
+            .thenReturn(SwiftCodesLookupResponse.builder()
+                .swiftCodes(List.of(SwiftCodeResponse.from(branchSwiftCodeData)))
+                .notFound(List.of("ABCDEFGHIJK"))
+                .build());
+        
+        cachingSwiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
+        
+        SwiftCodesLookupResponse response = cachingSwiftCodesService.lookupSwiftCodesData(
+            List.of("ABCDEFGHIJK", branchSwiftCodeData.getSwiftCode(), swiftCodeData.getSwiftCode())
+        );
+        
+        assertThat(response.getSwiftCodes())
+            .extracting(SwiftCodeResponse::getSwiftCode)
+            .containsExactly(branchSwiftCodeData.getSwiftCode(), swiftCodeData.getSwiftCode());
+        assertThat(response.getNotFound()).containsExactly("ABCDEFGHIJK");
+    }
+}
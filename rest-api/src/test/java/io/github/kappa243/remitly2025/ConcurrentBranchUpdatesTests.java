@@ -0,0 +1,153 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.exceptions.ChildSwiftCodesFoundException;
+import io.github.kappa243.remitly2025.exceptions.HeadSwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.exceptions.SwiftCodeAlreadyExistsException;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
+import io.github.kappa243.remitly2025.services.SwiftCodesService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentBranchUpdatesTests extends BaseTestModule {
+    
+    private static final int THREADS = 32;
+    
+    private static final int BRANCHES = 500;
+    
+    @Autowired
+    private SwiftCodesService swiftCodesService;
+    
+    @Autowired
+    private SwiftCodesRepository swiftCodesRepository;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    private ExecutorService executor;
+    
+    CountryItem countryPL = new CountryItem("PL", "POLAND");
+    
+    String headSwiftCode = "ABCDEFGHXXX";
+    
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate.dropCollection(SwiftCodeItem.class);
+        mongoTemplate.dropCollection(CountryItem.class);
+        
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    public void whenBranchesOfOneHeadquarterAreAddedConcurrently_thenNoBranchIsLost() throws Exception {
+        swiftCodesService.addSwiftCodeData(headquarter());
+        long initialVersion = swiftCodesService.getSwiftCodeVersion(headSwiftCode);
+        
+        runConcurrently(branchCodes().stream()
+            .<Callable<Object>>map(swiftCode -> () -> swiftCodesService.addSwiftCodeData(branch(swiftCode)))
+            .toList());
+        
+        SwiftCodeItem headquarter = swiftCodesRepository.findById(headSwiftCode).orElseThrow();
+        
+        assertThat(headquarter.getBranches()).extracting(SwiftCodeItem::getSwiftCode).containsExactlyInAnyOrderElementsOf(branchCodes());
+        assertThat(headquarter.getVersion()).isEqualTo(initialVersion + BRANCHES);
+    }
+    
+    @Test
+    public void whenBranchesAreDeletedConcurrently_thenHeadquarterHasNoBranchesLeft() throws Exception {
+        swiftCodesService.addSwiftCodeData(headquarter());
+        
+        for (String swiftCode : branchCodes()) {
+            swiftCodesService.addSwiftCodeData(branch(swiftCode));
+        }
+        
+        runConcurrently(branchCodes().stream()
+            .<Callable<Object>>map(swiftCode -> () -> {
+                swiftCodesService.deleteSwiftCodeData(swiftCode);
+                return null;
+            })
+            .toList());
+        
+        assertThat(swiftCodesRepository.findById(headSwiftCode).orElseThrow().getBranches()).isEmpty();
+        assertThat(swiftCodesRepository.count()).isEqualTo(1);
+    }
+    
+    @Test
+    public void whenBranchesAreAddedWhileHeadquarterIsDeleted_thenNoBranchIsLeftWithoutHeadquarter() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mongoTemplate.dropCollection(SwiftCodeItem.class);
+            swiftCodesService.addSwiftCodeData(headquarter());
+            
+            List<Callable<Object>> tasks = new ArrayList<>(branchCodes().subList(0, THREADS - 1).stream()
+                .<Callable<Object>>map(swiftCode -> () -> swiftCodesService.addSwiftCodeData(branch(swiftCode)))
+                .toList());
+            tasks.add(THREADS / 2, () -> {
+                swiftCodesService.deleteSwiftCodeData(headSwiftCode);
+                return null;
+            });
+            
+            runConcurrently(tasks);
+            
+            List<String> storedBranches = mongoTemplate.findDistinct(
+                Query.query(Criteria.where("_id").ne(headSwiftCode)), "_id", SwiftCodeItem.class, String.class
+            );
+            
+            // either the headquarter was deleted before any branch was linked, or it lists every stored branch
+            swiftCodesRepository.findById(headSwiftCode).ifPresentOrElse(
+                headquarter -> assertThat(headquarter.getBranches()).extracting(SwiftCodeItem::getSwiftCode).containsExactlyInAnyOrderElementsOf(storedBranches),
+                () -> assertThat(storedBranches).isEmpty()
+            );
+        }
+    }
+    
+    // conflicts are expected outcomes of the races, any other failure is rethrown
+    private void runConcurrently(List<Callable<Object>> tasks) throws Exception {
+        for (Future<Object> future : executor.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof HeadSwiftCodeNotFoundException
+                    || e.getCause() instanceof ChildSwiftCodesFoundException
+                    || e.getCause() instanceof SwiftCodeAlreadyExistsException)) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private SwiftCodeItem headquarter() {
+        return new SwiftCodeItem(headSwiftCode, "MAIN STREET BANK", "1234 Main St", true, countryPL);
+    }
+    
+    private SwiftCodeItem branch(String swiftCode) {
+        return new SwiftCodeItem(swiftCode, "MAIN STREET BANK", "1234 Main St", false, countryPL);
+    }
+    
+    private List<String> branchCodes() {
+        return IntStream.range(0, BRANCHES)
+            .mapToObj(i -> headSwiftCode.substring(0, 8) + String.format("%03d", i))
+            .toList();
+    }
+}
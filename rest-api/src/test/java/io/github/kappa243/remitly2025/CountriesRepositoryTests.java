@@ -6,9 +6,7 @@ import io.github.kappa243.remitly2025.repositories.CountriesRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.index.Index;
 
 import java.util.Optional;
 
@@ -31,7 +29,7 @@ public class CountriesRepositoryTests extends BaseTestModule {
             mongoTemplate.dropCollection(SwiftCodeItem.class);
             mongoTemplate.dropCollection(CountryItem.class);
             
-            mongoTemplate.indexOps(SwiftCodeItem.class).ensureIndex(new Index().on("countryISO2", Sort.Direction.ASC).named("countryISO2_"));
+            mongoTemplate.indexOps(SwiftCodeItem.class).ensureIndex(SwiftCodeItem.countrySwiftCodeIndex());
         }
         
         countriesRepository.save(countryPL);
@@ -0,0 +1,82 @@
+package io.github.kappa243.remitly2025;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmbeddedBranchesMigrationTests extends BaseTestModule {
+    
+    @Autowired
+    private SwiftCodesRepository swiftCodesRepository;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    private EmbeddedBranchesMigration embeddedBranchesMigration;
+    
+    @BeforeEach
+    public void fillDatabase() {
+        mongoTemplate.dropCollection(SwiftCodeItem.class);
+        mongoTemplate.dropCollection(CountryItem.class);
+        
+        embeddedBranchesMigration = new EmbeddedBranchesMigration(mongoTemplate);
+        
+        mongoTemplate.getCollection("countries").insertOne(new Document("_id", "PL").append("countryName", "POLAND"));
+        
+        // documents in the layout stored before branches were embedded
+        MongoCollection<Document> swiftCodes = mongoTemplate.getCollection("swiftcodes");
+        swiftCodes.insertOne(swiftCode("BREXPLPWWRO", false));
+        swiftCodes.insertOne(swiftCode("BREXPLPWWAL", false));
+        swiftCodes.insertOne(swiftCode("BREXPLPWXXX", true).append("branches", List.of(
+            new DBRef("swiftcodes", "BREXPLPWWRO"),
+            new DBRef("swiftcodes", "BREXPLPWWAL"),
+            new DBRef("swiftcodes", "BREXPLPWGDA")
+        )));
+    }
+    
+    private Document swiftCode(String swiftCode, boolean headquarter) {
+        return new Document("_id", swiftCode)
+            .append("bankName", "MBANK S.A. (FORMERLY BRE BANK S.A.)")
+            .append("address", "UL. PROSTA 18  WARSZAWA, MAZOWIECKIE, 00-850")
+            .append("isHeadquarter", headquarter)
+            .append("countryISO2", new DBRef("countries", "PL"));
+    }
+    
+    @Test
+    public void whenMigrate_thenBranchesAreEmbeddedAndMissingBranchesAreDropped() {
+        assertThat(embeddedBranchesMigration.migrate()).isEqualTo(1);
+        
+        Document headquarter = mongoTemplate.getCollection("swiftcodes").find(new Document("_id", "BREXPLPWXXX")).first();
+        assertThat(headquarter).isNotNull();
+        assertThat(headquarter.getList("branches", Object.class)).allSatisfy(branch -> assertThat(branch).isInstanceOf(Document.class));
+        
+        Optional<SwiftCodeResponse> response = swiftCodesRepository.findById("BREXPLPWXXX").map(SwiftCodeResponse::from);
+        
+        assertThat(response).isPresent();
+        assertThat(response.get().getBranches())
+            .extracting(ReducedSwiftCodeResponse::getSwiftCode)
+            .containsExactly("BREXPLPWWRO", "BREXPLPWWAL");
+        assertThat(response.get().getBranches()).allSatisfy(branch -> assertThat(branch.getCountryISO2()).isEqualTo("PL"));
+    }
+    
+    @Test
+    public void whenMigrateTwice_thenSecondRunDoesNothing() {
+        embeddedBranchesMigration.migrate();
+        
+        assertThat(embeddedBranchesMigration.migrate()).isZero();
+    }
+}
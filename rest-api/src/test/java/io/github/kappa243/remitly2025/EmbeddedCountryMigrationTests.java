@@ -0,0 +1,80 @@
+package io.github.kappa243.remitly2025;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmbeddedCountryMigrationTests extends BaseTestModule {
+    
+    @Autowired
+    private SwiftCodesRepository swiftCodesRepository;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    private EmbeddedCountryMigration embeddedCountryMigration;
+    
+    @BeforeEach
+    public void fillDatabase() {
+        mongoTemplate.dropCollection(SwiftCodeItem.class);
+        mongoTemplate.dropCollection(CountryItem.class);
+        
+        embeddedCountryMigration = new EmbeddedCountryMigration(mongoTemplate);
+        
+        mongoTemplate.getCollection("countries").insertOne(new Document("_id", "PL").append("countryName", "POLAND"));
+        
+        // documents in the layout stored before countries were embedded
+        MongoCollection<Document> swiftCodes = mongoTemplate.getCollection("swiftcodes");
+        Document branch = swiftCode("BREXPLPWWRO", false);
+        swiftCodes.insertOne(branch);
+        swiftCodes.insertOne(swiftCode("BREXPLPWXXX", true).append("branches", List.of(branch)));
+    }
+    
+    private Document swiftCode(String swiftCode, boolean headquarter) {
+        return new Document("_id", swiftCode)
+            .append("bankName", "MBANK S.A. (FORMERLY BRE BANK S.A.)")
+            .append("address", "UL. PROSTA 18  WARSZAWA, MAZOWIECKIE, 00-850")
+            .append("isHeadquarter", headquarter)
+            .append("countryISO2", new DBRef("countries", "PL"));
+    }
+    
+    @Test
+    public void whenMigrate_thenCountriesAreEmbedded() {
+        assertThat(embeddedCountryMigration.migrate()).isEqualTo(2);
+        
+        Document headquarter = mongoTemplate.getCollection("swiftcodes").find(new Document("_id", "BREXPLPWXXX")).first();
+        assertThat(headquarter).isNotNull();
+        assertThat(headquarter.get("countryISO2")).isEqualTo(new Document("_id", "PL").append("countryName", "POLAND"));
+        assertThat(headquarter.getList("branches", Document.class))
+            .allSatisfy(branch -> assertThat(branch.get("countryISO2")).isInstanceOf(Document.class));
+        
+        Optional<SwiftCodeResponse> response = swiftCodesRepository.findById("BREXPLPWXXX").map(SwiftCodeResponse::from);
+        
+        assertThat(response).isPresent();
+        assertThat(response.get().getCountryName()).isEqualTo("POLAND");
+        assertThat(response.get().getBranches()).allSatisfy(branch -> assertThat(branch.getCountryISO2()).isEqualTo("PL"));
+        assertThat(swiftCodesRepository.findAllByCountryISO2_CountryISO2("PL"))
+            .extracting(SwiftCodeItem::getSwiftCode)
+            .containsExactlyInAnyOrder("BREXPLPWXXX", "BREXPLPWWRO");
+    }
+    
+    @Test
+    public void whenMigrateTwice_thenSecondRunDoesNothing() {
+        embeddedCountryMigration.migrate();
+        
+        assertThat(embeddedCountryMigration.migrate()).isZero();
+    }
+}
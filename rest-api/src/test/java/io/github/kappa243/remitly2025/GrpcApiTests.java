@@ -0,0 +1,191 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.proto.AddSwiftCodeRequest;
+import io.github.kappa243.remitly2025.proto.BatchGetSwiftCodesRequest;
+import io.github.kappa243.remitly2025.proto.BatchGetSwiftCodesResponse;
+import io.github.kappa243.remitly2025.proto.DeleteSwiftCodeRequest;
+import io.github.kappa243.remitly2025.proto.GetSwiftCodeRequest;
+import io.github.kappa243.remitly2025.proto.ReducedSwiftCode;
+import io.github.kappa243.remitly2025.proto.StreamCountrySwiftCodesRequest;
+import io.github.kappa243.remitly2025.proto.SwiftCode;
+import io.github.kappa243.remitly2025.proto.SwiftCodesGrpc;
+import io.github.kappa243.remitly2025.repositories.CountriesRepository;
+import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GrpcApiTests extends BaseTestModule {
+    
+    @Autowired
+    private SwiftCodesRepository swiftCodesRepository;
+    
+    @Autowired
+    private CountriesRepository countriesRepository;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private GrpcServerLifecycle grpcServerLifecycle;
+    
+    private ManagedChannel channel;
+    
+    private SwiftCodesGrpc.SwiftCodesBlockingStub stub;
+    
+    String headSwiftCode = "BREXPLPWXXX";
+    
+    AddSwiftCodeRequest addSwiftCodeRequest = AddSwiftCodeRequest.newBuilder()
+        .setSwiftCode("ABCDPLPWXXX")
+        .setBankName("MAIN STREET BANK")
+        .setAddress("1234 Main St")
+        .setCountryIso2("PL")
+        .setCountryName("POLAND")
+        .setIsHeadquarter(true)
+        .build();
+    
+    @BeforeEach
+    public void fillDatabase() {
+        mongoTemplate.dropCollection(SwiftCodeItem.class);
+        mongoTemplate.dropCollection(CountryItem.class);
+        
+        var country = new CountryItem("PL", "POLAND");
+        
+        countriesRepository.save(country);
+        
+        var swiftCodeChild = new SwiftCodeItem("BREXPLPWWRO", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "PL. JANA PAWLA II 9  WROCLAW, DOLNOSLASKIE, 50-136", false, country);
+        var headSwiftCode = new SwiftCodeItem("BREXPLPWXXX", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "UL. PROSTA 18  WARSZAWA, MAZOWIECKIE, 00-850", true, country, List.of(swiftCodeChild));
+        
+        swiftCodesRepository.save(swiftCodeChild);
+        swiftCodesRepository.save(headSwiftCode);
+    }
+    
+    @BeforeEach
+    public void openChannel() {
+        channel = Grpc.newChannelBuilderForAddress("localhost", grpcServerLifecycle.getPort(), InsecureChannelCredentials.create()).build();
+        stub = SwiftCodesGrpc.newBlockingStub(channel);
+    }
+    
+    @AfterEach
+    public void closeChannel() {
+        channel.shutdownNow();
+    }
+    
+    @Test
+    public void whenGetHeadCode_thenDataIsCorrect() {
+        SwiftCode swiftCode = stub.getSwiftCode(GetSwiftCodeRequest.newBuilder().setSwiftCode(headSwiftCode).build());
+        
+        assertThat(swiftCode.getSwiftCode()).isEqualTo(headSwiftCode);
+        assertThat(swiftCode.getCountryName()).isEqualTo("POLAND");
+        assertThat(swiftCode.getIsHeadquarter()).isTrue();
+        assertThat(swiftCode.getBranchesList()).extracting(ReducedSwiftCode::getSwiftCode).containsExactly("BREXPLPWWRO");
+    }
+    
+    @Test
+    public void whenGetNonExistentCode_thenNotFound() {
+        assertThatThrownBy(() -> stub.getSwiftCode(GetSwiftCodeRequest.newBuilder().setSwiftCode("ABCDPLPWIJK").build()))
+            .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND);
+                assertThat(e.getStatus().getDescription()).isEqualTo("SWIFT code not found");
+            });
+    }
+    
+    @Test
+    public void whenGetInvalidCodeLength_thenInvalidArgument() {
+        assertThatThrownBy(() -> stub.getSwiftCode(GetSwiftCodeRequest.newBuilder().setSwiftCode("ABC").build()))
+            .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                assertThat(e.getStatus().getDescription()).contains("Validation Error", "Invalid code length");
+            });
+    }
+    
+    @Test
+    public void whenBatchGetCodes_thenFoundAndNotFoundCodesAreReturned() {
+        BatchGetSwiftCodesResponse response = stub.batchGetSwiftCodes(BatchGetSwiftCodesRequest.newBuilder()
+            .addSwiftCodes(headSwiftCode)
+            .addSwiftCodes("ABCDPLPWIJK")
+            .addSwiftCodes("BREXPLPWWRO")
+            .build());
+        
+        assertThat(response.getSwiftCodesList()).extracting(SwiftCode::getSwiftCode).containsExactly(headSwiftCode, "BREXPLPWWRO");
+        assertThat(response.getNotFoundList()).containsExactly("ABCDPLPWIJK");
+    }
+    
+    @Test
+    public void whenStreamCountrySwiftCodes_thenCodesAreStreamedInOrder() {
+        List<ReducedSwiftCode> swiftCodes = new ArrayList<>();
+        stub.streamCountrySwiftCodes(StreamCountrySwiftCodesRequest.newBuilder().setCountryIso2("PL").build())
+            .forEachRemaining(swiftCodes::add);
+        
+        assertThat(swiftCodes).extracting(ReducedSwiftCode::getSwiftCode).containsExactly("BREXPLPWWRO", headSwiftCode);
+        assertThat(swiftCodes).extracting(ReducedSwiftCode::getIsHeadquarter).containsExactly(false, true);
+    }
+    
+    @Test
+    public void whenStreamCountrySwiftCodesAndCountryDoesNotExists_thenNotFound() {
+        assertThatThrownBy(() -> stub.streamCountrySwiftCodes(StreamCountrySwiftCodesRequest.newBuilder().setCountryIso2("QQ").build()).hasNext())
+            .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND);
+                assertThat(e.getStatus().getDescription()).isEqualTo("Country does not exists");
+            });
+    }
+    
+    @Test
+    public void whenAddBranchCode_thenHeadquarterBranchesAreUpdated() {
+        SwiftCode swiftCode = stub.addSwiftCode(addSwiftCodeRequest.toBuilder()
+            .setSwiftCode(headSwiftCode.substring(0, 8) + "ABC")
+            .setIsHeadquarter(false)
+            .build());
+        
+        assertThat(swiftCode.getSwiftCode()).isEqualTo("BREXPLPWABC");
+        
+        assertThat(stub.getSwiftCode(GetSwiftCodeRequest.newBuilder().setSwiftCode(headSwiftCode).build()).getBranchesList())
+            .extracting(ReducedSwiftCode::getSwiftCode)
+            .contains("BREXPLPWABC");
+    }
+    
+    @Test
+    public void whenAddExistingCode_thenAlreadyExists() {
+        assertThatThrownBy(() -> stub.addSwiftCode(addSwiftCodeRequest.toBuilder().setSwiftCode(headSwiftCode).build()))
+            .isInstanceOfSatisfying(StatusRuntimeException.class, e ->
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.ALREADY_EXISTS));
+    }
+    
+    @Test
+    public void whenAddInvalidCode_thenInvalidArgument() {
+        assertThatThrownBy(() -> stub.addSwiftCode(addSwiftCodeRequest.toBuilder().setSwiftCode("ABC").build()))
+            .isInstanceOfSatisfying(StatusRuntimeException.class, e ->
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+    
+    @Test
+    public void whenDeleteHeadCodeAndHeadCodeHasBranches_thenFailedPrecondition() {
+        assertThatThrownBy(() -> stub.deleteSwiftCode(DeleteSwiftCodeRequest.newBuilder().setSwiftCode(headSwiftCode).build()))
+            .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION);
+                assertThat(e.getStatus().getDescription()).isEqualTo("Child branches found for given SWIFT code");
+            });
+    }
+    
+    @Test
+    public void whenDeleteBranchCode_thenCodeIsDeleted() {
+        stub.deleteSwiftCode(DeleteSwiftCodeRequest.newBuilder().setSwiftCode("BREXPLPWWRO").build());
+        
+        assertThat(swiftCodesRepository.existsById("BREXPLPWWRO")).isFalse();
+    }
+}
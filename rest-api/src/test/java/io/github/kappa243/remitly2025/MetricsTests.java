@@ -0,0 +1,35 @@
+package io.github.kappa243.remitly2025;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+
+@AutoConfigureObservability
+public class MetricsTests extends BaseTestModule {
+    
+    @Test
+    public void whenRequestFails_thenPrometheusEndpointExposesApiServiceAndMongoMetrics() {
+        when()
+            .get("/{swiftCode}", "ABCDPLPWIJK")
+            .then()
+            .statusCode(404);
+        
+        given()
+            .basePath("")
+            .when()
+            .get("/actuator/prometheus")
+            .then()
+            .statusCode(200)
+            .body(allOf(
+                containsString("http_server_requests_seconds_bucket"),
+                containsString("swiftcodes_service_seconds_count{class=\"io.github.kappa243.remitly2025.services.SwiftCodesServiceImpl\""),
+                containsString("swiftcodes_errors_total{exception=\"SwiftCodeNotFoundException\"}"),
+                containsString("mongodb_driver_commands_seconds"),
+                containsString("mongodb_driver_pool_size")
+            ));
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.kappa243.remitly2025;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.connection.ConnectionPoolSettings;
+import io.github.kappa243.remitly2025.services.MongoConcurrencyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MongoConfigTests {
+    
+    @Test
+    public void whenConcurrencyLimitIsCustomized_thenConnectionPoolIsLimited() {
+        MongoConcurrencyProperties properties = new MongoConcurrencyProperties();
+        properties.setMaxConcurrentCalls(1);
+        properties.setAcquireTimeout(Duration.ofMillis(10));
+        
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        new MongoConfig().mongoConcurrencyLimit(properties).customize(builder);
+        
+        ConnectionPoolSettings pool = builder.build().getConnectionPoolSettings();
+        assertThat(pool.getMaxSize()).isEqualTo(1);
+        assertThat(pool.getMaxWaitTime(TimeUnit.MILLISECONDS)).isEqualTo(10);
+    }
+}
@@ -0,0 +1,288 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.controllers.SwiftCodeRequest;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.repositories.CountriesRepository;
+import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.shaded.com.fasterxml.jackson.core.JsonProcessingException;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@ActiveProfiles("reactive")
+public class ReactiveRestApiTests extends BaseTestModule {
+    
+    @Autowired
+    private SwiftCodesRepository swiftCodesRepository;
+    
+    @Autowired
+    private CountriesRepository countriesRepository;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    ObjectMapper objectMapper = new ObjectMapper();
+    
+    String headSwiftCode = "BREXPLPWXXX";
+    
+    SwiftCodeRequest swiftCodeRequest = SwiftCodeRequest.builder()
+        .swiftCode("ABCDPLPWXXX")
+        .bankName("MAIN STREET BANK")
+        .address("1234 Main St")
+        .countryISO2("PL")
+        .countryName("POLAND")
+        .headquarter(true)
+        .build();
+    
+    @BeforeEach
+    public void fillDatabase() {
+        mongoTemplate.dropCollection(SwiftCodeItem.class);
+        mongoTemplate.dropCollection(CountryItem.class);
+        
+        var country = new CountryItem("PL", "POLAND");
+        
+        countriesRepository.save(country);
+        
+        var swiftCodeChild = new SwiftCodeItem("BREXPLPWWRO", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "PL. JANA PAWLA II 9  WROCLAW, DOLNOSLASKIE, 50-136", false, country);
+        var headSwiftCode = new SwiftCodeItem("BREXPLPWXXX", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "UL. PROSTA 18  WARSZAWA, MAZOWIECKIE, 00-850", true, country, List.of(swiftCodeChild));
+        
+        swiftCodesRepository.save(swiftCodeChild);
+        swiftCodesRepository.save(headSwiftCode);
+    }
+    
+    @Test
+    public void whenGetHeadCode_thenOkAndDataIsCorrect() {
+        when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(200)
+            .body("swiftCode", is(headSwiftCode))
+            .body("countryName", is("POLAND"))
+            .body("isHeadquarter", is(true))
+            .body("branches.swiftCode", contains("BREXPLPWWRO"));
+    }
+    
+    @Test
+    public void whenGetCodeWithCurrentETag_thenNotModified() {
+        String eTag = when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(200)
+            .extract()
+            .header("ETag");
+        
+        given()
+            .header("If-None-Match", eTag)
+            .when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(304)
+            .body(emptyString());
+    }
+    
+    @Test
+    public void whenGetNonExistentCode_thenNotFound() {
+        when()
+            .get("/{swiftCode}", "ABCDPLPWIJK")
+            .then()
+            .statusCode(404)
+            .body(containsString("SWIFT code not found"));
+    }
+    
+    @Test
+    public void whenGetInvalidCodeLength_thenBadRequest() {
+        when()
+            .get("/{swiftCode}", "ABC")
+            .then()
+            .statusCode(400)
+            .body(containsString("Validation Error"), containsString("Invalid code length"));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByCountryISO2_thenResponseIsCorrect() {
+        when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(200)
+            .contentType(containsString("application/json"))
+            .body("countryISO2", is("PL"))
+            .body("countryName", is("POLAND"))
+            .body("swiftCodes.swiftCode", contains("BREXPLPWWRO", "BREXPLPWXXX"))
+            .body("swiftCodes.isHeadquarter", contains(false, true));
+    }
+    
+    @Test
+    public void whenBranchIsDeleted_thenCountryETagChanges() {
+        String eTag = when().get("/country/{countryISO2}", "PL").then().extract().header("ETag");
+        
+        given()
+            .header("If-None-Match", eTag)
+            .when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(304);
+        
+        when()
+            .delete("/{swiftCode}", "BREXPLPWWRO")
+            .then()
+            .statusCode(200);
+        
+        given()
+            .header("If-None-Match", eTag)
+            .when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains(headSwiftCode));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByCountryISO2AndCountryDoesNotExists_thenNotFound() {
+        when()
+            .get("/country/{countryISO2}", "QQ")
+            .then()
+            .statusCode(404)
+            .body(containsString("Country does not exists"));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByCountryISO2WithLimit_thenPagesFollowSwiftCodeOrder() {
+        String nextPageToken = given()
+            .queryParam("limit", 1)
+            .when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains("BREXPLPWWRO"))
+            .extract()
+            .path("nextPageToken");
+        
+        given()
+            .queryParam("after", nextPageToken)
+            .when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains(headSwiftCode))
+            .body("nextPageToken", nullValue());
+    }
+    
+    @Test
+    public void whenPostSwiftCodeRequestAndHasHeadquarter_thenOk() throws JsonProcessingException {
+        SwiftCodeRequest branchSwiftCodeRequest = swiftCodeRequest.toBuilder()
+            .swiftCode(headSwiftCode.substring(0, 8) + "ABC")
+            .headquarter(false)
+            .build();
+        
+        given()
+            .contentType("application/json")
+            .body(objectMapper.writeValueAsString(branchSwiftCodeRequest))
+            .when()
+            .post("/")
+            .then()
+            .statusCode(201)
+            .body(containsString("ok"));
+        
+        when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(200)
+            .body("branches.swiftCode", hasItem(branchSwiftCodeRequest.getSwiftCode()));
+    }
+    
+    @Test
+    public void whenPostSwiftCodeRequestAndSwiftCodeDataExists_thenConflict() throws JsonProcessingException {
+        given()
+            .contentType("application/json")
+            .body(objectMapper.writeValueAsString(swiftCodeRequest.toBuilder().swiftCode(headSwiftCode).build()))
+            .when()
+            .post("/")
+            .then()
+            .statusCode(409)
+            .body(containsString("SWIFT code already exists"));
+    }
+    
+    @Test
+    public void whenPostInvalidSwiftCodeRequest_thenBadRequest() throws JsonProcessingException {
+        given()
+            .contentType("application/json")
+            .body(objectMapper.writeValueAsString(swiftCodeRequest.toBuilder().swiftCode("ABC").build()))
+            .when()
+            .post("/")
+            .then()
+            .statusCode(400)
+            .body(containsString("Validation Error"));
+    }
+    
+    @Test
+    public void whenDeleteHeadCodeAndHeadCodeHasBranches_thenConflict() {
+        when()
+            .delete("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(409)
+            .body(containsString("Child branches found"));
+    }
+    
+    @Test
+    public void whenDeleteBranchCode_thenHeadquarterBranchesAreUpdated() {
+        when()
+            .delete("/{swiftCode}", "BREXPLPWWRO")
+            .then()
+            .statusCode(200);
+        
+        when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(200)
+            .body("branches", nullValue());
+    }
+    
+    @Test
+    public void whenPostBulkNdjson_thenValidRowsAreInsertedAndInvalidRowsAreReported() throws JsonProcessingException {
+        SwiftCodeRequest branchSwiftCodeRequest = swiftCodeRequest.toBuilder()
+            .swiftCode(swiftCodeRequest.getSwiftCode().substring(0, 8) + "ABC")
+            .headquarter(false)
+            .build();
+        
+        String body = String.join("\n",
+            objectMapper.writeValueAsString(swiftCodeRequest),
+            objectMapper.writeValueAsString(branchSwiftCodeRequest),
+            objectMapper.writeValueAsString(swiftCodeRequest.toBuilder().swiftCode("ABC").build()),
+            objectMapper.writeValueAsString(swiftCodeRequest.toBuilder().swiftCode(headSwiftCode).build())
+        );
+        
+        given()
+            .contentType("application/x-ndjson")
+            .body(body)
+            .when()
+            .post("/bulk")
+            .then()
+            .statusCode(200)
+            .body("processed", is(4))
+            .body("inserted", is(2))
+            .body("failed", is(2))
+            .body("errors.message", hasItem(containsString("Invalid code length")))
+            .body("errors.message", hasItem("SWIFT code already exists"));
+        
+        when()
+            .get("/{swiftCode}", swiftCodeRequest.getSwiftCode())
+            .then()
+            .statusCode(200)
+            .body("branches.swiftCode", contains(branchSwiftCodeRequest.getSwiftCode()));
+    }
+}
@@ -5,12 +5,11 @@ import io.github.kappa243.remitly2025.model.CountryItem;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
 import io.github.kappa243.remitly2025.repositories.CountriesRepository;
 import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
+import io.github.kappa243.remitly2025.services.SwiftCodesSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.index.Index;
 import org.testcontainers.shaded.com.fasterxml.jackson.core.JsonProcessingException;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -19,9 +18,17 @@ import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static io.restassured.RestAssured.when;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 public class RestApiTests extends BaseTestModule {
     
@@ -34,6 +41,9 @@ public class RestApiTests extends BaseTestModule {
     @Autowired
     private MongoTemplate mongoTemplate;
     
+    @Autowired
+    private SwiftCodesSearchIndex swiftCodesSearchIndex;
+    
     ObjectMapper objectMapper = new ObjectMapper();
     
     
@@ -44,7 +54,7 @@ public class RestApiTests extends BaseTestModule {
             mongoTemplate.dropCollection(SwiftCodeItem.class);
             mongoTemplate.dropCollection(CountryItem.class);
             
-            mongoTemplate.indexOps(SwiftCodeItem.class).ensureIndex(new Index().on("countryISO2", Sort.Direction.ASC).named("countryISO2_"));
+            mongoTemplate.indexOps(SwiftCodeItem.class).ensureIndex(SwiftCodeItem.countrySwiftCodeIndex());
         }
         
         var country = new CountryItem("PL", "POLAND");
@@ -67,7 +77,7 @@ public class RestApiTests extends BaseTestModule {
     CountryItem countryPL = new CountryItem("PL", "POLAND");
     
     SwiftCodeItem swiftCodeData = SwiftCodeItem.builder()
-        .swiftCode("ABCDEFGHXXX")
+        .swiftCode("ABCDPLPWXXX")
         .bankName("MAIN STREET BANK")
         .address("1234 Main St")
         .countryISO2(countryPL)
@@ -111,7 +121,7 @@ public class RestApiTests extends BaseTestModule {
     
     @Test
     public void whenGetNonExistentCode_thenNotFound() {
-        String swiftCode = "ABCDEFGHIJK";
+        String swiftCode = "ABCDPLPWIJK";
         
         when()
             .get("/{swiftCode}", swiftCode)
@@ -191,7 +201,7 @@ public class RestApiTests extends BaseTestModule {
     @Test
     public void whenPostSwiftCodeRequestAndHeadquarterNotExists_thenConflict() throws JsonProcessingException {
         SwiftCodeRequest branchSwiftCodeRequest = swiftCodeRequest.toBuilder()
-            .swiftCode("NOTEXIST" + "ABC")
+            .swiftCode("NONEPLPW" + "ABC")
             .headquarter(false)
             .build();
         
@@ -234,6 +244,62 @@ public class RestApiTests extends BaseTestModule {
             .body("swiftCodes.swiftCode", hasItem(branchSwiftCode));
     }
     
+    @Test
+    public void whenGetSwiftCodesByCountryISO2WithLimit_thenPagesFollowSwiftCodeOrder() {
+        String nextPageToken = given()
+            .queryParam("limit", 2)
+            .when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains("BREXPLPWWAL", "BREXPLPWWRO"))
+            .extract()
+            .path("nextPageToken");
+        
+        given()
+            .queryParam("limit", 2)
+            .queryParam("after", nextPageToken)
+            .when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains(headSwiftCode))
+            .body("nextPageToken", nullValue());
+    }
+    
+    @Test
+    public void whenGetSwiftCodesWithLimit_thenWholeDirectoryIsPaginated() {
+        String nextPageToken = given()
+            .queryParam("limit", 1)
+            .when()
+            .get("/")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains("BREXPLPWWAL"))
+            .extract()
+            .path("nextPageToken");
+        
+        given()
+            .queryParam("limit", 5)
+            .queryParam("after", nextPageToken)
+            .when()
+            .get("/")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains("BREXPLPWWRO", headSwiftCode));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesWithInvalidPageToken_thenBadRequest() {
+        given()
+            .queryParam("after", "not a token")
+            .when()
+            .get("/")
+            .then()
+            .statusCode(400)
+            .body(containsString("Invalid page token"));
+    }
+    
     @Test
     public void whenGetSwiftCodesByCountryISO2AndCountryDoesNotExists_thenNotFound() {
         String countryISO2 = "QQ";
@@ -256,11 +322,17 @@ public class RestApiTests extends BaseTestModule {
             .get("/{swiftCode}", branchSwiftCode)
             .then()
             .statusCode(404);
+        
+        when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(200)
+            .body("branches.swiftCode", not(hasItem(branchSwiftCode)));
     }
     
     @Test
     public void whenDeleteCodeAndSwiftCodeDataDoesNotExists_thenNotFound() {
-        String swiftCode = "ABCDEFGHIJK";
+        String swiftCode = "ABCDPLPWIJK";
         
         when()
             .delete("/{swiftCode}", swiftCode)
@@ -276,4 +348,288 @@ public class RestApiTests extends BaseTestModule {
             .statusCode(409)
             .body(containsString("Child branches found"));
     }
+    
+    @Test
+    public void whenPostBulkNdjson_thenValidRowsAreInsertedAndInvalidRowsAreReported() throws JsonProcessingException {
+        SwiftCodeRequest branchSwiftCodeRequest = swiftCodeRequest.toBuilder()
+            .swiftCode(swiftCodeRequest.getSwiftCode().substring(0, 8) + "ABC")
+            .headquarter(false)
+            .build();
+        
+        SwiftCodeRequest invalidSwiftCodeRequest = swiftCodeRequest.toBuilder()
+            .swiftCode("ABC")
+            .build();
+        
+        String body = String.join("\n",
+            objectMapper.writeValueAsString(swiftCodeRequest),
+            objectMapper.writeValueAsString(branchSwiftCodeRequest),
+            objectMapper.writeValueAsString(invalidSwiftCodeRequest),
+            objectMapper.writeValueAsString(swiftCodeRequest.toBuilder().swiftCode(headSwiftCode).build())
+        );
+        
+        given()
+            .contentType("application/x-ndjson")
+            .body(body)
+            .when()
+            .post("/bulk")
+            .then()
+            .statusCode(200)
+            .body("processed", is(4))
+            .body("inserted", is(2))
+            .body("failed", is(2))
+            .body("errors.row", hasItem(3))
+            .body("errors.message", hasItem(containsString("Invalid code length")))
+            .body("errors.message", hasItem("SWIFT code already exists"));
+        
+        when()
+            .get("/{swiftCode}", swiftCodeRequest.getSwiftCode())
+            .then()
+            .statusCode(200)
+            .body("branches.swiftCode", hasItem(branchSwiftCodeRequest.getSwiftCode()));
+    }
+    
+    @Test
+    public void whenPostBulkCsv_thenBranchesWithoutHeadquarterAreReported() {
+        String body = String.join("\n",
+            "COUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE",
+            "PL,BREXPLPWKRA,BIC11,MBANK S.A.,\"UL. DLUGA 1  KRAKOW, 31-147\",KRAKOW,POLAND,Europe/Warsaw",
+            "PL,NONEPLPWABC,BIC11,NOT EXISTING BANK,ADDRESS,WARSZAWA,POLAND,Europe/Warsaw"
+        );
+        
+        given()
+            .contentType("text/csv")
+            .body(body)
+            .when()
+            .post("/bulk")
+            .then()
+            .statusCode(200)
+            .body("inserted", is(1))
+            .body("failed", is(1))
+            .body("errors.swiftCode", hasItem("NONEPLPWABC"))
+            .body("errors.message", hasItem(containsString("Headquarter SWIFT code does not exists")));
+        
+        when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(200)
+            .body("branches.swiftCode", hasItem("BREXPLPWKRA"));
+    }
+    
+    @Test
+    public void whenPostBulkCsvWithExistingBranches_thenBranchesAreReportedAndNotLinkedTwice() {
+        String body = String.join("\n",
+            "COUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE",
+            "PL,BREXPLPWWAL,BIC11,MBANK S.A.,\"SIENKIEWICZA 2  WALBRZYCH, 58-300\",WALBRZYCH,POLAND,Europe/Warsaw",
+            "PL,BREXPLPWKRA,BIC11,MBANK S.A.,\"UL. DLUGA 1  KRAKOW, 31-147\",KRAKOW,POLAND,Europe/Warsaw",
+            "PL,BREXPLPWKRA,BIC11,MBANK S.A.,\"UL. DLUGA 1  KRAKOW, 31-147\",KRAKOW,POLAND,Europe/Warsaw"
+        );
+        
+        given()
+            .contentType("text/csv")
+            .body(body)
+            .when()
+            .post("/bulk")
+            .then()
+            .statusCode(200)
+            .body("inserted", is(1))
+            .body("failed", is(2))
+            .body("errors.swiftCode", contains(branchSwiftCode, "BREXPLPWKRA"))
+            .body("errors.message", everyItem(is("SWIFT code already exists")));
+        
+        when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(200)
+            .body("branches.swiftCode", containsInAnyOrder("BREXPLPWWRO", branchSwiftCode, "BREXPLPWKRA"));
+    }
+    
+    @Test
+    public void whenLookupSwiftCodes_thenFoundAndMissingCodesAreReturned() {
+        given()
+            .contentType("application/json")
+            .body("{\"swiftCodes\": [\"" + headSwiftCode + "\", \"ABCDPLPWIJK\", \"" + branchSwiftCode + "\"]}")
+            .when()
+            .post("/lookup")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains(headSwiftCode, branchSwiftCode))
+            .body("swiftCodes[0].branches.swiftCode", hasItem(branchSwiftCode))
+            .body("swiftCodes[0].countryName", is("POLAND"))
+            .body("notFound", contains("ABCDPLPWIJK"));
+    }
+    
+    @Test
+    public void whenLookupSwiftCodesWithInvalidCode_thenBadRequest() {
+        given()
+            .contentType("application/json")
+            .body("{\"swiftCodes\": [\"ABC\"]}")
+            .when()
+            .post("/lookup")
+            .then()
+            .statusCode(400)
+            .body(containsString("Validation Error"));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByPrefix_thenCodesUnderPrefixArePaginated() {
+        String nextPageToken = given()
+            .queryParam("limit", 2)
+            .when()
+            .get("/prefix/{swiftCodePrefix}", "BREXPLPW")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains("BREXPLPWWAL", "BREXPLPWWRO"))
+            .extract()
+            .path("nextPageToken");
+        
+        given()
+            .queryParam("after", nextPageToken)
+            .when()
+            .get("/prefix/{swiftCodePrefix}", "BREXPLPW")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains(headSwiftCode))
+            .body("nextPageToken", nullValue());
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByPrefixWithoutMatches_thenEmptyPage() {
+        when()
+            .get("/prefix/{swiftCodePrefix}", "BREXDE")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes", empty());
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByInvalidPrefix_thenBadRequest() {
+        when()
+            .get("/prefix/{swiftCodePrefix}", "BREXP")
+            .then()
+            .statusCode(400)
+            .body(containsString("Invalid SWIFT code prefix"));
+    }
+    
+    @Test
+    public void whenSearchByBankName_thenMatchingCodesAreRanked() throws JsonProcessingException {
+        swiftCodesSearchIndex.rebuild();
+        
+        given()
+            .contentType("application/json")
+            .body(objectMapper.writeValueAsString(swiftCodeRequest))
+            .when()
+            .post("/")
+            .then()
+            .statusCode(201);
+        
+        given()
+            .queryParam("query", "main street")
+            .when()
+            .get("/search")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes[0].swiftCode", is(swiftCodeRequest.getSwiftCode()))
+            .body("swiftCodes[0].bankName", is(swiftCodeRequest.getBankName()));
+        
+        given()
+            .queryParam("query", "mbank wroclaw")
+            .queryParam("limit", 1)
+            .when()
+            .get("/search")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains("BREXPLPWWRO"));
+    }
+    
+    @Test
+    public void whenSearchWithBlankQuery_thenBadRequest() {
+        given()
+            .queryParam("query", " ")
+            .when()
+            .get("/search")
+            .then()
+            .statusCode(400);
+    }
+    
+    @Test
+    public void whenGetCodeWithCurrentETag_thenNotModified() {
+        String eTag = when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(200)
+            .header("ETag", notNullValue())
+            .extract()
+            .header("ETag");
+        
+        given()
+            .header("If-None-Match", eTag)
+            .when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(304)
+            .header("ETag", is(eTag))
+            .body(emptyString());
+    }
+    
+    @Test
+    public void whenBranchIsDeleted_thenHeadquarterAndCountryETagsChange() {
+        String headETag = when().get("/{swiftCode}", headSwiftCode).then().extract().header("ETag");
+        String countryETag = when().get("/country/{countryISO2}", "PL").then().extract().header("ETag");
+        
+        when()
+            .delete("/{swiftCode}", branchSwiftCode)
+            .then()
+            .statusCode(200);
+        
+        given()
+            .header("If-None-Match", headETag)
+            .when()
+            .get("/{swiftCode}", headSwiftCode)
+            .then()
+            .statusCode(200)
+            .header("ETag", not(headETag))
+            .body("branches.swiftCode", not(hasItem(branchSwiftCode)));
+        
+        given()
+            .header("If-None-Match", countryETag)
+            .when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(200)
+            .header("ETag", not(countryETag))
+            .body("swiftCodes.swiftCode", not(hasItem(branchSwiftCode)));
+    }
+    
+    @Test
+    public void whenCodeIsCreatedAgain_thenPreviousETagDoesNotMatch() throws JsonProcessingException {
+        given()
+            .contentType("application/json")
+            .body(objectMapper.writeValueAsString(swiftCodeRequest))
+            .when()
+            .post("/")
+            .then()
+            .statusCode(201);
+        
+        String eTag = when().get("/{swiftCode}", swiftCodeRequest.getSwiftCode()).then().extract().header("ETag");
+        
+        when()
+            .delete("/{swiftCode}", swiftCodeRequest.getSwiftCode())
+            .then()
+            .statusCode(200);
+        
+        given()
+            .contentType("application/json")
+            .body(objectMapper.writeValueAsString(swiftCodeRequest))
+            .when()
+            .post("/")
+            .then()
+            .statusCode(201);
+        
+        given()
+            .header("If-None-Match", eTag)
+            .when()
+            .get("/{swiftCode}", swiftCodeRequest.getSwiftCode())
+            .then()
+            .statusCode(200);
+    }
 }
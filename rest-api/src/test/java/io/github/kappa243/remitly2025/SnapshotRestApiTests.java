@@ -0,0 +1,112 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.services.SwiftCodesSnapshotWriter;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.restassured.RestAssured.when;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+// runs without MongoDB, so it does not extend BaseTestModule
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "snapshot"})
+public class SnapshotRestApiTests {
+    
+    @LocalServerPort
+    int port;
+    
+    static final Path snapshotPath;
+    
+    static {
+        var country = new CountryItem("PL", "POLAND");
+        var writer = new SwiftCodesSnapshotWriter();
+        
+        writer.add(new SwiftCodeItem("BREXPLPWWRO", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "PL. JANA PAWLA II 9  WROCLAW, DOLNOSLASKIE, 50-136", false, country));
+        writer.add(new SwiftCodeItem("BREXPLPWXXX", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "UL. PROSTA 18  WARSZAWA, MAZOWIECKIE, 00-850", true, country));
+        writer.add(new SwiftCodeItem("ALBPPLPWXXX", "ALIOR BANK SPOLKA AKCYJNA", "WARSZAWA, MAZOWIECKIE", true, country));
+        
+        try {
+            snapshotPath = Files.createTempDirectory("snapshot").resolve("swift_codes.snapshot");
+            writer.write(snapshotPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @DynamicPropertySource
+    static void snapshotProperties(DynamicPropertyRegistry registry) {
+        registry.add("swift-codes.snapshot.path", snapshotPath::toString);
+    }
+    
+    @BeforeEach
+    public void setupRestAssured() {
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.basePath = "/v1/swift-codes";
+        RestAssured.port = port;
+    }
+    
+    @Test
+    public void whenGetHeadquarter_thenBranchesAreListed() {
+        when()
+            .get("/{swiftCode}", "BREXPLPWXXX")
+            .then()
+            .statusCode(200)
+            .header("ETag", notNullValue())
+            .body("bankName", is("MBANK S.A. (FORMERLY BRE BANK S.A.)"))
+            .body("countryName", is("POLAND"))
+            .body("isHeadquarter", is(true))
+            .body("branches.swiftCode", contains("BREXPLPWWRO"));
+    }
+    
+    @Test
+    public void whenGetUnknownSwiftCode_thenNotFound() {
+        when()
+            .get("/{swiftCode}", "BREXPLPWKRA")
+            .then()
+            .statusCode(404);
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByCountryISO2_thenCodesAreSorted() {
+        when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(200)
+            .body("countryName", is("POLAND"))
+            .body("swiftCodes.swiftCode", contains("ALBPPLPWXXX", "BREXPLPWWRO", "BREXPLPWXXX"));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByPrefix_thenOnlyMatchingCodesAreListed() {
+        when()
+            .get("/prefix/{swiftCodePrefix}", "BREX")
+            .then()
+            .statusCode(200)
+            .body("swiftCodes.swiftCode", contains("BREXPLPWWRO", "BREXPLPWXXX"));
+    }
+    
+    @Test
+    public void whenDeleteSwiftCode_thenNotImplemented() {
+        when()
+            .delete("/{swiftCode}", "BREXPLPWWRO")
+            .then()
+            .statusCode(501)
+            .body(containsString("Not supported by the read-only snapshot"));
+    }
+}
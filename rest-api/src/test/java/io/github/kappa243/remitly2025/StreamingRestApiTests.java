@@ -0,0 +1,82 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.repositories.CountriesRepository;
+import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+@TestPropertySource(properties = "swift-codes.streaming.enabled=true")
+public class StreamingRestApiTests extends BaseTestModule {
+    
+    @Autowired
+    private SwiftCodesRepository swiftCodesRepository;
+    
+    @Autowired
+    private CountriesRepository countriesRepository;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @BeforeEach
+    public void fillDatabase() {
+        mongoTemplate.dropCollection(SwiftCodeItem.class);
+        mongoTemplate.dropCollection(CountryItem.class);
+        
+        var country = new CountryItem("PL", "POLAND");
+        
+        countriesRepository.save(country);
+        
+        var swiftCodeChild = new SwiftCodeItem("BREXPLPWWRO", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "PL. JANA PAWLA II 9  WROCLAW, DOLNOSLASKIE, 50-136", false, country);
+        var headSwiftCode = new SwiftCodeItem("BREXPLPWXXX", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "UL. PROSTA 18  WARSZAWA, MAZOWIECKIE, 00-850", true, country, List.of(swiftCodeChild));
+        
+        swiftCodesRepository.save(swiftCodeChild);
+        swiftCodesRepository.save(headSwiftCode);
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByCountryISO2_thenStreamedResponseIsCorrect() {
+        when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(200)
+            .contentType(containsString("application/json"))
+            .body("countryISO2", is("PL"))
+            .body("countryName", is("POLAND"))
+            .body("swiftCodes.swiftCode", contains("BREXPLPWWRO", "BREXPLPWXXX"))
+            .body("swiftCodes.isHeadquarter", contains(false, true))
+            .body("swiftCodes.countryISO2", contains("PL", "PL"));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByCountryISO2AndCborIsPreferred_thenResponseIsNotStreamed() {
+        given()
+            .accept("application/json;q=0.5, application/cbor")
+            .when()
+            .get("/country/{countryISO2}", "PL")
+            .then()
+            .statusCode(200)
+            .contentType(containsString("application/cbor"));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByCountryISO2AndCountryDoesNotExists_thenNotFound() {
+        when()
+            .get("/country/{countryISO2}", "QQ")
+            .then()
+            .statusCode(404)
+            .body(containsString("Country does not exists"));
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.model.SwiftCodeIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SwiftCodeIndexTests {
+    
+    @Test
+    public void whenPutAndRemove_thenIndexMatchesHashMap() {
+        SwiftCodeIndex<Integer> index = new SwiftCodeIndex<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        
+        // few distinct keys, so removals often shift entries of long probe sequences
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(1000);
+            
+            switch (random.nextInt(3)) {
+                case 0 -> assertThat(index.put(key, i)).isEqualTo(expected.put(key, i));
+                case 1 -> assertThat(index.remove(key)).isEqualTo(expected.remove(key));
+                default -> assertThat(index.get(key)).isEqualTo(expected.get(key));
+            }
+            
+            assertThat(index.size()).isEqualTo(expected.size());
+        }
+        
+        Map<Long, Integer> entries = new HashMap<>();
+        index.forEach(entries::put);
+        
+        assertThat(entries).isEqualTo(expected);
+    }
+    
+    @Test
+    public void whenKeyIsAddedWithoutValue_thenItIsContained() {
+        SwiftCodeIndex<Void> index = new SwiftCodeIndex<>();
+        
+        assertThat(index.add(0)).isTrue();
+        assertThat(index.add(0)).isFalse();
+        assertThat(index.containsKey(0)).isTrue();
+        assertThat(index.containsKey(1)).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.model.SwiftCodeKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SwiftCodeKeyTests {
+    
+    @Test
+    public void whenEncodeAndDecode_thenCodeIsUnchanged() {
+        for (String swiftCode : List.of("BREXPLPWXXX", "BREXPLPWWRO", "AAISALTR2XX", "00000000000", "ZZZZZZZZZZZ")) {
+            assertThat(SwiftCodeKey.decode(SwiftCodeKey.encode(swiftCode))).isEqualTo(swiftCode);
+        }
+    }
+    
+    @Test
+    public void whenEncode_thenKeysAreOrderedLikeCodes() {
+        List<String> swiftCodes = List.of("0000PLPWXXX", "AAISALTRXXX", "BREXPLPW0AB", "BREXPLPWWRO", "BREXPLPWXXX", "BREXPLPWZZZ", "ZZZZZZZZZZZ");
+        
+        for (int i = 1; i < swiftCodes.size(); i++) {
+            assertThat(SwiftCodeKey.encode(swiftCodes.get(i - 1))).isLessThan(SwiftCodeKey.encode(swiftCodes.get(i)));
+        }
+    }
+    
+    @Test
+    public void whenBranchKey_thenHeadquarterAndPrefixAreResolved() {
+        long branch = SwiftCodeKey.encode("BREXPLPWWRO");
+        long headquarter = SwiftCodeKey.encode("BREXPLPWXXX");
+        
+        assertThat(SwiftCodeKey.isHeadquarter(branch)).isFalse();
+        assertThat(SwiftCodeKey.isHeadquarter(headquarter)).isTrue();
+        assertThat(SwiftCodeKey.headquarter(branch)).isEqualTo(headquarter);
+        assertThat(SwiftCodeKey.headquarter(headquarter)).isEqualTo(headquarter);
+        assertThat(SwiftCodeKey.prefix(branch, 8)).isEqualTo(SwiftCodeKey.encodePrefix("BREXPLPW"));
+        assertThat(SwiftCodeKey.prefix(branch, 4)).isEqualTo(SwiftCodeKey.encodePrefix("BREX"));
+        assertThat(SwiftCodeKey.firstWithPrefix(SwiftCodeKey.encodePrefix("BREXPL"), 6)).isEqualTo(SwiftCodeKey.encode("BREXPL00000"));
+    }
+    
+    @Test
+    public void whenCodeIsInvalid_thenItIsRejected() {
+        for (String swiftCode : List.of("BREXPLPW", "BREXPLPWXXXX", "brexplpwxxx", "BREX-LPWXXX")) {
+            assertThat(SwiftCodeKey.isValid(swiftCode)).isFalse();
+            assertThatThrownBy(() -> SwiftCodeKey.encode(swiftCode)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
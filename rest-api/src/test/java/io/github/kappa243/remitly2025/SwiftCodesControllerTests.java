@@ -1,41 +1,58 @@
 package io.github.kappa243.remitly2025;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.mongodb.MongoTimeoutException;
 import io.github.kappa243.remitly2025.controllers.CountrySwiftCodesResponse;
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
 import io.github.kappa243.remitly2025.controllers.SwiftCodeRequest;
 import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
 import io.github.kappa243.remitly2025.controllers.SwiftCodesController;
+import io.github.kappa243.remitly2025.controllers.SwiftCodesPageResponse;
 import io.github.kappa243.remitly2025.exceptions.ChildSwiftCodesFoundException;
 import io.github.kappa243.remitly2025.exceptions.CountryNotExistsException;
 import io.github.kappa243.remitly2025.exceptions.HeadSwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.exceptions.InvalidPageTokenException;
 import io.github.kappa243.remitly2025.exceptions.SwiftCodeAlreadyExistsException;
 import io.github.kappa243.remitly2025.exceptions.SwiftCodeNotFoundException;
 import io.github.kappa243.remitly2025.model.CountryItem;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.parser.BulkImportReader;
+import io.github.kappa243.remitly2025.parser.CSVParser;
+import io.github.kappa243.remitly2025.proto.CountrySwiftCodes;
+import io.github.kappa243.remitly2025.proto.ReducedSwiftCode;
+import io.github.kappa243.remitly2025.services.PageToken;
 import io.github.kappa243.remitly2025.services.SwiftCodesService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(SwiftCodesController.class)
-@Import({ProjectionConfig.class})
+@Import({BulkImportReader.class, CSVParser.class, SimpleMeterRegistry.class})
 public class SwiftCodesControllerTests {
     
     String URI = "http://localhost";
@@ -50,12 +67,9 @@ public class SwiftCodesControllerTests {
     @Autowired
     ObjectMapper objectMapper;
     
-    @Autowired
-    ProjectionFactory projectionFactory;
-    
     CountryItem countryPL = new CountryItem("PL", "POLAND");
     SwiftCodeItem swiftCodeData = SwiftCodeItem.builder()
-        .swiftCode("ABCDEFGHXXX")
+        .swiftCode("ABCDPLPWXXX")
         .bankName("MAIN STREET BANK")
         .address("1234 Main St")
         .countryISO2(countryPL)
@@ -75,7 +89,7 @@ public class SwiftCodesControllerTests {
     
     @BeforeEach
     public void beforeEach() {
-        swiftCodeResponse = projectionFactory.createProjection(SwiftCodeResponse.class, swiftCodeData);
+        swiftCodeResponse = SwiftCodeResponse.from(swiftCodeData);
     }
     
     @Test
@@ -87,9 +101,125 @@ public class SwiftCodesControllerTests {
             .andExpect(content().json(objectMapper.writeValueAsString(swiftCodeResponse)));
     }
     
+    @Test
+    public void whenGetCodeWithoutAccept_thenJson() throws Exception {
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(swiftCodeResponse);
+        
+        mockMvc.perform(get(PATH + "/{swiftCode}", swiftCodeData.getSwiftCode())
+                .accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)));
+    }
+    
+    @Test
+    public void whenGetCodeAcceptingCbor_thenCborWithJsonContent() throws Exception {
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(swiftCodeResponse);
+        
+        byte[] body = mockMvc.perform(get(PATH + "/{swiftCode}", swiftCodeData.getSwiftCode())
+                .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        
+        assertThat(new CBORMapper().readTree(body)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(swiftCodeResponse)));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByCountryISO2AcceptingProtobuf_thenProtobufMessage() throws Exception {
+        CountrySwiftCodesResponse countrySwiftCodesResponse = CountrySwiftCodesResponse.builder()
+            .countryISO2(countryPL.getCountryISO2())
+            .countryName(countryPL.getCountryName())
+            .swiftCodes(List.of(ReducedSwiftCodeResponse.from(swiftCodeData)))
+            .build();
+        
+        when(swiftCodesService.getSwiftCodesDataByCountryISO2(countryPL.getCountryISO2())).thenReturn(countrySwiftCodesResponse);
+        
+        byte[] body = mockMvc.perform(get(PATH + "/country/{countryISO2code}", countryPL.getCountryISO2())
+                .accept(ProtobufHttpMessageConverter.PROTOBUF))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(ProtobufHttpMessageConverter.PROTOBUF))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        
+        CountrySwiftCodes message = CountrySwiftCodes.parseFrom(body);
+        
+        assertThat(message.getCountryIso2()).isEqualTo(countryPL.getCountryISO2());
+        assertThat(message.getSwiftCodesList()).extracting(ReducedSwiftCode::getSwiftCode).containsExactly(swiftCodeData.getSwiftCode());
+        assertThat(message.getSwiftCodes(0).getIsHeadquarter()).isTrue();
+    }
+    
+    @Test
+    public void whenGetCodeWithCurrentETag_thenNotModifiedAndCodeIsNotRead() throws Exception {
+        when(swiftCodesService.getSwiftCodeVersion(swiftCodeData.getSwiftCode())).thenReturn(5L);
+        
+        mockMvc.perform(get(PATH + "/{swiftCode}", swiftCodeData.getSwiftCode())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+            .andExpect(content().string(""));
+        
+        verify(swiftCodesService, never()).getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
+    }
+    
+    @Test
+    public void whenGetCodeAcceptingCborWithJsonETag_thenCborWithOwnETag() throws Exception {
+        swiftCodeResponse = SwiftCodeResponse.from(swiftCodeData.toBuilder().version(5L).build());
+        
+        when(swiftCodesService.getSwiftCodeVersion(swiftCodeData.getSwiftCode())).thenReturn(5L);
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(swiftCodeResponse);
+        
+        mockMvc.perform(get(PATH + "/{swiftCode}", swiftCodeData.getSwiftCode())
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"5-cbor\""));
+    }
+    
+    @Test
+    public void whenGetCodeWithOutdatedETag_thenOk() throws Exception {
+        swiftCodeResponse = SwiftCodeResponse.from(swiftCodeData.toBuilder().version(6L).build());
+        
+        when(swiftCodesService.getSwiftCodeVersion(swiftCodeData.getSwiftCode())).thenReturn(6L);
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(swiftCodeResponse);
+        
+        mockMvc.perform(get(PATH + "/{swiftCode}", swiftCodeData.getSwiftCode())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"6\""))
+            .andExpect(content().json(objectMapper.writeValueAsString(swiftCodeResponse)));
+    }
+    
+    @Test
+    public void whenGetBranchCode_thenResponseKeepsJsonContract() throws Exception {
+        SwiftCodeItem branchData = swiftCodeData.toBuilder()
+            .swiftCode("ABCDPLPWABC")
+            .headquarter(false)
+            .build();
+        
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(branchData.getSwiftCode())).thenReturn(SwiftCodeResponse.from(branchData));
+        
+        mockMvc.perform(get(PATH + "/{swiftCode}", branchData.getSwiftCode()))
+            .andExpect(status().isOk())
+            .andExpect(content().json("""
+                {
+                    "address": "1234 Main St",
+                    "bankName": "MAIN STREET BANK",
+                    "countryISO2": "PL",
+                    "countryName": "POLAND",
+                    "isHeadquarter": false,
+                    "swiftCode": "ABCDPLPWABC"
+                }
+                """, true));
+    }
+    
     @Test
     public void whenGetNonExistentCode_thenNotFound() throws Exception {
-        String swiftCode = "ABCDEFGHIJK";
+        String swiftCode = "ABCDPLPWIJK";
         when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCode)).thenThrow(new SwiftCodeNotFoundException());
         
         mockMvc.perform(get(PATH + "/{swiftCode}", swiftCode))
@@ -116,6 +246,16 @@ public class SwiftCodesControllerTests {
             .andExpect(content().string(containsString("Invalid SWIFT code pattern")));
     }
     
+    @Test
+    public void whenGetUnknownCodeCountry_thenBadRequest() throws Exception {
+        String swiftCode = "ABCDQQPWXXX";
+        
+        mockMvc.perform(get(PATH + "/{swiftCode}", swiftCode))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string(containsString("Validation Error")))
+            .andExpect(content().string(containsString("Invalid SWIFT code country")));
+    }
+    
     @Test
     public void whenPostSwiftCodeData_thenCreated() throws Exception {
         when(swiftCodesService.addSwiftCodeData(swiftCodeData)).thenReturn(swiftCodeResponse);
@@ -146,7 +286,7 @@ public class SwiftCodesControllerTests {
     @Test
     public void whenPostSwiftCodeRequestAndInvalidHeadquarterPattern_thenBadRequest() throws Exception {
         SwiftCodeRequest invalidSwiftCodeRequest = swiftCodeRequest.toBuilder()
-            .swiftCode("ABCDEFGHABC")
+            .swiftCode("ABCDPLPWABC")
             .build();
         
         mockMvc.perform(post(PATH + "/")
@@ -215,6 +355,76 @@ public class SwiftCodesControllerTests {
             .andExpect(status().isNotFound());
     }
     
+    @Test
+    public void whenGetSwiftCodes_thenOk() throws Exception {
+        SwiftCodesPageResponse swiftCodesPageResponse = SwiftCodesPageResponse.builder()
+            .swiftCodes(List.of(swiftCodeResponse))
+            .nextPageToken(PageToken.encode(swiftCodeData.getSwiftCode()))
+            .build();
+        
+        when(swiftCodesService.getSwiftCodesData(1, null)).thenReturn(swiftCodesPageResponse);
+        
+        mockMvc.perform(get(PATH + "/").param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(content().json(objectMapper.writeValueAsString(swiftCodesPageResponse)));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByCountryISO2WithAfter_thenDefaultLimitIsUsed() throws Exception {
+        String countryISO2 = countryPL.getCountryISO2();
+        String after = PageToken.encode(swiftCodeData.getSwiftCode());
+        
+        CountrySwiftCodesResponse countrySwiftCodesResponse = CountrySwiftCodesResponse.builder()
+            .countryISO2(countryISO2)
+            .countryName(countryPL.getCountryName())
+            .swiftCodes(List.of())
+            .build();
+        
+        when(swiftCodesService.getSwiftCodesDataByCountryISO2(countryISO2, 100, after)).thenReturn(countrySwiftCodesResponse);
+        
+        mockMvc.perform(get(PATH + "/country/{countryISO2code}", countryISO2).param("after", after))
+            .andExpect(status().isOk())
+            .andExpect(content().json(objectMapper.writeValueAsString(countrySwiftCodesResponse)));
+    }
+    
+    @Test
+    public void whenGetSwiftCodesWithLimitOutOfRange_thenBadRequest() throws Exception {
+        mockMvc.perform(get(PATH + "/").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+        
+        mockMvc.perform(get(PATH + "/").param("limit", "1001"))
+            .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    public void whenGetSwiftCodesWithInvalidPageToken_thenBadRequest() throws Exception {
+        when(swiftCodesService.getSwiftCodesData(100, "invalid")).thenThrow(new InvalidPageTokenException());
+        
+        mockMvc.perform(get(PATH + "/").param("after", "invalid"))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string(containsString("Invalid page token")));
+    }
+    
+    @Test
+    public void whenGetCodeAndNoConnectionBecomesFree_thenServiceUnavailableAsOverloaded() throws Exception {
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode()))
+            .thenThrow(new DataAccessResourceFailureException("Timed out", new MongoTimeoutException("Timed out while waiting for a connection")));
+        
+        mockMvc.perform(get(PATH + "/{swiftCode}", swiftCodeData.getSwiftCode()))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(content().string("Service is overloaded, try again later"));
+    }
+    
+    @Test
+    public void whenGetCodeAndDatabaseIsUnreachable_thenServiceUnavailableAsDatabaseUnavailable() throws Exception {
+        when(swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode()))
+            .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        
+        mockMvc.perform(get(PATH + "/{swiftCode}", swiftCodeData.getSwiftCode()))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(content().string("Database unavailable"));
+    }
+    
     @Test
     public void whenDeleteCode_thenOk() throws Exception {
         String swiftCode = swiftCodeData.getSwiftCode();
@@ -225,7 +435,7 @@ public class SwiftCodesControllerTests {
     
     @Test
     public void whenDeleteCodeAndSwiftCodeDataDoesNotExists_thenNotFound() throws Exception {
-        String swiftCode = "ABCDEFGHIJK";
+        String swiftCode = "ABCDPLPWIJK";
         doThrow(new SwiftCodeNotFoundException()).when(swiftCodesService).deleteSwiftCodeData(swiftCode);
         
         mockMvc.perform(delete(PATH + "/{swiftCode}", swiftCode))
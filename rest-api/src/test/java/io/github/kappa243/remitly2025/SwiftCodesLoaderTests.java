@@ -0,0 +1,124 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.ImportCheckpoint;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.parser.CSVParser;
+import io.github.kappa243.remitly2025.repositories.ImportCheckpointsRepository;
+import io.github.kappa243.remitly2025.services.SwiftCodesLoader;
+import io.github.kappa243.remitly2025.services.SwiftCodesLoaderProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+public class SwiftCodesLoaderTests extends BaseTestModule {
+    
+    // bundled CSV without the branches whose headquarter is not in the file
+    static final int SWIFT_CODES = 1024;
+    
+    static final int BRANCHES = 328;
+    
+    static final int COUNTRIES = 9;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private ImportCheckpointsRepository importCheckpointsRepository;
+    
+    @Autowired
+    private CSVParser csvParser;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    Resource csvResource;
+    
+    @BeforeEach
+    public void clearDatabase() {
+        mongoTemplate.dropCollection(SwiftCodeItem.class);
+        mongoTemplate.dropCollection(CountryItem.class);
+        mongoTemplate.dropCollection(ImportCheckpoint.class);
+        
+        csvResource = csvParser.getBundledCSV();
+    }
+    
+    private SwiftCodesLoader loader(MongoTemplate mongoTemplate, int threads) {
+        SwiftCodesLoaderProperties properties = new SwiftCodesLoaderProperties();
+        properties.setBatchSize(100);
+        properties.setThreads(threads);
+        
+        return new SwiftCodesLoader(mongoTemplate, importCheckpointsRepository, csvParser, properties, meterRegistry);
+    }
+    
+    private List<String> getLinkedBranches() {
+        return mongoTemplate.find(Query.query(Criteria.where("isHeadquarter").is(true)), SwiftCodeItem.class).stream()
+            .flatMap(headquarter -> headquarter.getBranches().stream())
+            .map(SwiftCodeItem::getSwiftCode)
+            .toList();
+    }
+    
+    @Test
+    public void whenLoad_thenAllCodesAndCountriesAreStoredAndCheckpointIsCompleted() throws Exception {
+        loader(mongoTemplate, 4).load(csvResource);
+        
+        assertThat(mongoTemplate.count(new Query(), SwiftCodeItem.class)).isEqualTo(SWIFT_CODES);
+        assertThat(mongoTemplate.count(new Query(), CountryItem.class)).isEqualTo(COUNTRIES);
+        assertThat(getLinkedBranches()).hasSize(BRANCHES);
+        
+        ImportCheckpoint checkpoint = importCheckpointsRepository.findById(csvResource.getFilename()).orElseThrow();
+        assertThat(checkpoint.isCompleted()).isTrue();
+    }
+    
+    @Test
+    public void whenLoadResumesFromPartialCheckpoint_thenBranchesAreNotLinkedTwice() throws Exception {
+        loader(mongoTemplate, 4).load(csvResource);
+        
+        // batches after the checkpoint may have been committed before the application stopped
+        importCheckpointsRepository.save(ImportCheckpoint.builder()
+            .source(csvResource.getFilename())
+            .committedRow(500)
+            .completed(false)
+            .updatedAt(Instant.now())
+            .build());
+        
+        loader(mongoTemplate, 4).load(csvResource);
+        
+        assertThat(mongoTemplate.count(new Query(), SwiftCodeItem.class)).isEqualTo(SWIFT_CODES);
+        assertThat(mongoTemplate.count(new Query(), CountryItem.class)).isEqualTo(COUNTRIES);
+        assertThat(getLinkedBranches()).hasSize(BRANCHES).doesNotHaveDuplicates();
+        assertThat(importCheckpointsRepository.findById(csvResource.getFilename()).orElseThrow().isCompleted()).isTrue();
+    }
+    
+    @Test
+    public void whenBatchFails_thenCheckpointIsNotAdvancedPastIt() {
+        MongoTemplate failingTemplate = spy(mongoTemplate);
+        
+        // first batch fails, later batches are written but are not covered by the checkpoint before it
+        doThrow(new DataAccessResourceFailureException("Timed out"))
+            .doCallRealMethod()
+            .when(failingTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, SwiftCodeItem.class);
+        
+        assertThatThrownBy(() -> loader(failingTemplate, 1).load(csvResource))
+            .isInstanceOf(IllegalStateException.class);
+        
+        ImportCheckpoint checkpoint = importCheckpointsRepository.findById(csvResource.getFilename()).orElseThrow();
+        assertThat(checkpoint.getCommittedRow()).isZero();
+        assertThat(checkpoint.isCompleted()).isFalse();
+    }
+}
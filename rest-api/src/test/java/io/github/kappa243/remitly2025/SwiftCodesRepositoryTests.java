@@ -1,7 +1,5 @@
 package io.github.kappa243.remitly2025;
 
-
-import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
 import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
 import io.github.kappa243.remitly2025.model.CountryItem;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
@@ -10,9 +8,7 @@ import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.index.Index;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,7 +34,7 @@ public class SwiftCodesRepositoryTests extends BaseTestModule {
             mongoTemplate.dropCollection(SwiftCodeItem.class);
             mongoTemplate.dropCollection(CountryItem.class);
             
-            mongoTemplate.indexOps(SwiftCodeItem.class).ensureIndex(new Index().on("countryISO2", Sort.Direction.ASC).named("countryISO2_"));
+            mongoTemplate.indexOps(SwiftCodeItem.class).ensureIndex(SwiftCodeItem.countrySwiftCodeIndex());
         }
         
         var country = new CountryItem("PL", "POLAND");
@@ -81,23 +77,23 @@ public class SwiftCodesRepositoryTests extends BaseTestModule {
     @Test
     public void whenFindSwiftCodeDataByCodeAndSwiftCodeDataExists_thenReturnSwiftCodeResponse() {
         swiftCodesRepository.save(swiftCodeData);
-        Optional<SwiftCodeResponse> existingSwiftCodeResponse = swiftCodesRepository.findBySwiftCode(swiftCodeData.getSwiftCode());
+        Optional<SwiftCodeItem> existingSwiftCodeResponse = swiftCodesRepository.findById(swiftCodeData.getSwiftCode());
         
         assertThat(existingSwiftCodeResponse).isPresent();
         
-        SwiftCodeResponse swiftCodeResponse = existingSwiftCodeResponse.get();
+        SwiftCodeResponse swiftCodeResponse = SwiftCodeResponse.from(existingSwiftCodeResponse.get());
         assertThat(swiftCodeResponse.getSwiftCode()).isEqualTo(swiftCodeData.getSwiftCode());
         assertThat(swiftCodeResponse.getCountryISO2()).isEqualTo(swiftCodeData.getCountryISO2().getCountryISO2());
         assertThat(swiftCodeResponse.getCountryName()).isEqualTo(swiftCodeData.getCountryISO2().getCountryName());
         assertThat(swiftCodeResponse.getBankName()).isEqualTo(swiftCodeData.getBankName());
         assertThat(swiftCodeResponse.getAddress()).isEqualTo(swiftCodeData.getAddress());
-        assertThat(swiftCodeResponse.getHeadquarter()).isEqualTo(swiftCodeData.isHeadquarter());
+        assertThat(swiftCodeResponse.isHeadquarter()).isEqualTo(swiftCodeData.isHeadquarter());
         assertThat(swiftCodeResponse.getBranches()).isEqualTo(swiftCodeData.getBranches());
     }
     
     @Test
     public void whenFindSwiftCodeDataByCodeAndSwiftCodeDataDoesNotExist_thenReturnEmpty() {
-        Optional<SwiftCodeResponse> nonExistingSwiftCodeResponse = swiftCodesRepository.findBySwiftCode("ABCDEFGHIJK");
+        Optional<SwiftCodeItem> nonExistingSwiftCodeResponse = swiftCodesRepository.findById("ABCDEFGHIJK");
         
         assertThat(nonExistingSwiftCodeResponse).isEmpty();
     }
@@ -117,25 +113,27 @@ public class SwiftCodesRepositoryTests extends BaseTestModule {
         swiftCodesRepository.save(branchSwiftCodeData);
         swiftCodesRepository.save(swiftCodeData);
         
-        Optional<SwiftCodeResponse> savedHeadSwiftCodeResponse = swiftCodesRepository.findBySwiftCode(swiftCodeData.getSwiftCode());
-        Optional<SwiftCodeResponse> savedBranchSwiftCodeResponse = swiftCodesRepository.findBySwiftCode(branchSwiftCodeData.getSwiftCode());
+        Optional<SwiftCodeItem> savedHeadSwiftCodeResponse = swiftCodesRepository.findById(swiftCodeData.getSwiftCode());
+        Optional<SwiftCodeItem> savedBranchSwiftCodeResponse = swiftCodesRepository.findById(branchSwiftCodeData.getSwiftCode());
         
         assertThat(savedHeadSwiftCodeResponse).isPresent();
         assertThat(savedBranchSwiftCodeResponse).isPresent();
         
-        SwiftCodeResponse responseHeadSwiftCode = savedHeadSwiftCodeResponse.get();
+        SwiftCodeResponse responseHeadSwiftCode = SwiftCodeResponse.from(savedHeadSwiftCodeResponse.get());
         
         assertThat(responseHeadSwiftCode.getBranches().size()).isEqualTo(1);
         assertThat(responseHeadSwiftCode.getBranches().get(0).getSwiftCode()).isEqualTo(branchSwiftCodeData.getSwiftCode());
     }
     
     @Test
-    public void whenFindSwiftCodesByCountryISO2_thenReturnReducedSwiftCodeResponses() {
-        List<ReducedSwiftCodeResponse> savedSwiftCodeResponses = swiftCodesRepository.findAllByCountryISO2(countryPL);
-        
-        assertThat(savedSwiftCodeResponses).isNotEmpty();
-        assertThat(savedSwiftCodeResponses.size()).isEqualTo(3);
-        assertThat(savedSwiftCodeResponses).allSatisfy(bank -> assertThat(bank.getCountryISO2()).isEqualTo(countryPL.getCountryISO2()));
+    public void whenFindSwiftCodesByCountryISO2_thenReturnSwiftCodesWithoutBranches() {
+        List<SwiftCodeItem> savedSwiftCodes = swiftCodesRepository.findAllByCountryISO2_CountryISO2(countryPL.getCountryISO2());
+        
+        assertThat(savedSwiftCodes).isNotEmpty();
+        assertThat(savedSwiftCodes.size()).isEqualTo(3);
+        assertThat(savedSwiftCodes).allSatisfy(bank -> assertThat(bank.getCountryISO2().getCountryISO2()).isEqualTo(countryPL.getCountryISO2()));
+        // listings do not read embedded branches
+        assertThat(savedSwiftCodes).allSatisfy(bank -> assertThat(bank.getBranches()).isNull());
     }
     
     @Test
@@ -144,7 +142,7 @@ public class SwiftCodesRepositoryTests extends BaseTestModule {
         
         swiftCodesRepository.delete(swiftCodeData);
         
-        Optional<SwiftCodeResponse> bank = swiftCodesRepository.findBySwiftCode(swiftCodeData.getSwiftCode());
+        Optional<SwiftCodeItem> bank = swiftCodesRepository.findById(swiftCodeData.getSwiftCode());
         
         assertThat(bank).isEmpty();
     }
@@ -0,0 +1,55 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.controllers.SwiftCodeSearchHit;
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.services.SwiftCodesSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SwiftCodesSearchIndexTests {
+    
+    SwiftCodesSearchIndex swiftCodesSearchIndex = new SwiftCodesSearchIndex(null);
+    
+    CountryItem countryPL = new CountryItem("PL", "POLAND");
+    
+    @BeforeEach
+    public void fillIndex() {
+        swiftCodesSearchIndex.add(new SwiftCodeItem("BREXPLPWXXX", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "UL. PROSTA 18  WARSZAWA, MAZOWIECKIE, 00-850", true, countryPL));
+        swiftCodesSearchIndex.add(new SwiftCodeItem("BREXPLPWWRO", "MBANK S.A. (FORMERLY BRE BANK S.A.)", "PL. JANA PAWLA II 9  WROCLAW, DOLNOSLASKIE, 50-136", false, countryPL));
+        swiftCodesSearchIndex.add(new SwiftCodeItem("PKOPPLPWXXX", "PKO BANK POLSKI S.A.", "PULAWSKA 15  WARSZAWA, MAZOWIECKIE, 02-515", true, countryPL));
+    }
+    
+    @Test
+    public void whenSearchWithTypo_thenClosestBankIsFirst() {
+        List<SwiftCodeSearchHit> hits = swiftCodesSearchIndex.search("pko bnk polski", 10);
+        
+        assertThat(hits).isNotEmpty();
+        assertThat(hits.get(0).getSwiftCode()).isEqualTo("PKOPPLPWXXX");
+    }
+    
+    @Test
+    public void whenSearchWithDiacritics_thenAddressIsMatched() {
+        List<SwiftCodeSearchHit> hits = swiftCodesSearchIndex.search("mbank wrocław", 1);
+        
+        assertThat(hits).extracting(SwiftCodeSearchHit::getSwiftCode).containsExactly("BREXPLPWWRO");
+    }
+    
+    @Test
+    public void whenCodeIsRemoved_thenItIsNotFound() {
+        swiftCodesSearchIndex.remove("PKOPPLPWXXX");
+        
+        assertThat(swiftCodesSearchIndex.search("pko bank polski", 10))
+            .extracting(SwiftCodeSearchHit::getSwiftCode)
+            .doesNotContain("PKOPPLPWXXX");
+    }
+    
+    @Test
+    public void whenNothingMatches_thenNoHits() {
+        assertThat(swiftCodesSearchIndex.search("zzz", 10)).isEmpty();
+    }
+}
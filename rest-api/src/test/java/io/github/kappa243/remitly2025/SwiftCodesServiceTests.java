@@ -1,23 +1,32 @@
 package io.github.kappa243.remitly2025;
 
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import io.github.kappa243.remitly2025.controllers.ReducedSwiftCodeResponse;
 import io.github.kappa243.remitly2025.controllers.SwiftCodeResponse;
 import io.github.kappa243.remitly2025.exceptions.ChildSwiftCodesFoundException;
 import io.github.kappa243.remitly2025.exceptions.CountryNotExistsException;
 import io.github.kappa243.remitly2025.exceptions.HeadSwiftCodeNotFoundException;
+import io.github.kappa243.remitly2025.exceptions.InvalidPageTokenException;
 import io.github.kappa243.remitly2025.exceptions.SwiftCodeAlreadyExistsException;
 import io.github.kappa243.remitly2025.exceptions.SwiftCodeNotFoundException;
 import io.github.kappa243.remitly2025.model.CountryItem;
 import io.github.kappa243.remitly2025.model.SwiftCodeItem;
 import io.github.kappa243.remitly2025.repositories.CountriesRepository;
 import io.github.kappa243.remitly2025.repositories.SwiftCodesRepository;
+import io.github.kappa243.remitly2025.services.PageToken;
+import io.github.kappa243.remitly2025.services.SwiftCodesSearchIndex;
 import io.github.kappa243.remitly2025.services.SwiftCodesServiceImpl;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +35,11 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SwiftCodesServiceTests extends BaseTestModule {
@@ -36,9 +50,11 @@ public class SwiftCodesServiceTests extends BaseTestModule {
     @Mock
     CountriesRepository countriesRepository;
     
-    @Autowired
-    @Spy
-    ProjectionFactory projectionFactory;
+    @Mock
+    SwiftCodesSearchIndex swiftCodesSearchIndex;
+    
+    @Mock
+    MongoTemplate mongoTemplate;
     
     @InjectMocks
     SwiftCodesServiceImpl swiftCodesService;
@@ -55,17 +71,10 @@ public class SwiftCodesServiceTests extends BaseTestModule {
         .branches(new ArrayList<>())
         .build();
     
-    SwiftCodeResponse swiftCodeResponse;
-    
-    @BeforeEach
-    public void beforeEach() {
-        swiftCodeResponse = projectionFactory.createProjection(SwiftCodeResponse.class, swiftCodeData);
-    }
-    
     
     @Test
     public void whenGetSwiftCodeDataByCodeAndSwiftCodeDataExists_thenReturnSwiftCodeResponse() {
-        when(swiftCodesRepository.findBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(Optional.of(swiftCodeResponse));
+        when(swiftCodesRepository.findById(swiftCodeData.getSwiftCode())).thenReturn(Optional.of(swiftCodeData));
         
         assertThatCode(() -> {
             SwiftCodeResponse response = swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode());
@@ -75,66 +84,140 @@ public class SwiftCodesServiceTests extends BaseTestModule {
             assertThat(response.getCountryName()).isEqualTo(swiftCodeData.getCountryISO2().getCountryName());
             assertThat(response.getBankName()).isEqualTo(swiftCodeData.getBankName());
             assertThat(response.getAddress()).isEqualTo(swiftCodeData.getAddress());
-            assertThat(response.getHeadquarter()).isEqualTo(swiftCodeData.isHeadquarter());
+            assertThat(response.isHeadquarter()).isEqualTo(swiftCodeData.isHeadquarter());
             assertThat(response.getBranches().size()).isEqualTo(swiftCodeData.getBranches().size());
         }).doesNotThrowAnyException();
     }
     
     @Test
-    public void whenGetSwiftCodeDataByCodeAndSwiftCodeDataDoesNotExist_thenThrowSwiftCodeNotFoundException() {
-        when(swiftCodesRepository.findBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(Optional.empty());
+    public void whenGetSwiftCodeVersionAndSwiftCodeDataHasNoVersion_thenReturnZero() throws SwiftCodeNotFoundException {
+        when(swiftCodesRepository.findVersionBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(Optional.of(swiftCodeData));
         
-        assertThatThrownBy(() -> swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode()))
+        assertThat(swiftCodesService.getSwiftCodeVersion(swiftCodeData.getSwiftCode())).isZero();
+    }
+    
+    @Test
+    public void whenGetSwiftCodeVersionAndSwiftCodeDataDoesNotExist_thenThrowSwiftCodeNotFoundException() {
+        when(swiftCodesRepository.findVersionBySwiftCode(swiftCodeData.getSwiftCode())).thenReturn(Optional.empty());
+        
+        assertThatThrownBy(() -> swiftCodesService.getSwiftCodeVersion(swiftCodeData.getSwiftCode()))
             .isInstanceOf(SwiftCodeNotFoundException.class);
     }
     
     @Test
-    public void whenSaveSwiftCodeDataAndSwiftCodeDataDoesNotExistsAndCountryExistsAndIsHeadquarter_thenSaveSwiftCodeData() {
+    public void whenGetSwiftCodeDataByCodeAndSwiftCodeDataDoesNotExist_thenThrowSwiftCodeNotFoundException() {
         when(swiftCodesRepository.findById(swiftCodeData.getSwiftCode())).thenReturn(Optional.empty());
-        when(countriesRepository.findById(countryPL.getCountryISO2())).thenReturn(Optional.of(countryPL));
-        when(swiftCodesRepository.save(swiftCodeData)).thenReturn(swiftCodeData);
         
-        assertThatCode(() -> swiftCodesService.addSwiftCodeData(swiftCodeData)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> swiftCodesService.getSwiftCodeDataBySwiftCode(swiftCodeData.getSwiftCode()))
+            .isInstanceOf(SwiftCodeNotFoundException.class);
     }
     
     @Test
-    public void whenSaveSwiftCodeDataAndSwiftCodeDataDoesNotExistsAndCountryDoesNotExistsAndIsHeadquarter_thenSaveSwiftCodeData() {
-        when(swiftCodesRepository.findById(swiftCodeData.getSwiftCode())).thenReturn(Optional.empty());
-        when(countriesRepository.findById(countryPL.getCountryISO2())).thenReturn(Optional.empty());
-        when(countriesRepository.save(countryPL)).thenReturn(countryPL);
-        when(swiftCodesRepository.save(swiftCodeData)).thenReturn(swiftCodeData);
+    public void whenSaveSwiftCodeDataAndIsHeadquarter_thenInsertSwiftCodeDataAndUpsertCountryWithoutReads() {
+        when(swiftCodesRepository.insert(swiftCodeData)).thenReturn(swiftCodeData);
         
         assertThatCode(() -> swiftCodesService.addSwiftCodeData(swiftCodeData)).doesNotThrowAnyException();
+        
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(CountryItem.class));
+        verify(swiftCodesRepository, never()).findById(any());
+        verify(countriesRepository, never()).findById(any());
     }
     
     @Test
     public void whenSaveSwiftCodeDataAndSwiftCodeDataExists_thenThrowSwiftCodeAlreadyExistsException() {
-        when(swiftCodesRepository.findById(swiftCodeData.getSwiftCode())).thenReturn(Optional.of(swiftCodeData));
+        when(swiftCodesRepository.insert(swiftCodeData)).thenThrow(new DuplicateKeyException("E11000"));
         
         assertThatThrownBy(() -> swiftCodesService.addSwiftCodeData(swiftCodeData))
             .isInstanceOf(SwiftCodeAlreadyExistsException.class);
+        
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(CountryItem.class));
     }
     
     @Test
-    public void whenSaveSwiftCodeDataAndSwiftCodeDataDoesNotExistsAndCountryExistsAndHasNotHeadquarter_thenThrowHeadSwiftCodeNotFoundException() {
+    public void whenSaveBranchAndHeadquarterExists_thenLinkAndInsertBranch() {
         SwiftCodeItem branch = swiftCodeData.toBuilder()
             .swiftCode("ABCDEFGHABC")
             .headquarter(false)
             .build();
         
-        when(swiftCodesRepository.findById(branch.getSwiftCode())).thenReturn(Optional.empty());
-        when(countriesRepository.findById(branch.getCountryISO2().getCountryISO2())).thenReturn(Optional.of(countryPL));
-        when(swiftCodesRepository.save(branch)).thenReturn(branch);
-        when(swiftCodesRepository.findById(swiftCodeData.getSwiftCode())).thenReturn(Optional.empty());
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SwiftCodeItem.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(swiftCodesRepository.insert(branch)).thenReturn(branch);
+        
+        assertThatCode(() -> swiftCodesService.addSwiftCodeData(branch)).doesNotThrowAnyException();
+        
+        verify(swiftCodesRepository, never()).existsById(any());
+    }
+    
+    @Test
+    public void whenSaveBranchAndHeadquarterDoesNotExist_thenThrowHeadSwiftCodeNotFoundException() {
+        SwiftCodeItem branch = swiftCodeData.toBuilder()
+            .swiftCode("ABCDEFGHABC")
+            .headquarter(false)
+            .build();
+        
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SwiftCodeItem.class))).thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(swiftCodesRepository.existsById(swiftCodeData.getSwiftCode())).thenReturn(false);
         
         assertThatThrownBy(() -> swiftCodesService.addSwiftCodeData(branch))
             .isInstanceOf(HeadSwiftCodeNotFoundException.class);
+        
+        verify(swiftCodesRepository, never()).insert(any(SwiftCodeItem.class));
+    }
+    
+    @Test
+    public void whenSaveBranchAndHeadquarterAlreadyListsBranch_thenThrowSwiftCodeAlreadyExistsException() {
+        SwiftCodeItem branch = swiftCodeData.toBuilder()
+            .swiftCode("ABCDEFGHABC")
+            .headquarter(false)
+            .build();
+        
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SwiftCodeItem.class))).thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(swiftCodesRepository.existsById(swiftCodeData.getSwiftCode())).thenReturn(true);
+        
+        assertThatThrownBy(() -> swiftCodesService.addSwiftCodeData(branch))
+            .isInstanceOf(SwiftCodeAlreadyExistsException.class);
+    }
+    
+    @Test
+    public void whenSaveBranchAndBranchInsertFails_thenUnlinkBranchAndThrowSwiftCodeAlreadyExistsException() {
+        SwiftCodeItem branch = swiftCodeData.toBuilder()
+            .swiftCode("ABCDEFGHABC")
+            .headquarter(false)
+            .build();
+        
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SwiftCodeItem.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(swiftCodesRepository.insert(branch)).thenThrow(new DuplicateKeyException("E11000"));
+        
+        assertThatThrownBy(() -> swiftCodesService.addSwiftCodeData(branch))
+            .isInstanceOf(SwiftCodeAlreadyExistsException.class);
+        
+        // linked, then unlinked again
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(SwiftCodeItem.class));
+    }
+    
+    @Test
+    public void whenSaveBranchAndBranchInsertFailsWithOtherError_thenUnlinkBranchAndRethrow() {
+        SwiftCodeItem branch = swiftCodeData.toBuilder()
+            .swiftCode("ABCDEFGHABC")
+            .headquarter(false)
+            .build();
+        DataAccessResourceFailureException failure = new DataAccessResourceFailureException("Timed out");
+        
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SwiftCodeItem.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(swiftCodesRepository.insert(branch)).thenThrow(failure);
+        
+        assertThatThrownBy(() -> swiftCodesService.addSwiftCodeData(branch))
+            .isSameAs(failure);
+        
+        // linked, then unlinked again
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(SwiftCodeItem.class));
+        verify(swiftCodesSearchIndex, never()).add(branch);
     }
     
     @Test
     public void whenGetSwiftCodesByCountryISO2AndCountryExists_thenReturnSwiftCodeResponses() {
         when(countriesRepository.findById(countryPL.getCountryISO2())).thenReturn(Optional.of(countryPL));
-        when(swiftCodesRepository.findAllByCountryISO2(countryPL)).thenReturn(List.of(swiftCodeResponse));
+        when(swiftCodesRepository.findAllByCountryISO2_CountryISO2(countryPL.getCountryISO2())).thenReturn(List.of(swiftCodeData));
         
         assertThatCode(() -> {
             var swiftCodes = swiftCodesService.getSwiftCodesDataByCountryISO2(countryPL.getCountryISO2());
@@ -143,6 +226,67 @@ public class SwiftCodesServiceTests extends BaseTestModule {
         }).doesNotThrowAnyException();
     }
     
+    @Test
+    public void whenGetSwiftCodesByCountryISO2WithLimitAndMoreCodesExist_thenReturnNextPageToken() {
+        SwiftCodeItem branchData = swiftCodeData.toBuilder()
+            .swiftCode("ABCDEFGHZZZ")
+            .headquarter(false)
+            .build();
+        
+        when(countriesRepository.findById(countryPL.getCountryISO2())).thenReturn(Optional.of(countryPL));
+        when(swiftCodesRepository.findAllByCountryISO2_CountryISO2AndSwiftCodeGreaterThanOrderBySwiftCodeAsc(countryPL.getCountryISO2(), "", Limit.of(2)))
+            .thenReturn(List.of(swiftCodeData, branchData));
+        
+        assertThatCode(() -> {
+            var swiftCodes = swiftCodesService.getSwiftCodesDataByCountryISO2(countryPL.getCountryISO2(), 1, null);
+            assertThat(swiftCodes.getSwiftCodes()).extracting(ReducedSwiftCodeResponse::getSwiftCode).containsExactly(swiftCodeData.getSwiftCode());
+            assertThat(PageToken.decode(swiftCodes.getNextPageToken())).isEqualTo(swiftCodeData.getSwiftCode());
+        }).doesNotThrowAnyException();
+    }
+    
+    @Test
+    public void whenGetSwiftCodesWithLastPageToken_thenReturnNoNextPageToken() {
+        when(swiftCodesRepository.findAllBySwiftCodeGreaterThanOrderBySwiftCodeAsc(swiftCodeData.getSwiftCode(), Limit.of(11)))
+            .thenReturn(List.of());
+        
+        assertThatCode(() -> {
+            var swiftCodes = swiftCodesService.getSwiftCodesData(10, PageToken.encode(swiftCodeData.getSwiftCode()));
+            assertThat(swiftCodes.getSwiftCodes()).isEmpty();
+            assertThat(swiftCodes.getNextPageToken()).isNull();
+        }).doesNotThrowAnyException();
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByPrefix_thenQueryRangeCoversOnlyPrefix() {
+        Range<String> swiftCodesRange = Range.of(Range.Bound.exclusive("ABCDEF"), Range.Bound.exclusive("ABCDEF~"));
+        when(swiftCodesRepository.findAllBySwiftCodeBetweenOrderBySwiftCodeAsc(swiftCodesRange, Limit.of(11)))
+            .thenReturn(List.of(swiftCodeData));
+        
+        assertThatCode(() -> {
+            var swiftCodes = swiftCodesService.getSwiftCodesDataByPrefix("ABCDEF", 10, null);
+            assertThat(swiftCodes.getSwiftCodes()).containsExactly(ReducedSwiftCodeResponse.from(swiftCodeData));
+            assertThat(swiftCodes.getNextPageToken()).isNull();
+        }).doesNotThrowAnyException();
+    }
+    
+    @Test
+    public void whenGetSwiftCodesByPrefixWithPageToken_thenQueryRangeStartsAfterToken() {
+        Range<String> swiftCodesRange = Range.of(Range.Bound.exclusive(swiftCodeData.getSwiftCode()), Range.Bound.exclusive("ABCDEF~"));
+        when(swiftCodesRepository.findAllBySwiftCodeBetweenOrderBySwiftCodeAsc(swiftCodesRange, Limit.of(11)))
+            .thenReturn(List.of());
+        
+        assertThatCode(() -> {
+            var swiftCodes = swiftCodesService.getSwiftCodesDataByPrefix("ABCDEF", 10, PageToken.encode(swiftCodeData.getSwiftCode()));
+            assertThat(swiftCodes.getSwiftCodes()).isEmpty();
+        }).doesNotThrowAnyException();
+    }
+    
+    @Test
+    public void whenGetSwiftCodesWithInvalidPageToken_thenThrowInvalidPageTokenException() {
+        assertThatThrownBy(() -> swiftCodesService.getSwiftCodesData(10, PageToken.encode("ABC")))
+            .isInstanceOf(InvalidPageTokenException.class);
+    }
+    
     @Test
     public void whenGetSwiftCodesByCountryISO2AndCountryDoesNotExists_thenThrowCountryNotExistsException() {
         when(countriesRepository.findById(countryPL.getCountryISO2())).thenReturn(Optional.empty());
@@ -154,10 +298,30 @@ public class SwiftCodesServiceTests extends BaseTestModule {
     @Test
     public void whenDeleteSwiftCodeDataAndSwiftCodeDataExists_thenDeleteSwiftCodeData() {
         when(swiftCodesRepository.findById(swiftCodeData.getSwiftCode())).thenReturn(Optional.of(swiftCodeData));
+        when(mongoTemplate.remove(any(Query.class), eq(SwiftCodeItem.class))).thenReturn(DeleteResult.acknowledged(1));
         
         assertThatCode(() -> swiftCodesService.deleteSwiftCodeData(swiftCodeData.getSwiftCode())).doesNotThrowAnyException();
     }
     
+    @Test
+    public void whenDeleteHeadquarterAndBranchIsAddedAfterCheck_thenThrowChildSwiftCodesFoundException() {
+        SwiftCodeItem branch = swiftCodeData.toBuilder()
+            .swiftCode("ABCDEFGHABC")
+            .headquarter(false)
+            .build();
+        
+        SwiftCodeItem headquarterWithBranch = swiftCodeData.toBuilder()
+            .branches(List.of(branch))
+            .build();
+        
+        // version changed by the added branch does not match anymore, so the headquarter is read again
+        when(swiftCodesRepository.findById(swiftCodeData.getSwiftCode())).thenReturn(Optional.of(swiftCodeData), Optional.of(headquarterWithBranch));
+        when(mongoTemplate.remove(any(Query.class), eq(SwiftCodeItem.class))).thenReturn(DeleteResult.acknowledged(0));
+        
+        assertThatThrownBy(() -> swiftCodesService.deleteSwiftCodeData(swiftCodeData.getSwiftCode()))
+            .isInstanceOf(ChildSwiftCodesFoundException.class);
+    }
+    
     @Test
     public void whenDeleteSwiftCodeDataAndSwiftCodeDataDoesNotExists_thenThrowSwiftCodeNotFoundException() {
         when(swiftCodesRepository.findById(swiftCodeData.getSwiftCode())).thenReturn(Optional.empty());
@@ -0,0 +1,105 @@
+package io.github.kappa243.remitly2025;
+
+import io.github.kappa243.remitly2025.model.CountryItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeItem;
+import io.github.kappa243.remitly2025.model.SwiftCodeKey;
+import io.github.kappa243.remitly2025.services.SwiftCodesSnapshot;
+import io.github.kappa243.remitly2025.services.SwiftCodesSnapshotWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SwiftCodesSnapshotTests {
+    
+    @TempDir
+    Path directory;
+    
+    CountryItem poland = new CountryItem("PL", "POLAND");
+    
+    CountryItem germany = new CountryItem("DE", "GERMANY");
+    
+    SwiftCodesSnapshotWriter writer = new SwiftCodesSnapshotWriter();
+    
+    @BeforeEach
+    public void addSwiftCodes() {
+        writer.addCountry(new CountryItem("AL", "ALBANIA"));
+        writer.add(new SwiftCodeItem("BREXPLPWWRO", "MBANK", "WROCLAW", false, poland));
+        writer.add(new SwiftCodeItem("BREXPLPWXXX", "MBANK", "WARSZAWA", true, poland));
+        writer.add(new SwiftCodeItem("ALBPPLPWXXX", "ALIOR BANK", "WARSZAWA", true, poland));
+        writer.add(new SwiftCodeItem("COBADEFFXXX", "COMMERZBANK", "FRANKFURT", true, germany));
+        writer.add(new SwiftCodeItem("BREXPLPWXXX", "DUPLICATE", "DUPLICATE", true, poland));
+    }
+    
+    SwiftCodesSnapshot write() throws IOException {
+        Path path = directory.resolve("swift_codes.snapshot");
+        writer.write(path);
+        
+        return SwiftCodesSnapshot.open(path);
+    }
+    
+    @Test
+    public void whenSnapshotIsWritten_thenCodesAreSortedAndFirstCodeIsKept() throws IOException {
+        SwiftCodesSnapshot snapshot = write();
+        
+        assertThat(snapshot.size()).isEqualTo(4);
+        assertThat(IntStream.range(0, snapshot.size()).mapToObj(snapshot::swiftCode))
+            .containsExactly("ALBPPLPWXXX", "BREXPLPWWRO", "BREXPLPWXXX", "COBADEFFXXX");
+        
+        int index = snapshot.indexOf(SwiftCodeKey.encode("BREXPLPWXXX"));
+        assertThat(snapshot.bankName(index)).isEqualTo("MBANK");
+        assertThat(snapshot.address(index)).isEqualTo("WARSZAWA");
+        assertThat(snapshot.countryISO2(snapshot.country(index))).isEqualTo("PL");
+        
+        assertThat(snapshot.indexOf(SwiftCodeKey.encode("BREXPLPWKRA"))).isEqualTo(-1);
+    }
+    
+    @Test
+    public void whenSnapshotIsWritten_thenCountriesListTheirCodes() throws IOException {
+        SwiftCodesSnapshot snapshot = write();
+        
+        assertThat(snapshot.countryCount()).isEqualTo(3);
+        
+        int country = snapshot.countryIndexOf("PL");
+        List<String> codes = new ArrayList<>();
+        for (int position = 0; position < snapshot.countrySize(country); position++) {
+            codes.add(snapshot.swiftCode(snapshot.countryCode(country, position)));
+        }
+        
+        assertThat(snapshot.countryName(country)).isEqualTo("POLAND");
+        assertThat(codes).containsExactly("ALBPPLPWXXX", "BREXPLPWWRO", "BREXPLPWXXX");
+        assertThat(snapshot.countryLowerBound(country, SwiftCodeKey.encode("BREXPLPWWRO") + 1)).isEqualTo(2);
+        
+        assertThat(snapshot.countrySize(snapshot.countryIndexOf("AL"))).isZero();
+        assertThat(snapshot.countryIndexOf("QQ")).isEqualTo(-1);
+    }
+    
+    @Test
+    public void whenSnapshotIsWrittenFromOtherCodes_thenVersionChanges() throws IOException {
+        long version = write().getVersion();
+        
+        assertThat(write().getVersion()).isEqualTo(version);
+        
+        writer.add(new SwiftCodeItem("COBADEFFBER", "COMMERZBANK", "BERLIN", false, germany));
+        
+        assertThat(write().getVersion()).isNotEqualTo(version);
+    }
+    
+    @Test
+    public void whenFileIsNotSnapshot_thenOpenFails() throws IOException {
+        Path path = Files.write(directory.resolve("swift_codes.csv"), new byte[128]);
+        
+        assertThatThrownBy(() -> SwiftCodesSnapshot.open(path))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("is not a SWIFT codes snapshot");
+    }
+}